@@ -28,13 +28,25 @@ public abstract class AnnotationManager<
   protected long currentId;
 
   private final GeoJsonSource geoJsonSource;
+  private final AnnotationTileSource tileSource;
   private final MapClickResolver mapClickResolver;
 
   @UiThread
   protected AnnotationManager(MapboxMap mapboxMap, GeoJsonSource geoJsonSource) {
+    this(mapboxMap, geoJsonSource, null);
+  }
+
+  @UiThread
+  AnnotationManager(MapboxMap mapboxMap, @Nullable GeoJsonSource geoJsonSource,
+                    @Nullable AnnotationTileSource tileSource) {
     this.mapboxMap = mapboxMap;
     this.geoJsonSource = geoJsonSource;
-    mapboxMap.addSource(geoJsonSource);
+    this.tileSource = tileSource;
+    if (tileSource != null) {
+      mapboxMap.addSource(tileSource.getSource());
+    } else {
+      mapboxMap.addSource(geoJsonSource);
+    }
     mapboxMap.addOnMapClickListener(mapClickResolver = new MapClickResolver(mapboxMap));
     mapboxMap.addOnMapLongClickListener(mapClickResolver);
   }
@@ -63,14 +75,28 @@ public abstract class AnnotationManager<
   @UiThread
   public void delete(T t){
     annotations.remove(t.getId());
-    updateSource();
+    if (tileSource != null) {
+      tileSource.remove(t.getId());
+    } else {
+      updateSource();
+    }
   }
 
   /**
    * Trigger an update to the underlying source
+   * <p>
+   * When tiled, all annotations are re-tiled on a background thread. Changes made through the setters of an
+   * annotation only re-tile the changed annotation.
+   * </p>
    */
   public void updateSource() {
-    // todo move feature creation to a background thread?
+    if (tileSource != null) {
+      for (int i = 0; i < annotations.size(); i++) {
+        updateTile(annotations.valueAt(i));
+      }
+      return;
+    }
+
     features.clear();
     T t;
     for (int i = 0; i < annotations.size(); i++) {
@@ -81,6 +107,42 @@ public abstract class AnnotationManager<
     geoJsonSource.setGeoJson(FeatureCollection.fromFeatures(features));
   }
 
+  /**
+   * Trigger an update to the underlying source for a changed annotation.
+   *
+   * @param t the changed annotation
+   */
+  @UiThread
+  void updateSource(@NonNull T t) {
+    if (tileSource == null) {
+      updateSource();
+    } else if (annotations.get(t.getId()) == t) {
+      updateTile(t);
+    }
+  }
+
+  /**
+   * Trigger an update to the underlying source for changed annotations.
+   *
+   * @param changed the changed annotations
+   */
+  @UiThread
+  void updateSource(@NonNull List<T> changed) {
+    if (tileSource == null) {
+      updateSource();
+      return;
+    }
+    for (T t : changed) {
+      updateSource(t);
+    }
+  }
+
+  private void updateTile(T t) {
+    if (t.geometry != null) {
+      tileSource.update(t.getId(), t.getGeometry(), t.getFeature());
+    }
+  }
+
   /**
    * Add a callback to be invoked when a symbol has been clicked.
    *
@@ -134,6 +196,9 @@ public abstract class AnnotationManager<
     mapboxMap.removeOnMapLongClickListener(mapClickResolver);
     clickListeners.clear();
     longClickListeners.clear();
+    if (tileSource != null) {
+      tileSource.onDestroy();
+    }
   }
 
   abstract String getAnnotationLayerId();
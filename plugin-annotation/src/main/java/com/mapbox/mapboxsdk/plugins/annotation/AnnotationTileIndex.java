@@ -0,0 +1,333 @@
+package com.mapbox.mapboxsdk.plugins.annotation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Geometry;
+import com.mapbox.geojson.Point;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Spatial index that tiles point annotations per zoom level, updated one annotation at a time.
+ * <p>
+ * Points are bucketed into the tiles of a single index zoom level, tiles at or above the index zoom filter the
+ * points of the covered buckets. Tiles below the index zoom are generated on demand from their four child tiles and
+ * keep a single point per cell of a {@link #REDUCTION_GRID_SIZE} grid, so a tile never holds more than a fixed
+ * number of points no matter how many annotations it covers. Generated tiles are cached until a point within them
+ * changes. Every tile also contains the points within {@link #TILE_BUFFER} of its edges, like geojson-vt does, so
+ * circles and icons aren't cut at the tile seams.
+ * </p>
+ * <p>
+ * The index is accessed by the tiling thread and the threads requesting tiles, all methods are synchronized.
+ * </p>
+ */
+final class AnnotationTileIndex {
+
+  static final int DEFAULT_INDEX_ZOOM = 14;
+
+  // Buffer around a tile as a fraction of the tile extent, the 64 / 4096 default of geojson-vt
+  static final double TILE_BUFFER = 64.0 / 4096;
+
+  // Tiles below the index zoom keep one point per cell of a grid with this many cells per side
+  static final int REDUCTION_GRID_SIZE = 64;
+
+  private static final double MAX_LATITUDE = 85.05112878;
+
+  private final int indexZoom;
+  private final Map<Long, Entry> entries = new HashMap<>();
+  private final Map<Long, Map<Long, Entry>> buckets = new HashMap<>();
+  private final List<Map<Long, Integer>> tileCounts = new ArrayList<>();
+  private final List<Map<Long, List<Entry>>> reducedTiles = new ArrayList<>();
+
+  AnnotationTileIndex(int indexZoom) {
+    this.indexZoom = indexZoom;
+    for (int zoom = 0; zoom < indexZoom; zoom++) {
+      tileCounts.add(new HashMap<Long, Integer>());
+      reducedTiles.add(new HashMap<Long, List<Entry>>());
+    }
+  }
+
+  /**
+   * Add or replace the feature of an annotation, features without a point geometry are removed from the index.
+   *
+   * @param id      the id of the annotation
+   * @param feature the feature of the annotation
+   * @return the previous point of the annotation, or null if it wasn't indexed
+   */
+  @Nullable
+  synchronized Point put(long id, @NonNull Feature feature) {
+    Point previous = remove(id);
+    Geometry geometry = feature.geometry();
+    if (!(geometry instanceof Point)) {
+      return previous;
+    }
+
+    Point point = (Point) geometry;
+    Entry entry = new Entry(feature, projectX(point.longitude()), projectY(point.latitude()));
+    entries.put(id, entry);
+
+    int indexTiles = 1 << indexZoom;
+    long bucketKey = tileKey(tile(entry.x, indexTiles), tile(entry.y, indexTiles));
+    Map<Long, Entry> bucket = buckets.get(bucketKey);
+    if (bucket == null) {
+      bucket = new LinkedHashMap<>();
+      buckets.put(bucketKey, bucket);
+    }
+    bucket.put(id, entry);
+
+    for (int zoom = 0; zoom < indexZoom; zoom++) {
+      int tiles = 1 << zoom;
+      long key = tileKey(tile(entry.x, tiles), tile(entry.y, tiles));
+      Map<Long, Integer> counts = tileCounts.get(zoom);
+      Integer count = counts.get(key);
+      counts.put(key, count == null ? 1 : count + 1);
+      reducedTiles.get(zoom).remove(key);
+    }
+    return previous;
+  }
+
+  /**
+   * Remove the feature of an annotation.
+   *
+   * @param id the id of the annotation
+   * @return the removed point of the annotation, or null if it wasn't indexed
+   */
+  @Nullable
+  synchronized Point remove(long id) {
+    Entry entry = entries.remove(id);
+    if (entry == null) {
+      return null;
+    }
+
+    int indexTiles = 1 << indexZoom;
+    long bucketKey = tileKey(tile(entry.x, indexTiles), tile(entry.y, indexTiles));
+    Map<Long, Entry> bucket = buckets.get(bucketKey);
+    bucket.remove(id);
+    if (bucket.isEmpty()) {
+      buckets.remove(bucketKey);
+    }
+
+    for (int zoom = 0; zoom < indexZoom; zoom++) {
+      int tiles = 1 << zoom;
+      long key = tileKey(tile(entry.x, tiles), tile(entry.y, tiles));
+      Map<Long, Integer> counts = tileCounts.get(zoom);
+      int count = counts.get(key) - 1;
+      if (count == 0) {
+        counts.remove(key);
+      } else {
+        counts.put(key, count);
+      }
+      reducedTiles.get(zoom).remove(key);
+    }
+    return (Point) entry.feature.geometry();
+  }
+
+  /**
+   * Get the features of a tile, including the features within the buffer around the tile.
+   *
+   * @param zoom the zoom level of the tile
+   * @param x    the x coordinate of the tile
+   * @param y    the y coordinate of the tile
+   * @return the features of the tile
+   */
+  @NonNull
+  synchronized List<Feature> getTileFeatures(int zoom, int x, int y) {
+    double tiles = 1 << zoom;
+    double minX = (x - TILE_BUFFER) / tiles;
+    double maxX = (x + 1 + TILE_BUFFER) / tiles;
+    double minY = (y - TILE_BUFFER) / tiles;
+    double maxY = (y + 1 + TILE_BUFFER) / tiles;
+
+    List<Feature> result = new ArrayList<>();
+    if (zoom >= indexZoom) {
+      int indexTiles = 1 << indexZoom;
+      for (int bucketX = tile(minX, indexTiles); bucketX <= tile(maxX, indexTiles); bucketX++) {
+        for (int bucketY = tile(minY, indexTiles); bucketY <= tile(maxY, indexTiles); bucketY++) {
+          Map<Long, Entry> bucket = buckets.get(tileKey(bucketX, bucketY));
+          if (bucket != null) {
+            addContained(bucket.values(), result, minX, minY, maxX, maxY);
+          }
+        }
+      }
+    } else {
+      int maxTile = (1 << zoom) - 1;
+      for (int tileX = Math.max(0, x - 1); tileX <= Math.min(maxTile, x + 1); tileX++) {
+        for (int tileY = Math.max(0, y - 1); tileY <= Math.min(maxTile, y + 1); tileY++) {
+          addContained(getReducedTile(zoom, tileX, tileY), result, minX, minY, maxX, maxY);
+        }
+      }
+    }
+    return result;
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  synchronized int getBucketCount() {
+    return buckets.size();
+  }
+
+  /**
+   * Collect the tiles up to the max zoom whose features change with the given point, these are the tiles
+   * containing the point and the neighbouring tiles with the point in their buffer.
+   *
+   * @param point   the changed point
+   * @param maxZoom the highest zoom level to collect tiles for
+   * @param tiles   the set to add the tiles to, encoded with {@link #encodeTile(int, int, int)}
+   */
+  static void collectTiles(@NonNull Point point, int maxZoom, @NonNull Set<Long> tiles) {
+    double x = projectX(point.longitude());
+    double y = projectY(point.latitude());
+    for (int zoom = 0; zoom <= maxZoom; zoom++) {
+      int count = 1 << zoom;
+      int tileX = tile(x, count);
+      int tileY = tile(y, count);
+      double offsetX = x * count - tileX;
+      double offsetY = y * count - tileY;
+      int fromX = offsetX < TILE_BUFFER ? Math.max(0, tileX - 1) : tileX;
+      int toX = offsetX > 1 - TILE_BUFFER ? Math.min(count - 1, tileX + 1) : tileX;
+      int fromY = offsetY < TILE_BUFFER ? Math.max(0, tileY - 1) : tileY;
+      int toY = offsetY > 1 - TILE_BUFFER ? Math.min(count - 1, tileY + 1) : tileY;
+      for (int i = fromX; i <= toX; i++) {
+        for (int j = fromY; j <= toY; j++) {
+          tiles.add(encodeTile(zoom, i, j));
+        }
+      }
+    }
+  }
+
+  static long encodeTile(int zoom, int x, int y) {
+    return ((long) zoom << 58) | ((long) x << 29) | y;
+  }
+
+  static int decodeZoom(long tile) {
+    return (int) (tile >>> 58);
+  }
+
+  static int decodeX(long tile) {
+    return (int) ((tile >>> 29) & 0x1FFFFFFF);
+  }
+
+  static int decodeY(long tile) {
+    return (int) (tile & 0x1FFFFFFF);
+  }
+
+  static int tileX(double longitude, int zoom) {
+    return tile(projectX(longitude), 1 << zoom);
+  }
+
+  static int tileY(double latitude, int zoom) {
+    return tile(projectY(latitude), 1 << zoom);
+  }
+
+  /**
+   * Returns the reduced points of a tile below the index zoom, generated from the child tiles when not cached.
+   */
+  private List<Entry> getReducedTile(int zoom, int x, int y) {
+    long key = tileKey(x, y);
+    Map<Long, List<Entry>> cache = reducedTiles.get(zoom);
+    List<Entry> tile = cache.get(key);
+    if (tile != null) {
+      return tile;
+    }
+    if (!tileCounts.get(zoom).containsKey(key)) {
+      return Collections.emptyList();
+    }
+
+    List<Entry> candidates = new ArrayList<>();
+    for (int childX = 2 * x; childX <= 2 * x + 1; childX++) {
+      for (int childY = 2 * y; childY <= 2 * y + 1; childY++) {
+        if (zoom + 1 == indexZoom) {
+          Map<Long, Entry> bucket = buckets.get(tileKey(childX, childY));
+          if (bucket != null) {
+            candidates.addAll(bucket.values());
+          }
+        } else {
+          candidates.addAll(getReducedTile(zoom + 1, childX, childY));
+        }
+      }
+    }
+
+    tile = reduce(candidates, 1 << zoom, x, y);
+    cache.put(key, tile);
+    return tile;
+  }
+
+  private static List<Entry> reduce(List<Entry> candidates, int tiles, int x, int y) {
+    int gridSize = REDUCTION_GRID_SIZE;
+    boolean[] occupied = new boolean[gridSize * gridSize];
+    List<Entry> reduced = new ArrayList<>();
+    for (Entry entry : candidates) {
+      int cellX = clamp((int) ((entry.x * tiles - x) * gridSize), gridSize - 1);
+      int cellY = clamp((int) ((entry.y * tiles - y) * gridSize), gridSize - 1);
+      int cell = cellY * gridSize + cellX;
+      if (!occupied[cell]) {
+        occupied[cell] = true;
+        reduced.add(entry);
+      }
+    }
+    return reduced;
+  }
+
+  private static void addContained(Collection<Entry> entries, List<Feature> result,
+                                   double minX, double minY, double maxX, double maxY) {
+    for (Entry entry : entries) {
+      if (entry.x >= minX && entry.x < maxX && entry.y >= minY && entry.y < maxY) {
+        result.add(entry.feature);
+      }
+    }
+  }
+
+  private static long tileKey(int x, int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  private static int tile(double coordinate, int tiles) {
+    return clamp((int) Math.floor(coordinate * tiles), tiles - 1);
+  }
+
+  private static int clamp(int value, int max) {
+    return Math.max(0, Math.min(max, value));
+  }
+
+  /**
+   * Projects a longitude to the x coordinate of the world in the range [0, 1].
+   */
+  private static double projectX(double longitude) {
+    return (longitude + 180.0) / 360.0;
+  }
+
+  /**
+   * Projects a latitude to the Web Mercator y coordinate of the world in the range [0, 1], north to south.
+   */
+  private static double projectY(double latitude) {
+    double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+    double latRad = Math.toRadians(clamped);
+    return (1.0 - Math.log(Math.tan(latRad) + 1.0 / Math.cos(latRad)) / Math.PI) / 2.0;
+  }
+
+  /**
+   * An indexed feature with its projected position.
+   */
+  private static final class Entry {
+    private final Feature feature;
+    private final double x;
+    private final double y;
+
+    private Entry(Feature feature, double x, double y) {
+      this.feature = feature;
+      this.x = x;
+      this.y = y;
+    }
+  }
+}
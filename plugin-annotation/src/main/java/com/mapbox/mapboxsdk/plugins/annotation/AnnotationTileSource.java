@@ -0,0 +1,217 @@
+package com.mapbox.mapboxsdk.plugins.annotation;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.support.annotation.WorkerThread;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.geojson.Geometry;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+import com.mapbox.mapboxsdk.style.sources.CustomGeometrySource;
+import com.mapbox.mapboxsdk.style.sources.GeometryTileProvider;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Source backing an annotation manager with locally generated vector tiles instead of a single GeoJSON document.
+ * <p>
+ * Changed annotations are collected on the UI thread and handed to a background thread once per main loop pass,
+ * where their features are built and updated in the {@link AnnotationTileIndex}. Only the tiles containing a changed
+ * annotation are invalidated, the map requests them again through a {@link CustomGeometrySource} and only receives
+ * the features of the requested tile. This is meant for large, mostly static point datasets where re-serialising
+ * the whole collection on every update is too expensive.
+ * </p>
+ */
+class AnnotationTileSource implements GeometryTileProvider {
+
+  // Tiles above the default max zoom of a custom geometry source are overscaled from this zoom
+  static final int MAX_TILE_ZOOM = 18;
+
+  // Batches changing more annotations invalidate the whole source instead of single tiles
+  static final int MAX_INVALIDATED_ANNOTATIONS = 64;
+
+  private final CustomGeometrySource source;
+  private final AnnotationTileIndex tileIndex;
+  private final ExecutorService tilingExecutor;
+  private final Handler mainHandler;
+
+  private Map<Long, Update> pendingUpdates = new LinkedHashMap<>();
+  private boolean flushScheduled;
+  private boolean destroyed;
+
+  private final Runnable flushRunnable = new Runnable() {
+    @Override
+    public void run() {
+      flush();
+    }
+  };
+
+  AnnotationTileSource(@NonNull String sourceId) {
+    this.tileIndex = new AnnotationTileIndex(AnnotationTileIndex.DEFAULT_INDEX_ZOOM);
+    this.tilingExecutor = Executors.newSingleThreadExecutor();
+    this.mainHandler = new Handler(Looper.getMainLooper());
+    this.source = new CustomGeometrySource(sourceId, this);
+  }
+
+  // Package private for testing purposes
+  AnnotationTileSource(CustomGeometrySource source, AnnotationTileIndex tileIndex,
+                       ExecutorService tilingExecutor, Handler mainHandler) {
+    this.source = source;
+    this.tileIndex = tileIndex;
+    this.tilingExecutor = tilingExecutor;
+    this.mainHandler = mainHandler;
+  }
+
+  @NonNull
+  CustomGeometrySource getSource() {
+    return source;
+  }
+
+  /**
+   * Queue an added or changed annotation, a pending update of the same annotation is superseded.
+   *
+   * @param id         the id of the annotation
+   * @param geometry   the geometry of the annotation
+   * @param properties the properties of the annotation, copied since the annotation keeps changing them
+   */
+  @UiThread
+  void update(long id, @NonNull Geometry geometry, @NonNull JsonObject properties) {
+    JsonObject snapshot = new JsonObject();
+    for (Map.Entry<String, JsonElement> property : properties.entrySet()) {
+      snapshot.add(property.getKey(), property.getValue());
+    }
+    queue(id, new Update(geometry, snapshot));
+  }
+
+  /**
+   * Queue the removal of an annotation, a pending update of the same annotation is superseded.
+   *
+   * @param id the id of the annotation
+   */
+  @UiThread
+  void remove(long id) {
+    queue(id, new Update(null, null));
+  }
+
+  private void queue(long id, Update update) {
+    if (destroyed) {
+      return;
+    }
+    // re-insert to keep the updates in the order of their last change
+    pendingUpdates.remove(id);
+    pendingUpdates.put(id, update);
+    if (!flushScheduled) {
+      flushScheduled = true;
+      mainHandler.post(flushRunnable);
+    }
+  }
+
+  /**
+   * Hands the pending updates to the tiling thread.
+   */
+  @UiThread
+  void flush() {
+    flushScheduled = false;
+    if (destroyed || pendingUpdates.isEmpty()) {
+      return;
+    }
+    final Map<Long, Update> batch = pendingUpdates;
+    pendingUpdates = new LinkedHashMap<>();
+    tilingExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        final Set<Long> tiles = applyUpdates(batch);
+        mainHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            invalidate(tiles);
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Updates the index with the batch.
+   *
+   * @return the tiles to invalidate, or null to invalidate all tiles
+   */
+  @WorkerThread
+  @Nullable
+  private Set<Long> applyUpdates(Map<Long, Update> batch) {
+    Set<Long> tiles = batch.size() <= MAX_INVALIDATED_ANNOTATIONS ? new HashSet<Long>() : null;
+    for (Map.Entry<Long, Update> entry : batch.entrySet()) {
+      Update update = entry.getValue();
+      Point previous;
+      if (update.geometry == null) {
+        previous = tileIndex.remove(entry.getKey());
+      } else {
+        previous = tileIndex.put(entry.getKey(), Feature.fromGeometry(update.geometry, update.properties));
+        if (tiles != null && update.geometry instanceof Point) {
+          AnnotationTileIndex.collectTiles((Point) update.geometry, MAX_TILE_ZOOM, tiles);
+        }
+      }
+      if (tiles != null && previous != null) {
+        AnnotationTileIndex.collectTiles(previous, MAX_TILE_ZOOM, tiles);
+      }
+    }
+    return tiles;
+  }
+
+  @UiThread
+  private void invalidate(@Nullable Set<Long> tiles) {
+    if (destroyed) {
+      return;
+    }
+    if (tiles == null) {
+      source.invalidateRegion(LatLngBounds.world());
+      return;
+    }
+    for (long tile : tiles) {
+      source.invalidateTile(
+        AnnotationTileIndex.decodeZoom(tile), AnnotationTileIndex.decodeX(tile), AnnotationTileIndex.decodeY(tile));
+    }
+  }
+
+  @WorkerThread
+  @Override
+  public FeatureCollection getFeaturesForBounds(LatLngBounds bounds, int zoomLevel) {
+    double latitude = (bounds.getLatNorth() + bounds.getLatSouth()) / 2;
+    double longitude = (bounds.getLonEast() + bounds.getLonWest()) / 2;
+    return FeatureCollection.fromFeatures(tileIndex.getTileFeatures(zoomLevel,
+      AnnotationTileIndex.tileX(longitude, zoomLevel), AnnotationTileIndex.tileY(latitude, zoomLevel)));
+  }
+
+  @UiThread
+  void onDestroy() {
+    destroyed = true;
+    pendingUpdates.clear();
+    mainHandler.removeCallbacksAndMessages(null);
+    tilingExecutor.shutdownNow();
+  }
+
+  /**
+   * A pending change of an annotation, a null geometry removes the annotation.
+   */
+  private static final class Update {
+    private final Geometry geometry;
+    private final JsonObject properties;
+
+    private Update(@Nullable Geometry geometry, @Nullable JsonObject properties) {
+      this.geometry = geometry;
+      this.properties = properties;
+    }
+  }
+}
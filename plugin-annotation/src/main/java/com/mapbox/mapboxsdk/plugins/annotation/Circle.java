@@ -33,7 +33,7 @@ public class Circle extends Annotation {
    */
   @Override
   public void update() {
-    circleManager.updateSource();
+    circleManager.updateSource(this);
   }
 
   /**
@@ -54,7 +54,7 @@ public class Circle extends Annotation {
   public void setLatLng(LatLng latLng, boolean updateSource) {
     geometry = Point.fromLngLat(latLng.getLongitude(), latLng.getLatitude());
     if (updateSource) {
-       circleManager.updateSource();
+       circleManager.updateSource(this);
     }
   }
 
@@ -75,7 +75,7 @@ public class Circle extends Annotation {
    */
   public void setCircleRadius(Float value) {
     jsonObject.addProperty("circle-radius", value);
-    circleManager.updateSource();
+    circleManager.updateSource(this);
   }
 
   /**
@@ -94,7 +94,7 @@ public class Circle extends Annotation {
    */
   public void setCircleColor(String value) {
     jsonObject.addProperty("circle-color", value);
-    circleManager.updateSource();
+    circleManager.updateSource(this);
   }
 
   /**
@@ -113,7 +113,7 @@ public class Circle extends Annotation {
    */
   public void setCircleBlur(Float value) {
     jsonObject.addProperty("circle-blur", value);
-    circleManager.updateSource();
+    circleManager.updateSource(this);
   }
 
   /**
@@ -132,7 +132,7 @@ public class Circle extends Annotation {
    */
   public void setCircleOpacity(Float value) {
     jsonObject.addProperty("circle-opacity", value);
-    circleManager.updateSource();
+    circleManager.updateSource(this);
   }
 
   /**
@@ -151,7 +151,7 @@ public class Circle extends Annotation {
    */
   public void setCircleStrokeWidth(Float value) {
     jsonObject.addProperty("circle-stroke-width", value);
-    circleManager.updateSource();
+    circleManager.updateSource(this);
   }
 
   /**
@@ -170,7 +170,7 @@ public class Circle extends Annotation {
    */
   public void setCircleStrokeColor(String value) {
     jsonObject.addProperty("circle-stroke-color", value);
-    circleManager.updateSource();
+    circleManager.updateSource(this);
   }
 
   /**
@@ -189,7 +189,7 @@ public class Circle extends Annotation {
    */
   public void setCircleStrokeOpacity(Float value) {
     jsonObject.addProperty("circle-stroke-opacity", value);
-    circleManager.updateSource();
+    circleManager.updateSource(this);
   }
 
 }
@@ -60,6 +60,28 @@ public class CircleManager extends AnnotationManager<Circle, OnCircleClickListen
       ), belowLayerId);
   }
 
+  /**
+   * Create a circle manager, used to manage circles.
+   * <p>
+   * When tiled, circles are served to the map as locally generated vector tiles instead of a single GeoJSON
+   * document. Use this for large and mostly static sets of circles, click listeners behave the same in both modes.
+   * </p>
+   *
+   * @param mapboxMap    the map object to add circles to
+   * @param belowLayerId the id of the layer above the circle layer
+   * @param tiled        true to back the manager with locally generated vector tiles
+   */
+  @UiThread
+  public CircleManager(@NonNull MapboxMap mapboxMap, @Nullable String belowLayerId, boolean tiled) {
+    this(mapboxMap,
+      tiled ? null : new GeoJsonSource(ID_GEOJSON_SOURCE),
+      tiled ? new AnnotationTileSource(ID_GEOJSON_SOURCE) : null,
+      new CircleLayer(ID_GEOJSON_LAYER, ID_GEOJSON_SOURCE)
+        .withProperties(
+          getLayerDefinition()
+        ), belowLayerId);
+  }
+
   /**
    * Create a circle manager, used to manage circles.
    *
@@ -73,6 +95,12 @@ public class CircleManager extends AnnotationManager<Circle, OnCircleClickListen
     initLayer(layer, belowLayerId);
   }
 
+  CircleManager(MapboxMap mapboxMap, @Nullable GeoJsonSource geoJsonSource,
+    @Nullable AnnotationTileSource tileSource, @NonNull CircleLayer layer, @Nullable String belowLayerId) {
+    super(mapboxMap, geoJsonSource, tileSource);
+    initLayer(layer, belowLayerId);
+  }
+
   /**
    * Initialise the layer on the map.
    *
@@ -118,8 +146,9 @@ public class CircleManager extends AnnotationManager<Circle, OnCircleClickListen
   @UiThread
   public Circle createCircle(@NonNull LatLng latLng) {
     Circle circle = new Circle(this, currentId);
-    circle.setLatLng(latLng);
+    circle.setLatLng(latLng, false);
     add(circle);
+    updateSource(circle);
     return circle;
   }
 
@@ -139,7 +168,7 @@ public class CircleManager extends AnnotationManager<Circle, OnCircleClickListen
       circles.add(circle);
       add(circle);
     }
-    updateSource();
+    updateSource(circles);
     return circles;
   }
 
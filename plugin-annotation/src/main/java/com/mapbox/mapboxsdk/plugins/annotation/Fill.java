@@ -33,7 +33,7 @@ public class Fill extends Annotation {
    */
   @Override
   public void update() {
-    fillManager.updateSource();
+    fillManager.updateSource(this);
   }
 
   /**
@@ -62,7 +62,7 @@ public class Fill extends Annotation {
     }
     geometry = Polygon.fromLngLats(points);
     if (updateSource) {
-      fillManager.updateSource();
+      fillManager.updateSource(this);
     }
   }
 
@@ -83,7 +83,7 @@ public class Fill extends Annotation {
    */
   public void setFillOpacity(Float value) {
     jsonObject.addProperty("fill-opacity", value);
-    fillManager.updateSource();
+    fillManager.updateSource(this);
   }
 
   /**
@@ -102,7 +102,7 @@ public class Fill extends Annotation {
    */
   public void setFillColor(String value) {
     jsonObject.addProperty("fill-color", value);
-    fillManager.updateSource();
+    fillManager.updateSource(this);
   }
 
   /**
@@ -121,7 +121,7 @@ public class Fill extends Annotation {
    */
   public void setFillOutlineColor(String value) {
     jsonObject.addProperty("fill-outline-color", value);
-    fillManager.updateSource();
+    fillManager.updateSource(this);
   }
 
   /**
@@ -140,7 +140,7 @@ public class Fill extends Annotation {
    */
   public void setFillPattern(String value) {
     jsonObject.addProperty("fill-pattern", value);
-    fillManager.updateSource();
+    fillManager.updateSource(this);
   }
 
 }
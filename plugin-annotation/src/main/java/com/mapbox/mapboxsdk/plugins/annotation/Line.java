@@ -33,7 +33,7 @@ public class Line extends Annotation {
    */
   @Override
   public void update() {
-    lineManager.updateSource();
+    lineManager.updateSource(this);
   }
 
   /**
@@ -58,7 +58,7 @@ public class Line extends Annotation {
     }
     geometry = LineString.fromLngLats(points);
     if (updateSource) {
-      lineManager.updateSource();
+      lineManager.updateSource(this);
     }
   }
 
@@ -79,7 +79,7 @@ public class Line extends Annotation {
    */
   public void setLineJoin(@Property.LINE_JOIN String value) {
     jsonObject.addProperty("line-join", value);
-    lineManager.updateSource();
+    lineManager.updateSource(this);
   }
 
   /**
@@ -98,7 +98,7 @@ public class Line extends Annotation {
    */
   public void setLineOpacity(Float value) {
     jsonObject.addProperty("line-opacity", value);
-    lineManager.updateSource();
+    lineManager.updateSource(this);
   }
 
   /**
@@ -117,7 +117,7 @@ public class Line extends Annotation {
    */
   public void setLineColor(String value) {
     jsonObject.addProperty("line-color", value);
-    lineManager.updateSource();
+    lineManager.updateSource(this);
   }
 
   /**
@@ -136,7 +136,7 @@ public class Line extends Annotation {
    */
   public void setLineWidth(Float value) {
     jsonObject.addProperty("line-width", value);
-    lineManager.updateSource();
+    lineManager.updateSource(this);
   }
 
   /**
@@ -155,7 +155,7 @@ public class Line extends Annotation {
    */
   public void setLineGapWidth(Float value) {
     jsonObject.addProperty("line-gap-width", value);
-    lineManager.updateSource();
+    lineManager.updateSource(this);
   }
 
   /**
@@ -174,7 +174,7 @@ public class Line extends Annotation {
    */
   public void setLineOffset(Float value) {
     jsonObject.addProperty("line-offset", value);
-    lineManager.updateSource();
+    lineManager.updateSource(this);
   }
 
   /**
@@ -193,7 +193,7 @@ public class Line extends Annotation {
    */
   public void setLineBlur(Float value) {
     jsonObject.addProperty("line-blur", value);
-    lineManager.updateSource();
+    lineManager.updateSource(this);
   }
 
   /**
@@ -212,7 +212,7 @@ public class Line extends Annotation {
    */
   public void setLinePattern(String value) {
     jsonObject.addProperty("line-pattern", value);
-    lineManager.updateSource();
+    lineManager.updateSource(this);
   }
 
 }
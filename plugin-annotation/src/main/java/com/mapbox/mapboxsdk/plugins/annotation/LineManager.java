@@ -3,6 +3,8 @@
 package com.mapbox.mapboxsdk.plugins.annotation;
 
 import android.graphics.PointF;
+import android.support.annotation.ColorInt;
+import android.support.annotation.FloatRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.UiThread;
@@ -12,8 +14,10 @@ import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.FeatureCollection;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.style.expressions.Expression;
 import com.mapbox.mapboxsdk.style.layers.PropertyValue;
 import com.mapbox.mapboxsdk.style.layers.LineLayer;
+import com.mapbox.mapboxsdk.style.sources.GeoJsonOptions;
 import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
 import com.mapbox.mapboxsdk.style.layers.Property;
 
@@ -23,6 +27,10 @@ import java.util.Comparator;
 import java.util.List;
 
 import static com.mapbox.mapboxsdk.style.expressions.Expression.get;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.color;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.lineProgress;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.step;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.stop;
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.*;
 //import static com.mapbox.mapboxsdk.annotations.symbol.Symbol.Z_INDEX;
 
@@ -34,7 +42,15 @@ public class LineManager extends AnnotationManager<Line, OnLineClickListener, On
   public static final String ID_GEOJSON_SOURCE = "mapbox-android-line-source";
   public static final String ID_GEOJSON_LAYER = "mapbox-android-line-layer";
 
+  private static final int DEFAULT_LINE_PROGRESS_TRAVELED_COLOR = 0xFF9E9E9E;
+  private static final int DEFAULT_LINE_PROGRESS_REMAINING_COLOR = 0xFF3BB2D0;
+
   private LineLayer layer;
+  private float lineProgress = -1;
+  @ColorInt
+  private int lineProgressTraveledColor = DEFAULT_LINE_PROGRESS_TRAVELED_COLOR;
+  @ColorInt
+  private int lineProgressRemainingColor = DEFAULT_LINE_PROGRESS_REMAINING_COLOR;
 
   /**
    * Create a line manager, used to manage lines.
@@ -54,7 +70,8 @@ public class LineManager extends AnnotationManager<Line, OnLineClickListener, On
    */
   @UiThread
   public LineManager(@NonNull MapboxMap mapboxMap, @Nullable String belowLayerId) {
-    this(mapboxMap, new GeoJsonSource(ID_GEOJSON_SOURCE), new LineLayer(ID_GEOJSON_LAYER, ID_GEOJSON_SOURCE)
+    this(mapboxMap, new GeoJsonSource(ID_GEOJSON_SOURCE, new GeoJsonOptions().withLineMetrics(true)),
+      new LineLayer(ID_GEOJSON_LAYER, ID_GEOJSON_SOURCE)
       .withProperties(
         getLayerDefinition()
       ), belowLayerId);
@@ -62,6 +79,10 @@ public class LineManager extends AnnotationManager<Line, OnLineClickListener, On
 
   /**
    * Create a line manager, used to manage lines.
+   * <p>
+   * The geojson source must be created with {@code new GeoJsonOptions().withLineMetrics(true)},
+   * otherwise {@link #setLineProgress(float)} has no effect.
+   * </p>
    *
    * @param mapboxMap     the map object to add lines to
    * @param geoJsonSource the geojson source to add lines to
@@ -143,6 +164,71 @@ public class LineManager extends AnnotationManager<Line, OnLineClickListener, On
     return lines;
   }
 
+  /**
+   * Set the colors used to render line progress, see {@link #setLineProgress(float)}.
+   *
+   * @param traveledColor  the color of the part of the lines before the progress point
+   * @param remainingColor the color of the part of the lines after the progress point
+   */
+  @UiThread
+  public void setLineProgressColors(@ColorInt int traveledColor, @ColorInt int remainingColor) {
+    this.lineProgressTraveledColor = traveledColor;
+    this.lineProgressRemainingColor = remainingColor;
+    if (lineProgress >= 0) {
+      updateLineProgress();
+    }
+  }
+
+  /**
+   * Render the lines of this manager as progressing from start to end, splitting each line into a traveled
+   * and a remaining part at the given fraction of its length.
+   * <p>
+   * Progress is applied as a line-gradient on the layer, advancing it only updates a single layer property and
+   * doesn't require the underlying source geometry to be rebuilt. As the gradient is a layer property,
+   * the progress is shared by all lines of this manager.
+   * </p>
+   *
+   * @param progress the fraction of the line length that has been traveled, between 0 and 1
+   */
+  @UiThread
+  public void setLineProgress(@FloatRange(from = 0.0, to = 1.0) float progress) {
+    progress = Math.max(0f, Math.min(1f, progress));
+    if (progress == lineProgress) {
+      return;
+    }
+    lineProgress = progress;
+    updateLineProgress();
+  }
+
+  /**
+   * Get the current line progress.
+   *
+   * @return the fraction of the line length that has been traveled, or -1 if no progress is set
+   */
+  @UiThread
+  public float getLineProgress() {
+    return lineProgress;
+  }
+
+  /**
+   * Remove the line progress, lines are rendered with their line-color again.
+   */
+  @UiThread
+  public void clearLineProgress() {
+    lineProgress = -1;
+    layer.setProperties(lineGradient((Expression) null));
+  }
+
+  private void updateLineProgress() {
+    layer.setProperties(
+      lineGradient(
+        step(lineProgress(), color(lineProgressTraveledColor),
+          stop(lineProgress, color(lineProgressRemainingColor))
+        )
+      )
+    );
+  }
+
   private static PropertyValue<?>[] getLayerDefinition() {
     return new PropertyValue[]{
       lineJoin(get("line-join")),
@@ -35,7 +35,7 @@ public class Symbol extends Annotation {
    */
   @Override
   public void update() {
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -56,7 +56,7 @@ public class Symbol extends Annotation {
   public void setLatLng(LatLng latLng, boolean updateSource) {
     geometry = Point.fromLngLat(latLng.getLongitude(), latLng.getLatitude());
     if (updateSource) {
-       symbolManager.updateSource();
+       symbolManager.updateSource(this);
     }
   }
 
@@ -102,7 +102,7 @@ public class Symbol extends Annotation {
    */
   public void setIconSize(Float value) {
     jsonObject.addProperty("icon-size", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -121,7 +121,7 @@ public class Symbol extends Annotation {
    */
   public void setIconImage(String value) {
     jsonObject.addProperty("icon-image", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -140,7 +140,7 @@ public class Symbol extends Annotation {
    */
   public void setIconRotate(Float value) {
     jsonObject.addProperty("icon-rotate", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -168,7 +168,7 @@ public class Symbol extends Annotation {
       jsonArray.add(element);
     }
     jsonObject.add("icon-offset", jsonArray);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -187,7 +187,7 @@ public class Symbol extends Annotation {
    */
   public void setIconAnchor(@Property.ICON_ANCHOR String value) {
     jsonObject.addProperty("icon-anchor", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -206,7 +206,7 @@ public class Symbol extends Annotation {
    */
   public void setTextField(String value) {
     jsonObject.addProperty("text-field", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -234,7 +234,7 @@ public class Symbol extends Annotation {
       jsonArray.add(element);
     }
     jsonObject.add("text-font", jsonArray);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -253,7 +253,7 @@ public class Symbol extends Annotation {
    */
   public void setTextSize(Float value) {
     jsonObject.addProperty("text-size", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -272,7 +272,7 @@ public class Symbol extends Annotation {
    */
   public void setTextMaxWidth(Float value) {
     jsonObject.addProperty("text-max-width", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -291,7 +291,7 @@ public class Symbol extends Annotation {
    */
   public void setTextLetterSpacing(Float value) {
     jsonObject.addProperty("text-letter-spacing", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -310,7 +310,7 @@ public class Symbol extends Annotation {
    */
   public void setTextJustify(@Property.TEXT_JUSTIFY String value) {
     jsonObject.addProperty("text-justify", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -329,7 +329,7 @@ public class Symbol extends Annotation {
    */
   public void setTextAnchor(@Property.TEXT_ANCHOR String value) {
     jsonObject.addProperty("text-anchor", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -348,7 +348,7 @@ public class Symbol extends Annotation {
    */
   public void setTextRotate(Float value) {
     jsonObject.addProperty("text-rotate", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -367,7 +367,7 @@ public class Symbol extends Annotation {
    */
   public void setTextTransform(@Property.TEXT_TRANSFORM String value) {
     jsonObject.addProperty("text-transform", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -395,7 +395,7 @@ public class Symbol extends Annotation {
       jsonArray.add(element);
     }
     jsonObject.add("text-offset", jsonArray);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -414,7 +414,7 @@ public class Symbol extends Annotation {
    */
   public void setIconOpacity(Float value) {
     jsonObject.addProperty("icon-opacity", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -433,7 +433,7 @@ public class Symbol extends Annotation {
    */
   public void setIconColor(String value) {
     jsonObject.addProperty("icon-color", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -452,7 +452,7 @@ public class Symbol extends Annotation {
    */
   public void setIconHaloColor(String value) {
     jsonObject.addProperty("icon-halo-color", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -471,7 +471,7 @@ public class Symbol extends Annotation {
    */
   public void setIconHaloWidth(Float value) {
     jsonObject.addProperty("icon-halo-width", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -490,7 +490,7 @@ public class Symbol extends Annotation {
    */
   public void setIconHaloBlur(Float value) {
     jsonObject.addProperty("icon-halo-blur", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -509,7 +509,7 @@ public class Symbol extends Annotation {
    */
   public void setTextOpacity(Float value) {
     jsonObject.addProperty("text-opacity", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -528,7 +528,7 @@ public class Symbol extends Annotation {
    */
   public void setTextColor(String value) {
     jsonObject.addProperty("text-color", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -547,7 +547,7 @@ public class Symbol extends Annotation {
    */
   public void setTextHaloColor(String value) {
     jsonObject.addProperty("text-halo-color", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -566,7 +566,7 @@ public class Symbol extends Annotation {
    */
   public void setTextHaloWidth(Float value) {
     jsonObject.addProperty("text-halo-width", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
   /**
@@ -585,7 +585,7 @@ public class Symbol extends Annotation {
    */
   public void setTextHaloBlur(Float value) {
     jsonObject.addProperty("text-halo-blur", value);
-    symbolManager.updateSource();
+    symbolManager.updateSource(this);
   }
 
 }
@@ -61,6 +61,28 @@ public class SymbolManager extends AnnotationManager<Symbol, OnSymbolClickListen
       ), belowLayerId);
   }
 
+  /**
+   * Create a symbol manager, used to manage symbols.
+   * <p>
+   * When tiled, symbols are served to the map as locally generated vector tiles instead of a single GeoJSON
+   * document. Use this for large and mostly static sets of symbols, click listeners behave the same in both modes.
+   * </p>
+   *
+   * @param mapboxMap    the map object to add symbols to
+   * @param belowLayerId the id of the layer above the symbol layer
+   * @param tiled        true to back the manager with locally generated vector tiles
+   */
+  @UiThread
+  public SymbolManager(@NonNull MapboxMap mapboxMap, @Nullable String belowLayerId, boolean tiled) {
+    this(mapboxMap,
+      tiled ? null : new GeoJsonSource(ID_GEOJSON_SOURCE),
+      tiled ? new AnnotationTileSource(ID_GEOJSON_SOURCE) : null,
+      new SymbolLayer(ID_GEOJSON_LAYER, ID_GEOJSON_SOURCE)
+        .withProperties(
+          getLayerDefinition()
+        ), belowLayerId);
+  }
+
   /**
    * Create a symbol manager, used to manage symbols.
    *
@@ -74,6 +96,12 @@ public class SymbolManager extends AnnotationManager<Symbol, OnSymbolClickListen
     initLayer(layer, belowLayerId);
   }
 
+  SymbolManager(MapboxMap mapboxMap, @Nullable GeoJsonSource geoJsonSource,
+    @Nullable AnnotationTileSource tileSource, @NonNull SymbolLayer layer, @Nullable String belowLayerId) {
+    super(mapboxMap, geoJsonSource, tileSource);
+    initLayer(layer, belowLayerId);
+  }
+
   /**
    * Initialise the layer on the map.
    *
@@ -119,8 +147,9 @@ public class SymbolManager extends AnnotationManager<Symbol, OnSymbolClickListen
   @UiThread
   public Symbol createSymbol(@NonNull LatLng latLng) {
     Symbol symbol = new Symbol(this, currentId);
-    symbol.setLatLng(latLng);
+    symbol.setLatLng(latLng, false);
     add(symbol);
+    updateSource(symbol);
     return symbol;
   }
 
@@ -140,7 +169,7 @@ public class SymbolManager extends AnnotationManager<Symbol, OnSymbolClickListen
       symbols.add(symbol);
       add(symbol);
     }
-    updateSource();
+    updateSource(symbols);
     return symbols;
   }
 
@@ -0,0 +1,167 @@
+package com.mapbox.mapboxsdk.plugins.annotation;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class AnnotationTileIndexTest {
+
+  @Test
+  public void testBucketsPerTile() {
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    index.put(0, Feature.fromGeometry(Point.fromLngLat(10, 10)));
+    index.put(1, Feature.fromGeometry(Point.fromLngLat(10.0001, 10.0001)));
+    index.put(2, Feature.fromGeometry(Point.fromLngLat(-120, -40)));
+    assertEquals(2, index.getBucketCount());
+  }
+
+  @Test
+  public void testNonPointFeaturesIgnored() {
+    List<Point> points = new ArrayList<>();
+    points.add(Point.fromLngLat(0, 0));
+    points.add(Point.fromLngLat(1, 1));
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    index.put(0, Feature.fromGeometry(LineString.fromLngLats(points)));
+    assertEquals(0, index.getBucketCount());
+  }
+
+  @Test
+  public void testPutReplacesPreviousPoint() {
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    assertNull(index.put(0, Feature.fromGeometry(Point.fromLngLat(10, 10))));
+    Point previous = index.put(0, Feature.fromGeometry(Point.fromLngLat(-120, -40)));
+
+    assertEquals(10.0, previous.longitude());
+    assertEquals(1, index.size());
+    assertEquals(1, index.getBucketCount());
+    assertEquals(0, tileFeatures(index, 14, 10, 10).size());
+    assertEquals(1, tileFeatures(index, 14, -120, -40).size());
+  }
+
+  @Test
+  public void testRemove() {
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    index.put(0, Feature.fromGeometry(Point.fromLngLat(10, 10)));
+    assertEquals(1, tileFeatures(index, 2, 10, 10).size());
+
+    index.remove(0);
+
+    assertEquals(0, index.size());
+    assertEquals(0, index.getBucketCount());
+    assertEquals(0, tileFeatures(index, 2, 10, 10).size());
+    assertEquals(0, tileFeatures(index, 14, 10, 10).size());
+  }
+
+  @Test
+  public void testTileFeaturesAboveIndexZoom() {
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    index.put(0, Feature.fromGeometry(Point.fromLngLat(10, 10)));
+    index.put(1, Feature.fromGeometry(Point.fromLngLat(10.01, 10)));
+    index.put(2, Feature.fromGeometry(Point.fromLngLat(-120, -40)));
+
+    List<Feature> result = tileFeatures(index, 16, 10, 10);
+    assertEquals(1, result.size());
+    assertEquals(10.0, ((Point) result.get(0).geometry()).longitude());
+  }
+
+  @Test
+  public void testPointsThinnedBelowIndexZoom() {
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    for (int i = 0; i < 1000; i++) {
+      index.put(i, Feature.fromGeometry(Point.fromLngLat(10 + i * 0.00001, 10)));
+    }
+
+    assertEquals(1000, tileFeatures(index, 14, 10.005, 10).size());
+    // the points are within a single cell of the reduction grid at zoom 4
+    assertEquals(1, tileFeatures(index, 4, 10.005, 10).size());
+    assertEquals(1, tileFeatures(index, 0, 10.005, 10).size());
+  }
+
+  @Test
+  public void testReducedTilesBounded() {
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    int id = 0;
+    for (int i = 0; i < 200; i++) {
+      for (int j = 0; j < 200; j++) {
+        index.put(id++, Feature.fromGeometry(Point.fromLngLat(-170 + i * 1.7, -80 + j * 0.8)));
+      }
+    }
+
+    int gridSize = AnnotationTileIndex.REDUCTION_GRID_SIZE;
+    assertTrue(index.getTileFeatures(0, 0, 0).size() <= gridSize * gridSize);
+  }
+
+  @Test
+  public void testReducedTileUpdatedAfterChange() {
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    index.put(0, Feature.fromGeometry(Point.fromLngLat(10, 10)));
+    assertEquals(1, tileFeatures(index, 0, 10, 10).size());
+
+    index.put(1, Feature.fromGeometry(Point.fromLngLat(-120, -40)));
+
+    assertEquals(2, tileFeatures(index, 0, 10, 10).size());
+  }
+
+  @Test
+  public void testSharedEdgeServedByBothTilesWithinBuffer() {
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    index.put(0, Feature.fromGeometry(Point.fromLngLat(0, 10)));
+    assertEquals(1, index.getTileFeatures(1, 0, 0).size());
+    assertEquals(1, index.getTileFeatures(1, 1, 0).size());
+    assertEquals(1, index.getTileFeatures(15, 1 << 14, AnnotationTileIndex.tileY(10, 15)).size());
+    assertEquals(1, index.getTileFeatures(15, (1 << 14) - 1, AnnotationTileIndex.tileY(10, 15)).size());
+  }
+
+  @Test
+  public void testPointOutsideBufferNotServedByNeighbour() {
+    AnnotationTileIndex index = new AnnotationTileIndex(14);
+    // a quarter of the tile extent away from the edge at zoom 1
+    index.put(0, Feature.fromGeometry(Point.fromLngLat(45, 10)));
+    assertEquals(0, index.getTileFeatures(1, 0, 0).size());
+    assertEquals(1, index.getTileFeatures(1, 1, 0).size());
+  }
+
+  @Test
+  public void testCollectTilesIncludesNeighboursWithinBuffer() {
+    Set<Long> tiles = new HashSet<>();
+    AnnotationTileIndex.collectTiles(Point.fromLngLat(0, 10), 1, tiles);
+
+    assertTrue(tiles.contains(AnnotationTileIndex.encodeTile(0, 0, 0)));
+    assertTrue(tiles.contains(AnnotationTileIndex.encodeTile(1, 0, 0)));
+    assertTrue(tiles.contains(AnnotationTileIndex.encodeTile(1, 1, 0)));
+    assertEquals(3, tiles.size());
+  }
+
+  @Test
+  public void testEncodeTile() {
+    long tile = AnnotationTileIndex.encodeTile(18, 262143, 12345);
+    assertEquals(18, AnnotationTileIndex.decodeZoom(tile));
+    assertEquals(262143, AnnotationTileIndex.decodeX(tile));
+    assertEquals(12345, AnnotationTileIndex.decodeY(tile));
+  }
+
+  @Test
+  public void testTileCoordinates() {
+    assertEquals(0, AnnotationTileIndex.tileX(-180, 1));
+    assertEquals(1, AnnotationTileIndex.tileX(0, 1));
+    assertEquals(1, AnnotationTileIndex.tileX(180, 1));
+    assertEquals(0, AnnotationTileIndex.tileY(85, 1));
+    assertEquals(1, AnnotationTileIndex.tileY(-85, 1));
+  }
+
+  private static List<Feature> tileFeatures(AnnotationTileIndex index, int zoom, double longitude, double latitude) {
+    return index.getTileFeatures(zoom,
+      AnnotationTileIndex.tileX(longitude, zoom), AnnotationTileIndex.tileY(latitude, zoom));
+  }
+}
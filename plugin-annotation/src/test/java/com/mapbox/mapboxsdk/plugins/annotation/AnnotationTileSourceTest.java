@@ -0,0 +1,196 @@
+package com.mapbox.mapboxsdk.plugins.annotation;
+
+import android.os.Handler;
+
+import com.google.gson.JsonObject;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+import com.mapbox.mapboxsdk.style.sources.CustomGeometrySource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class AnnotationTileSourceTest {
+
+  private CustomGeometrySource customGeometrySource;
+  private AnnotationTileIndex tileIndex;
+  private ExecutorService executor;
+  private Handler mainHandler;
+  private AnnotationTileSource tileSource;
+
+  private final List<Runnable> mainQueue = new ArrayList<>();
+  private final List<Runnable> executorQueue = new ArrayList<>();
+
+  @Before
+  public void beforeTest() {
+    customGeometrySource = mock(CustomGeometrySource.class);
+    tileIndex = new AnnotationTileIndex(14);
+    executor = mock(ExecutorService.class);
+    mainHandler = mock(Handler.class);
+    doAnswer(new QueueAnswer(mainQueue)).when(mainHandler).post(any(Runnable.class));
+    doAnswer(new QueueAnswer(executorQueue)).when(executor).execute(any(Runnable.class));
+    tileSource = new AnnotationTileSource(customGeometrySource, tileIndex, executor, mainHandler);
+  }
+
+  @Test
+  public void testUpdatesFlushedOncePerMainLoopPass() {
+    tileSource.update(0, Point.fromLngLat(10, 10), new JsonObject());
+    tileSource.update(1, Point.fromLngLat(20, 20), new JsonObject());
+
+    verify(mainHandler, times(1)).post(any(Runnable.class));
+    runQueues();
+    verify(executor, times(1)).execute(any(Runnable.class));
+    assertEquals(2, tileIndex.size());
+  }
+
+  @Test
+  public void testPendingUpdateSuperseded() {
+    tileSource.update(0, Point.fromLngLat(10, 10), new JsonObject());
+    tileSource.update(0, Point.fromLngLat(-120, -40), new JsonObject());
+    runQueues();
+
+    assertEquals(1, tileIndex.size());
+    assertEquals(0, tileFeatures(10, 10).size());
+    assertEquals(1, tileFeatures(-120, -40).size());
+  }
+
+  @Test
+  public void testRemoveSupersedesPendingUpdate() {
+    tileSource.update(0, Point.fromLngLat(10, 10), new JsonObject());
+    tileSource.remove(0);
+    runQueues();
+
+    assertEquals(0, tileIndex.size());
+  }
+
+  @Test
+  public void testPropertiesSnapshotted() {
+    JsonObject properties = new JsonObject();
+    properties.addProperty("circle-radius", 1f);
+    tileSource.update(0, Point.fromLngLat(10, 10), properties);
+    properties.addProperty("circle-radius", 2f);
+    runQueues();
+
+    Feature feature = tileFeatures(10, 10).get(0);
+    assertEquals(1f, feature.getNumberProperty("circle-radius").floatValue());
+  }
+
+  @Test
+  public void testChangedTilesInvalidated() {
+    tileSource.update(0, Point.fromLngLat(10, 10), new JsonObject());
+    runQueues();
+
+    verify(customGeometrySource).invalidateTile(0, 0, 0);
+    verify(customGeometrySource).invalidateTile(14,
+      AnnotationTileIndex.tileX(10, 14), AnnotationTileIndex.tileY(10, 14));
+    verify(customGeometrySource, never()).invalidateRegion(any(LatLngBounds.class));
+  }
+
+  @Test
+  public void testMovedAnnotationInvalidatesPreviousTile() {
+    tileSource.update(0, Point.fromLngLat(10, 10), new JsonObject());
+    runQueues();
+    tileSource.update(0, Point.fromLngLat(-120, -40), new JsonObject());
+    runQueues();
+
+    verify(customGeometrySource, times(2)).invalidateTile(14,
+      AnnotationTileIndex.tileX(10, 14), AnnotationTileIndex.tileY(10, 14));
+  }
+
+  @Test
+  public void testLargeBatchInvalidatesWholeSource() {
+    for (int i = 0; i <= AnnotationTileSource.MAX_INVALIDATED_ANNOTATIONS; i++) {
+      tileSource.update(i, Point.fromLngLat(i, 0), new JsonObject());
+    }
+    runQueues();
+
+    verify(customGeometrySource).invalidateRegion(any(LatLngBounds.class));
+    verify(customGeometrySource, never()).invalidateTile(anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void testOnDestroyShutsDownExecutor() {
+    tileSource.onDestroy();
+
+    verify(executor).shutdownNow();
+    verify(mainHandler).removeCallbacksAndMessages(null);
+  }
+
+  @Test
+  public void testUpdatesIgnoredAfterDestroy() {
+    tileSource.onDestroy();
+    tileSource.update(0, Point.fromLngLat(10, 10), new JsonObject());
+
+    verify(mainHandler, never()).post(any(Runnable.class));
+  }
+
+  @Test
+  public void testInvalidationInFlightDroppedAfterDestroy() {
+    tileSource.update(0, Point.fromLngLat(10, 10), new JsonObject());
+    runMainQueue();
+    runExecutorQueue();
+    tileSource.onDestroy();
+    runMainQueue();
+
+    verify(customGeometrySource, never()).invalidateTile(anyInt(), anyInt(), anyInt());
+  }
+
+  private List<Feature> tileFeatures(double longitude, double latitude) {
+    return tileIndex.getTileFeatures(14, AnnotationTileIndex.tileX(longitude, 14),
+      AnnotationTileIndex.tileY(latitude, 14));
+  }
+
+  private void runQueues() {
+    while (!mainQueue.isEmpty() || !executorQueue.isEmpty()) {
+      runMainQueue();
+      runExecutorQueue();
+    }
+  }
+
+  private void runMainQueue() {
+    List<Runnable> runnables = new ArrayList<>(mainQueue);
+    mainQueue.clear();
+    for (Runnable runnable : runnables) {
+      runnable.run();
+    }
+  }
+
+  private void runExecutorQueue() {
+    List<Runnable> runnables = new ArrayList<>(executorQueue);
+    executorQueue.clear();
+    for (Runnable runnable : runnables) {
+      runnable.run();
+    }
+  }
+
+  private static class QueueAnswer implements Answer<Object> {
+
+    private final List<Runnable> queue;
+
+    QueueAnswer(List<Runnable> queue) {
+      this.queue = queue;
+    }
+
+    @Override
+    public Object answer(InvocationOnMock invocation) {
+      queue.add((Runnable) invocation.getArgument(0));
+      return true;
+    }
+  }
+}
@@ -16,6 +16,9 @@ import java.util.List;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class LineManagerTest {
 
@@ -86,4 +89,27 @@ public class LineManagerTest {
     assertEquals(lineZero.getFeature().get(Line.ID_KEY).getAsLong(), 0);
     assertEquals(lineOne.getFeature().get(Line.ID_KEY).getAsLong(), 1);
   }
+
+  @Test
+  public void testLineProgress() {
+    lineManager.setLineProgress(0.25f);
+    assertEquals(0.25f, lineManager.getLineProgress());
+    lineManager.setLineProgress(1.5f);
+    assertEquals(1.0f, lineManager.getLineProgress());
+    verify(lineLayer, times(2)).setProperties(any(PropertyValue.class));
+  }
+
+  @Test
+  public void testLineProgressUnchanged() {
+    lineManager.setLineProgress(0.5f);
+    lineManager.setLineProgress(0.5f);
+    verify(lineLayer, times(1)).setProperties(any(PropertyValue.class));
+  }
+
+  @Test
+  public void testClearLineProgress() {
+    lineManager.setLineProgress(0.5f);
+    lineManager.clearLineProgress();
+    assertEquals(-1f, lineManager.getLineProgress());
+  }
 }
\ No newline at end of file
@@ -2,10 +2,12 @@
 
 package com.mapbox.mapboxsdk.plugins.annotation;
 
+import com.google.gson.JsonObject;
 import com.mapbox.geojson.*;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 import com.mapbox.mapboxsdk.style.layers.*;
+import com.mapbox.mapboxsdk.style.sources.CustomGeometrySource;
 import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
 import org.junit.Before;
 import org.junit.Test;
@@ -16,6 +18,11 @@ import java.util.List;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class SymbolManagerTest {
 
@@ -65,4 +72,31 @@ public class SymbolManagerTest {
     assertEquals(symbolZero.getFeature().get(Symbol.ID_KEY).getAsLong(), 0);
     assertEquals(symbolOne.getFeature().get(Symbol.ID_KEY).getAsLong(), 1);
   }
+
+  @Test
+  public void testTiledManagerAddsCustomGeometrySource() {
+    MapboxMap tiledMapboxMap = mock(MapboxMap.class);
+    AnnotationTileSource tileSource = mock(AnnotationTileSource.class);
+    CustomGeometrySource customGeometrySource = mock(CustomGeometrySource.class);
+    when(tileSource.getSource()).thenReturn(customGeometrySource);
+
+    new SymbolManager(tiledMapboxMap, null, tileSource, symbolLayer, null);
+
+    verify(tiledMapboxMap).addSource(customGeometrySource);
+    verify(tiledMapboxMap, never()).addSource(any(GeoJsonSource.class));
+  }
+
+  @Test
+  public void testTiledManagerUpdatesTileSource() {
+    AnnotationTileSource tileSource = mock(AnnotationTileSource.class);
+    when(tileSource.getSource()).thenReturn(mock(CustomGeometrySource.class));
+    SymbolManager tiledManager =
+      new SymbolManager(mock(MapboxMap.class), null, tileSource, symbolLayer, null);
+
+    Symbol symbol = tiledManager.createSymbol(new LatLng());
+    verify(tileSource).update(eq(symbol.getId()), any(Geometry.class), any(JsonObject.class));
+
+    tiledManager.delete(symbol);
+    verify(tileSource).remove(symbol.getId());
+  }
 }
\ No newline at end of file
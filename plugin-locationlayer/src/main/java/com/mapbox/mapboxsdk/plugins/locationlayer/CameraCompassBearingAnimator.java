@@ -1,11 +1,9 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.ValueAnimator;
-
 import java.util.List;
 
 class CameraCompassBearingAnimator extends PluginFloatAnimator<PluginAnimator.OnCameraAnimationsValuesChangeListener> {
-  CameraCompassBearingAnimator(Float previous, Float target,
+  CameraCompassBearingAnimator(float previous, float target,
                                List<OnCameraAnimationsValuesChangeListener> updateListeners) {
     super(previous, target, updateListeners);
   }
@@ -16,9 +14,9 @@ class CameraCompassBearingAnimator extends PluginFloatAnimator<PluginAnimator.On
   }
 
   @Override
-  public void onAnimationUpdate(ValueAnimator animation) {
+  void onAnimationUpdate(float animatedValue) {
     for (OnCameraAnimationsValuesChangeListener listener : updateListeners) {
-      listener.onNewCompassBearingValue((Float) animation.getAnimatedValue());
+      listener.onNewCompassBearingValue(animatedValue);
     }
   }
 }
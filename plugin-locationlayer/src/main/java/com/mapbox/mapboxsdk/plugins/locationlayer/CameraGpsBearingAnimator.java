@@ -1,11 +1,9 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.ValueAnimator;
-
 import java.util.List;
 
 class CameraGpsBearingAnimator extends PluginFloatAnimator<PluginAnimator.OnCameraAnimationsValuesChangeListener> {
-  CameraGpsBearingAnimator(Float previous, Float target, List<OnCameraAnimationsValuesChangeListener> updateListeners) {
+  CameraGpsBearingAnimator(float previous, float target, List<OnCameraAnimationsValuesChangeListener> updateListeners) {
     super(previous, target, updateListeners);
   }
 
@@ -15,9 +13,9 @@ class CameraGpsBearingAnimator extends PluginFloatAnimator<PluginAnimator.OnCame
   }
 
   @Override
-  public void onAnimationUpdate(ValueAnimator animation) {
+  void onAnimationUpdate(float animatedValue) {
     for (OnCameraAnimationsValuesChangeListener listener : updateListeners) {
-      listener.onNewGpsBearingValue((Float) animation.getAnimatedValue());
+      listener.onNewGpsBearingValue(animatedValue);
     }
   }
 }
@@ -1,7 +1,5 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.ValueAnimator;
-
 import com.mapbox.mapboxsdk.geometry.LatLng;
 
 import java.util.List;
@@ -17,9 +15,9 @@ class CameraLatLngAnimator extends PluginLatLngAnimator<PluginAnimator.OnCameraA
   }
 
   @Override
-  public void onAnimationUpdate(ValueAnimator animation) {
+  void onAnimationUpdate(LatLng animatedValue) {
     for (OnCameraAnimationsValuesChangeListener listener : updateListeners) {
-      listener.onNewLatLngValue((LatLng) animation.getAnimatedValue());
+      listener.onNewLatLngValue(animatedValue);
     }
   }
 }
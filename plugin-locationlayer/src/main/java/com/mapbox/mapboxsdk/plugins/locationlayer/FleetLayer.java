@@ -0,0 +1,343 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.google.gson.JsonObject;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.ACCURACY_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BACKGROUND_ICON;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BACKGROUND_STALE_ICON;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FLEET_ACCURACY_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FLEET_BACKGROUND_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FLEET_FOREGROUND_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FLEET_MAX_ANIMATION_DURATION_MS;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FLEET_SOURCE;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FOREGROUND_ICON;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FOREGROUND_STALE_ICON;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_ACCURACY_RADIUS_AT_ZOOM_ZERO;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_GPS_BEARING;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_LOCATION_STALE;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.SHADOW_LAYER;
+
+/**
+ * Displays the locations of many tracked entities beneath the user location, for example the vehicles of a fleet.
+ * <p>
+ * All entities share a single source and the icons of the location layer. Entities are animated between their
+ * locations in one frame loop, which pushes the source to the map at most once per frame. Stale entities are
+ * detected by a single {@link StaleStateManager} tracking the deadlines of all entities.
+ */
+final class FleetLayer implements FrameScheduler.OnFrameListener {
+
+  private static final double METERS_PER_PIXEL_AT_ZOOM_ZERO = 2 * Math.PI * 6378137 / 512;
+
+  private final MapboxMap mapboxMap;
+  private final LayerSourceProvider layerSourceProvider;
+  private final FrameScheduler frameScheduler;
+  private final StaleStateManager staleStateManager;
+  private final Map<String, FleetEntity> entities = new LinkedHashMap<>();
+  private LocationLayerOptions options;
+
+  @Nullable
+  private GeoJsonSource fleetSource;
+  private boolean sourceInvalidated;
+  private boolean sourceDirty;
+  private boolean started;
+
+  FleetLayer(MapboxMap mapboxMap, LayerSourceProvider layerSourceProvider, LocationLayerOptions options) {
+    this.mapboxMap = mapboxMap;
+    this.layerSourceProvider = layerSourceProvider;
+    this.options = options;
+    this.frameScheduler = FrameScheduler.create(this);
+    this.staleStateManager = new StaleStateManager(onEntityStaleStateChangeListener, options.staleStateTimeout());
+  }
+
+  FleetLayer(MapboxMap mapboxMap, LayerSourceProvider layerSourceProvider, LocationLayerOptions options,
+             FrameScheduler frameScheduler, Handler staleStateHandler) {
+    this.mapboxMap = mapboxMap;
+    this.layerSourceProvider = layerSourceProvider;
+    this.options = options;
+    this.frameScheduler = frameScheduler;
+    this.staleStateManager = new StaleStateManager(
+      onEntityStaleStateChangeListener, options.staleStateTimeout(), staleStateHandler);
+  }
+
+  /**
+   * Adds the fleet to a newly loaded style, entities tracked so far are restored.
+   */
+  void initializeComponents(LocationLayerOptions options) {
+    this.options = options;
+    sourceInvalidated = false;
+    if (!entities.isEmpty()) {
+      addComponents();
+    }
+  }
+
+  /**
+   * Drops the cached source reference, the source is removed from the map together with the old style. The fleet
+   * isn't added to the map again until {@link #initializeComponents(LocationLayerOptions)} is called.
+   */
+  void invalidateSource() {
+    fleetSource = null;
+    sourceInvalidated = true;
+  }
+
+  void applyStyle(LocationLayerOptions options) {
+    this.options = options;
+    if (!options.enableStaleState()) {
+      staleStateManager.onStop();
+      for (FleetEntity entity : entities.values()) {
+        entity.setStale(false);
+      }
+    } else {
+      staleStateManager.setDelayTime(options.staleStateTimeout());
+    }
+    if (fleetSource != null) {
+      removeLayers();
+      addLayers();
+    }
+    requestSourceRefresh();
+  }
+
+  void onStart() {
+    started = true;
+    requestSourceRefresh();
+    if (options.enableStaleState()) {
+      staleStateManager.onStart();
+    }
+  }
+
+  void onStop() {
+    started = false;
+    staleStateManager.onStop();
+    frameScheduler.cancelFrame();
+  }
+
+  void update(@NonNull String entityId, @NonNull Location location) {
+    long now = SystemClock.uptimeMillis();
+    FleetEntity entity = entities.get(entityId);
+    if (entity == null) {
+      entities.put(entityId, new FleetEntity(location, now));
+      if (fleetSource == null && !sourceInvalidated) {
+        addComponents();
+      }
+    } else {
+      entity.animateTo(location, now);
+    }
+    staleStateManager.updateLatestLocationTime(entityId);
+    requestSourceRefresh();
+  }
+
+  void remove(@NonNull String entityId) {
+    if (entities.remove(entityId) == null) {
+      return;
+    }
+    staleStateManager.remove(entityId);
+    if (entities.isEmpty()) {
+      removeComponents();
+    } else {
+      requestSourceRefresh();
+    }
+  }
+
+  void clear() {
+    entities.clear();
+    staleStateManager.clear();
+    removeComponents();
+  }
+
+  int size() {
+    return entities.size();
+  }
+
+  boolean isStale(@NonNull String entityId) {
+    FleetEntity entity = entities.get(entityId);
+    return entity != null && entity.stale;
+  }
+
+  @Override
+  public void onFrame(long frameTimeMillis) {
+    if (!started) {
+      return;
+    }
+
+    boolean animating = false;
+    for (FleetEntity entity : entities.values()) {
+      if (entity.animating) {
+        entity.onFrame(frameTimeMillis);
+        animating |= entity.animating;
+        sourceDirty = true;
+      }
+    }
+    if (sourceDirty) {
+      refreshSource();
+    }
+    if (animating) {
+      frameScheduler.scheduleFrame();
+    }
+  }
+
+  void checkStaleEntities(long now) {
+    staleStateManager.checkStaleState(now);
+  }
+
+  private final StaleStateManager.OnEntityStaleStateChangeListener onEntityStaleStateChangeListener =
+    new StaleStateManager.OnEntityStaleStateChangeListener() {
+      @Override
+      public void onEntityStaleStateChange(@NonNull String entityId, boolean isStale) {
+        FleetEntity entity = entities.get(entityId);
+        if (entity != null && (!isStale || options.enableStaleState())) {
+          entity.setStale(isStale);
+          requestSourceRefresh();
+        }
+      }
+    };
+
+  private void requestSourceRefresh() {
+    sourceDirty = true;
+    if (started) {
+      frameScheduler.scheduleFrame();
+    }
+  }
+
+  private void refreshSource() {
+    sourceDirty = false;
+    if (fleetSource == null) {
+      return;
+    }
+    List<Feature> features = new ArrayList<>(entities.size());
+    for (FleetEntity entity : entities.values()) {
+      features.add(entity.getFeature());
+    }
+    fleetSource.setGeoJson(FeatureCollection.fromFeatures(features));
+  }
+
+  private void addComponents() {
+    fleetSource = layerSourceProvider.generateFleetSource();
+    mapboxMap.addSource(fleetSource);
+    addLayers();
+    requestSourceRefresh();
+  }
+
+  private void addLayers() {
+    // the fleet is kept beneath the lowest layer of the user location
+    String idBelowLayer = options.compositeIcons() ? ACCURACY_LAYER : SHADOW_LAYER;
+    mapboxMap.addLayerBelow(layerSourceProvider.generateFleetLayer(
+      FLEET_FOREGROUND_LAYER, FOREGROUND_ICON, FOREGROUND_STALE_ICON), idBelowLayer);
+    mapboxMap.addLayerBelow(layerSourceProvider.generateFleetLayer(
+      FLEET_BACKGROUND_LAYER, BACKGROUND_ICON, BACKGROUND_STALE_ICON), FLEET_FOREGROUND_LAYER);
+    mapboxMap.addLayerBelow(layerSourceProvider.generateFleetAccuracyLayer(
+      options.accuracyAlpha(), options.accuracyColor()), FLEET_BACKGROUND_LAYER);
+  }
+
+  private void removeLayers() {
+    mapboxMap.removeLayer(FLEET_ACCURACY_LAYER);
+    mapboxMap.removeLayer(FLEET_BACKGROUND_LAYER);
+    mapboxMap.removeLayer(FLEET_FOREGROUND_LAYER);
+  }
+
+  private void removeComponents() {
+    if (fleetSource == null) {
+      return;
+    }
+    removeLayers();
+    mapboxMap.removeSource(FLEET_SOURCE);
+    fleetSource = null;
+  }
+
+  /**
+   * The animated state of a single entity, the feature is cached until the state changes.
+   */
+  private static final class FleetEntity {
+
+    private final JsonObject properties = new JsonObject();
+
+    private double fromLatitude;
+    private double fromLongitude;
+    private double toLatitude;
+    private double toLongitude;
+    private float fromBearing;
+    private float toBearing;
+    private double latitude;
+    private double longitude;
+    private float bearing;
+
+    private long animationStartTime;
+    private long animationDuration;
+    private long lastUpdateTime;
+    private boolean animating;
+    private boolean stale;
+
+    @Nullable
+    private Feature feature;
+
+    FleetEntity(Location location, long now) {
+      latitude = location.getLatitude();
+      longitude = location.getLongitude();
+      bearing = location.getBearing();
+      lastUpdateTime = now;
+      properties.addProperty(PROPERTY_LOCATION_STALE, false);
+      setAccuracy(location.getAccuracy());
+    }
+
+    void animateTo(Location location, long now) {
+      fromLatitude = latitude;
+      fromLongitude = longitude;
+      fromBearing = bearing;
+      toLatitude = location.getLatitude();
+      toLongitude = location.getLongitude();
+      toBearing = Utils.shortestRotation(location.getBearing(), bearing);
+      animationStartTime = now;
+      animationDuration = Math.min(now - lastUpdateTime, FLEET_MAX_ANIMATION_DURATION_MS);
+      animating = true;
+      lastUpdateTime = now;
+      setAccuracy(location.getAccuracy());
+    }
+
+    void onFrame(long frameTimeMillis) {
+      float fraction = animationDuration > 0
+        ? (float) (frameTimeMillis - animationStartTime) / animationDuration : 1;
+      fraction = Math.max(0, Math.min(1, fraction));
+      latitude = fromLatitude + (toLatitude - fromLatitude) * fraction;
+      longitude = fromLongitude + (toLongitude - fromLongitude) * fraction;
+      bearing = fromBearing + (toBearing - fromBearing) * fraction;
+      animating = fraction < 1;
+      feature = null;
+    }
+
+    void setStale(boolean stale) {
+      if (this.stale != stale) {
+        this.stale = stale;
+        properties.addProperty(PROPERTY_LOCATION_STALE, stale);
+        feature = null;
+      }
+    }
+
+    Feature getFeature() {
+      if (feature == null) {
+        properties.addProperty(PROPERTY_GPS_BEARING, bearing);
+        feature = Feature.fromGeometry(Point.fromLngLat(longitude, latitude), properties);
+      }
+      return feature;
+    }
+
+    private void setAccuracy(float accuracy) {
+      double metersPerPixel = METERS_PER_PIXEL_AT_ZOOM_ZERO * Math.cos(Math.toRadians(latitude));
+      properties.addProperty(PROPERTY_ACCURACY_RADIUS_AT_ZOOM_ZERO, accuracy / metersPerPixel);
+      feature = null;
+    }
+  }
+}
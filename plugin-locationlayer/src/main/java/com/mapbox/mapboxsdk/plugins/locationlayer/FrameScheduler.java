@@ -0,0 +1,151 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.DEFAULT_FRAME_INTERVAL_MS;
+
+/**
+ * Schedules the single animation frame callback used to drive all of the plugin animators.
+ * <p>
+ * Frames are synced with the display through the {@link Choreographer} when available,
+ * on older devices a {@link Handler} posting at a fixed interval is used instead.
+ */
+abstract class FrameScheduler {
+
+  private static final long FALLBACK_FRAME_INTERVAL_MS = 16;
+
+  interface OnFrameListener {
+    /**
+     * Invoked once per frame while a frame is scheduled.
+     *
+     * @param frameTimeMillis the frame time in the {@link SystemClock#uptimeMillis()} time base
+     */
+    void onFrame(long frameTimeMillis);
+  }
+
+  final OnFrameListener listener;
+  boolean scheduled;
+
+  FrameScheduler(OnFrameListener listener) {
+    this.listener = listener;
+  }
+
+  static FrameScheduler create(OnFrameListener listener) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      return new ChoreographerFrameScheduler(listener);
+    }
+    return new HandlerFrameScheduler(listener);
+  }
+
+  /**
+   * Requests a callback on the next frame, subsequent calls before the frame is delivered are ignored.
+   */
+  void scheduleFrame() {
+    if (!scheduled) {
+      scheduled = true;
+      postFrame();
+    }
+  }
+
+  void cancelFrame() {
+    if (scheduled) {
+      scheduled = false;
+      removeFrame();
+    }
+  }
+
+  void deliverFrame(long frameTimeMillis) {
+    scheduled = false;
+    listener.onFrame(frameTimeMillis);
+  }
+
+  /**
+   * Sets the refresh rate of the display, used to derive the interval between two synced frames.
+   *
+   * @param refreshRate the refresh rate in frames per second, ignored if not positive
+   */
+  void setDisplayRefreshRate(float refreshRate) {
+    // frames aren't synced with the display by default
+  }
+
+  /**
+   * Returns the expected interval in milliseconds between two delivered frames.
+   */
+  abstract float getFrameIntervalMillis();
+
+  abstract void postFrame();
+
+  abstract void removeFrame();
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private static final class ChoreographerFrameScheduler extends FrameScheduler
+    implements Choreographer.FrameCallback {
+
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private float frameIntervalMillis = DEFAULT_FRAME_INTERVAL_MS;
+
+    ChoreographerFrameScheduler(OnFrameListener listener) {
+      super(listener);
+    }
+
+    @Override
+    void setDisplayRefreshRate(float refreshRate) {
+      frameIntervalMillis = refreshRate > 0 ? 1000f / refreshRate : DEFAULT_FRAME_INTERVAL_MS;
+    }
+
+    @Override
+    float getFrameIntervalMillis() {
+      return frameIntervalMillis;
+    }
+
+    @Override
+    void postFrame() {
+      choreographer.postFrameCallback(this);
+    }
+
+    @Override
+    void removeFrame() {
+      choreographer.removeFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      deliverFrame(TimeUnit.NANOSECONDS.toMillis(frameTimeNanos));
+    }
+  }
+
+  private static final class HandlerFrameScheduler extends FrameScheduler implements Runnable {
+
+    private final Handler handler = new Handler();
+
+    HandlerFrameScheduler(OnFrameListener listener) {
+      super(listener);
+    }
+
+    @Override
+    float getFrameIntervalMillis() {
+      return FALLBACK_FRAME_INTERVAL_MS;
+    }
+
+    @Override
+    void postFrame() {
+      handler.postDelayed(this, FALLBACK_FRAME_INTERVAL_MS);
+    }
+
+    @Override
+    void removeFrame() {
+      handler.removeCallbacks(this);
+    }
+
+    @Override
+    public void run() {
+      deliverFrame(SystemClock.uptimeMillis());
+    }
+  }
+}
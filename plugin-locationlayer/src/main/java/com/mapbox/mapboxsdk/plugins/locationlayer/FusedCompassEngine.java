@@ -0,0 +1,505 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
+import android.hardware.display.DisplayManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.Surface;
+import android.view.WindowManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import timber.log.Timber;
+
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPASS_ROTATING_RATE_DEGREES_PER_SECOND;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPASS_ROTATING_UPDATE_RATE_MS;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPASS_UPDATE_RATE_MS;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.DEFAULT_COMPASS_MIN_HEADING_DELTA;
+
+/**
+ * A {@link CompassEngine} producing a smoothed heading from the rotation vector sensor, or from the accelerometer and
+ * magnetic field sensors on devices without one.
+ * <p>
+ * Sensor events are processed without allocations, the display rotation is cached and only refreshed when the
+ * display changes, or on configuration changes below Android 4.2 where display changes can't be observed. Every
+ * event updates a low-pass filtered heading which correctly wraps around north. Listeners are notified when the
+ * filtered heading changed by at least {@link #getMinHeadingDelta()}, up to ten times per second while the device
+ * is rotating and twice per second while the heading is only drifting.
+ *
+ * @since 0.9.0
+ */
+public final class FusedCompassEngine implements CompassEngine, SensorEventListener, ComponentCallbacks {
+
+  private static final int SENSOR_DELAY_MICROS = 100 * 1000;
+  // Maximum delay of batched sensor events in low power mode, matching the compass update rate
+  private static final int MAX_REPORT_LATENCY_MICROS = COMPASS_UPDATE_RATE_MS * 1000;
+  // Time constant of the heading filter, higher values smooth more but follow rotations slower
+  private static final float HEADING_FILTER_TIME_CONSTANT_SECONDS = 0.15f;
+  // Filtering coefficient for the raw accelerometer and magnetic field values
+  private static final float SENSOR_VALUES_ALPHA = 0.45f;
+
+  private final Context context;
+  private final WindowManager windowManager;
+  private final SensorManager sensorManager;
+  private final List<CompassListener> compassListeners = new ArrayList<>();
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable batchRunnable = new Runnable() {
+    @Override
+    public void run() {
+      batchPending = false;
+      updateOrientation(batchTimestampNanos, true);
+    }
+  };
+
+  @Nullable
+  private Sensor rotationVectorSensor;
+  @Nullable
+  private Sensor gravitySensor;
+  @Nullable
+  private Sensor magneticFieldSensor;
+
+  private final float[] truncatedRotationVector = new float[4];
+  private final float[] gravityValues = new float[3];
+  private final float[] magneticValues = new float[3];
+  private final float[] rotationMatrix = new float[9];
+  private final float[] adjustedRotationMatrix = new float[9];
+  private final float[] orientation = new float[3];
+  private boolean hasGravityValues;
+  private boolean hasMagneticValues;
+
+  private int worldAxisForDeviceAxisX = SensorManager.AXIS_X;
+  private int worldAxisForDeviceAxisY = SensorManager.AXIS_Z;
+
+  private boolean hasHeading;
+  private float filteredHeading;
+  private long lastEventTimestampNanos;
+  private float lastHeading;
+  private int lastAccuracySensorStatus;
+  private long lastDispatchTimestampNanos;
+  private long dispatchIntervalMillis = COMPASS_UPDATE_RATE_MS;
+  private float minHeadingDelta = DEFAULT_COMPASS_MIN_HEADING_DELTA;
+
+  @Nullable
+  private DisplayRotationListener displayRotationListener;
+
+  private boolean started;
+  private boolean lowPowerModeEnabled;
+  private boolean batching;
+  private boolean batchPending;
+  private long batchTimestampNanos;
+
+  /**
+   * Create a compass engine using the sensors of the device.
+   *
+   * @param context the context used to access the sensors and display
+   * @since 0.9.0
+   */
+  public FusedCompassEngine(@NonNull Context context) {
+    this(context.getApplicationContext(),
+      (WindowManager) context.getSystemService(Context.WINDOW_SERVICE),
+      (SensorManager) context.getSystemService(Context.SENSOR_SERVICE));
+  }
+
+  FusedCompassEngine(Context context, WindowManager windowManager, SensorManager sensorManager) {
+    this.context = context;
+    this.windowManager = windowManager;
+    this.sensorManager = sensorManager;
+    rotationVectorSensor = sensorManager.getDefaultSensor(Sensor.TYPE_ROTATION_VECTOR);
+    if (rotationVectorSensor == null) {
+      Timber.d("Rotation vector sensor not supported on device, falling back to accelerometer and magnetic field.");
+      gravitySensor = sensorManager.getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
+      magneticFieldSensor = sensorManager.getDefaultSensor(Sensor.TYPE_MAGNETIC_FIELD);
+    }
+    updateDisplayRotation();
+  }
+
+  /**
+   * Set the minimum change of the heading in degrees before listeners are notified. Smaller changes are mostly
+   * sensor noise, ignoring them avoids restarting the compass animations and re-rendering the map.
+   *
+   * @param minHeadingDelta the minimum heading change in degrees, 0 to dispatch every change
+   * @since 0.9.0
+   */
+  public void setMinHeadingDelta(float minHeadingDelta) {
+    if (minHeadingDelta < 0) {
+      throw new IllegalArgumentException("Min heading delta can't be negative, was " + minHeadingDelta);
+    }
+    this.minHeadingDelta = minHeadingDelta;
+  }
+
+  /**
+   * Returns the minimum change of the heading in degrees before listeners are notified.
+   *
+   * @return the minimum heading change in degrees
+   * @since 0.9.0
+   */
+  public float getMinHeadingDelta() {
+    return minHeadingDelta;
+  }
+
+  /**
+   * Returns the interval in milliseconds at which headings are currently dispatched, shorter while the device is
+   * rotating. Animating a heading over this interval makes it reach the heading when the next one arrives.
+   */
+  long getDispatchIntervalMillis() {
+    return dispatchIntervalMillis;
+  }
+
+  /**
+   * Enables the low power mode, in which the sensors deliver their events in batches using hardware batching.
+   * <p>
+   * The CPU is not woken up for every sensor sample anymore, instead a single smoothed heading is produced for
+   * each batch. This delays heading updates by up to half a second. The mode has no effect below
+   * Android 4.4 or when the sensors don't support batching.
+   * </p>
+   *
+   * @param lowPowerModeEnabled true to deliver sensor events in batches, false otherwise
+   * @since 0.9.0
+   */
+  public void setLowPowerModeEnabled(boolean lowPowerModeEnabled) {
+    if (this.lowPowerModeEnabled == lowPowerModeEnabled) {
+      return;
+    }
+    this.lowPowerModeEnabled = lowPowerModeEnabled;
+    if (started) {
+      // re-register the sensors with the new report latency
+      onStop();
+      onStart();
+    }
+  }
+
+  /**
+   * Returns whether the low power mode is enabled.
+   *
+   * @return true if sensor events are delivered in batches, false otherwise
+   * @since 0.9.0
+   */
+  public boolean isLowPowerModeEnabled() {
+    return lowPowerModeEnabled;
+  }
+
+  @Override
+  public void addCompassListener(@NonNull CompassListener compassListener) {
+    if (compassListeners.isEmpty()) {
+      onStart();
+    }
+    compassListeners.add(compassListener);
+  }
+
+  /**
+   * Adds a listener without registering the sensors, the engine is started by the lifecycle of its owner instead.
+   *
+   * @param compassListener the listener to add
+   */
+  void addCompassListenerWhileStopped(@NonNull CompassListener compassListener) {
+    compassListeners.add(compassListener);
+  }
+
+  @Override
+  public void removeCompassListener(@NonNull CompassListener compassListener) {
+    compassListeners.remove(compassListener);
+    if (compassListeners.isEmpty()) {
+      onStop();
+    }
+  }
+
+  @Override
+  public int getLastAccuracySensorStatus() {
+    return lastAccuracySensorStatus;
+  }
+
+  @Override
+  public float getLastHeading() {
+    return lastHeading;
+  }
+
+  @Override
+  public void onStart() {
+    if (started) {
+      return;
+    }
+    updateDisplayRotation();
+    registerDisplayRotationCallbacks();
+    if (rotationVectorSensor != null) {
+      batching = lowPowerModeEnabled && supportsBatching(rotationVectorSensor);
+      registerSensorListener(rotationVectorSensor);
+    } else {
+      batching = lowPowerModeEnabled && supportsBatching(gravitySensor) && supportsBatching(magneticFieldSensor);
+      registerSensorListener(gravitySensor);
+      registerSensorListener(magneticFieldSensor);
+    }
+    started = true;
+  }
+
+  @Override
+  public void onStop() {
+    if (!started) {
+      return;
+    }
+    started = false;
+    sensorManager.unregisterListener(this);
+    unregisterDisplayRotationCallbacks();
+    handler.removeCallbacks(batchRunnable);
+    batchPending = false;
+    // don't smooth towards a heading from before the engine was stopped
+    hasHeading = false;
+  }
+
+  @Override
+  public void onSensorChanged(SensorEvent event) {
+    if (lastAccuracySensorStatus == SensorManager.SENSOR_STATUS_UNRELIABLE) {
+      Timber.d("Compass sensor is unreliable, device calibration is needed.");
+      return;
+    }
+
+    int type = event.sensor.getType();
+    if (type == Sensor.TYPE_ROTATION_VECTOR) {
+      updateRotationVector(event.values, event.timestamp);
+    } else if (type == Sensor.TYPE_ACCELEROMETER) {
+      lowPassFilter(event.values, gravityValues, hasGravityValues);
+      hasGravityValues = true;
+      updateGravityAndMagneticField(event.timestamp);
+    } else if (type == Sensor.TYPE_MAGNETIC_FIELD) {
+      lowPassFilter(event.values, magneticValues, hasMagneticValues);
+      hasMagneticValues = true;
+      updateGravityAndMagneticField(event.timestamp);
+    }
+  }
+
+  @Override
+  public void onAccuracyChanged(Sensor sensor, int accuracy) {
+    if (lastAccuracySensorStatus != accuracy) {
+      for (CompassListener compassListener : compassListeners) {
+        compassListener.onCompassAccuracyChange(accuracy);
+      }
+      lastAccuracySensorStatus = accuracy;
+    }
+  }
+
+  @Override
+  public void onConfigurationChanged(Configuration newConfig) {
+    updateDisplayRotation();
+  }
+
+  @Override
+  public void onLowMemory() {
+    // no implementation
+  }
+
+  void updateRotationVector(float[] values, long timestampNanos) {
+    if (values.length > 4) {
+      // Only the first 4 values are needed, some Samsung devices running Android 4.3 throw an exception
+      // in SensorManager.getRotationMatrixFromVector if the rotation vector is longer (see crbug.com/335298).
+      System.arraycopy(values, 0, truncatedRotationVector, 0, 4);
+      values = truncatedRotationVector;
+    }
+    SensorManager.getRotationMatrixFromVector(rotationMatrix, values);
+    onRotationMatrixChanged(timestampNanos);
+  }
+
+  private void updateGravityAndMagneticField(long timestampNanos) {
+    if (hasGravityValues && hasMagneticValues
+      && SensorManager.getRotationMatrix(rotationMatrix, null, gravityValues, magneticValues)) {
+      onRotationMatrixChanged(timestampNanos);
+    }
+  }
+
+  private void onRotationMatrixChanged(long timestampNanos) {
+    if (!batching) {
+      updateOrientation(timestampNanos, false);
+      return;
+    }
+
+    // All events of a batch are delivered in one go, the heading is computed once after the last one.
+    batchTimestampNanos = timestampNanos;
+    if (!batchPending) {
+      batchPending = true;
+      handler.post(batchRunnable);
+    }
+  }
+
+  private void updateOrientation(long timestampNanos, boolean batched) {
+    // Remap the axes as if the device screen was the instrument panel
+    SensorManager.remapCoordinateSystem(rotationMatrix, worldAxisForDeviceAxisX,
+      worldAxisForDeviceAxisY, adjustedRotationMatrix);
+    SensorManager.getOrientation(adjustedRotationMatrix, orientation);
+    updateHeading((float) Math.toDegrees(orientation[0]), timestampNanos, batched);
+  }
+
+  void updateHeading(float heading, long timestampNanos, boolean batched) {
+    if (!hasHeading) {
+      filteredHeading = normalizeHeading(heading);
+      lastEventTimestampNanos = timestampNanos;
+      hasHeading = true;
+      dispatchHeading(timestampNanos);
+      return;
+    }
+
+    float elapsedSeconds = Math.max(0, timestampNanos - lastEventTimestampNanos) / 1E9f;
+    float alpha = elapsedSeconds / (HEADING_FILTER_TIME_CONSTANT_SECONDS + elapsedSeconds);
+    filteredHeading = filterHeading(filteredHeading, heading, alpha);
+    lastEventTimestampNanos = timestampNanos;
+
+    float headingDelta = Math.abs(shortestRotation(lastHeading, filteredHeading));
+    if (headingDelta < minHeadingDelta) {
+      return;
+    }
+
+    // dispatch faster while the device is rotating, slower while the heading is only drifting
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(timestampNanos - lastDispatchTimestampNanos);
+    float rotationRate = elapsedMillis > 0 ? headingDelta * 1000 / elapsedMillis : Float.MAX_VALUE;
+    long updateRate = rotationRate >= COMPASS_ROTATING_RATE_DEGREES_PER_SECOND
+      ? COMPASS_ROTATING_UPDATE_RATE_MS : COMPASS_UPDATE_RATE_MS;
+    if (batched || elapsedMillis >= updateRate) {
+      // batched events arrive at the report latency, which matches the slow update rate
+      dispatchIntervalMillis = batched ? COMPASS_UPDATE_RATE_MS : updateRate;
+      dispatchHeading(timestampNanos);
+    }
+  }
+
+  private void dispatchHeading(long timestampNanos) {
+    lastDispatchTimestampNanos = timestampNanos;
+    notifyCompassChangeListeners(filteredHeading);
+  }
+
+  private void registerSensorListener(Sensor sensor) {
+    if (batching && Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+      sensorManager.registerListener(this, sensor, SENSOR_DELAY_MICROS, MAX_REPORT_LATENCY_MICROS);
+    } else {
+      sensorManager.registerListener(this, sensor, SENSOR_DELAY_MICROS);
+    }
+  }
+
+  /**
+   * Observes the display to refresh the rotation, a 180 degree rotation doesn't cause a configuration change.
+   */
+  private void registerDisplayRotationCallbacks() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+      DisplayManager displayManager = (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+      if (displayManager != null) {
+        if (displayRotationListener == null) {
+          displayRotationListener = new DisplayRotationListener();
+        }
+        displayManager.registerDisplayListener(displayRotationListener, handler);
+        return;
+      }
+    }
+    context.registerComponentCallbacks(this);
+  }
+
+  private void unregisterDisplayRotationCallbacks() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+      DisplayManager displayManager = (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+      if (displayManager != null) {
+        if (displayRotationListener != null) {
+          displayManager.unregisterDisplayListener(displayRotationListener);
+        }
+        return;
+      }
+    }
+    context.unregisterComponentCallbacks(this);
+  }
+
+  private static boolean supportsBatching(@Nullable Sensor sensor) {
+    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT
+      && sensor != null && sensor.getFifoMaxEventCount() > 0;
+  }
+
+  private void notifyCompassChangeListeners(float heading) {
+    for (CompassListener compassListener : compassListeners) {
+      compassListener.onCompassChanged(heading);
+    }
+    lastHeading = heading;
+  }
+
+  /**
+   * Adjusts the rotation matrix remapping for the current device orientation.
+   */
+  private void updateDisplayRotation() {
+    switch (windowManager.getDefaultDisplay().getRotation()) {
+      case Surface.ROTATION_90:
+        worldAxisForDeviceAxisX = SensorManager.AXIS_Z;
+        worldAxisForDeviceAxisY = SensorManager.AXIS_MINUS_X;
+        break;
+      case Surface.ROTATION_180:
+        worldAxisForDeviceAxisX = SensorManager.AXIS_MINUS_X;
+        worldAxisForDeviceAxisY = SensorManager.AXIS_MINUS_Z;
+        break;
+      case Surface.ROTATION_270:
+        worldAxisForDeviceAxisX = SensorManager.AXIS_MINUS_Z;
+        worldAxisForDeviceAxisY = SensorManager.AXIS_X;
+        break;
+      case Surface.ROTATION_0:
+      default:
+        worldAxisForDeviceAxisX = SensorManager.AXIS_X;
+        worldAxisForDeviceAxisY = SensorManager.AXIS_Z;
+        break;
+    }
+  }
+
+  private static void lowPassFilter(float[] newValues, float[] smoothedValues, boolean hasPreviousValues) {
+    for (int i = 0; i < smoothedValues.length; i++) {
+      smoothedValues[i] = hasPreviousValues
+        ? smoothedValues[i] + SENSOR_VALUES_ALPHA * (newValues[i] - smoothedValues[i]) : newValues[i];
+    }
+  }
+
+  private static float shortestRotation(float from, float to) {
+    float delta = normalizeHeading(to - from);
+    return delta > 180 ? delta - 360 : delta;
+  }
+
+  /**
+   * Moves the filtered heading towards the new heading along the shortest rotation.
+   *
+   * @param filteredHeading the current filtered heading
+   * @param heading         the new heading
+   * @param alpha           the filtering coefficient, 0 keeps the filtered heading and 1 takes the new heading
+   * @return the new filtered heading, between 0 and 360
+   */
+  static float filterHeading(float filteredHeading, float heading, float alpha) {
+    return normalizeHeading(filteredHeading + alpha * shortestRotation(filteredHeading, heading));
+  }
+
+  private static float normalizeHeading(float heading) {
+    float normalized = heading % 360;
+    if (normalized < 0) {
+      normalized += 360;
+    }
+    // adding 360 to a tiny negative value can round up to 360
+    return normalized >= 360 ? 0 : normalized;
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+  class DisplayRotationListener implements DisplayManager.DisplayListener {
+
+    @Override
+    public void onDisplayAdded(int displayId) {
+      // no implementation
+    }
+
+    @Override
+    public void onDisplayRemoved(int displayId) {
+      // no implementation
+    }
+
+    @Override
+    public void onDisplayChanged(int displayId) {
+      if (displayId == windowManager.getDefaultDisplay().getDisplayId()) {
+        updateDisplayRotation();
+      }
+    }
+  }
+}
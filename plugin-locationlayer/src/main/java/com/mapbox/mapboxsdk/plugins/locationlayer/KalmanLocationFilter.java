@@ -0,0 +1,156 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+/**
+ * A {@link LocationFilter} smoothing locations with a constant velocity Kalman filter.
+ * <p>
+ * Positions are filtered independently along the north and east axis, in meters relative to the first location
+ * received. Each update is weighted by the reported accuracy of the location, so precise fixes move the filtered
+ * position more than imprecise ones. Speed and bearing are passed through as reported, the filtered accuracy is the
+ * standard deviation of the estimated position.
+ *
+ * @since 0.9.0
+ */
+public final class KalmanLocationFilter implements LocationFilter {
+
+  /**
+   * The default process noise, the expected acceleration variance in (m/s^2)^2.
+   *
+   * @since 0.9.0
+   */
+  public static final double DEFAULT_PROCESS_NOISE = 3;
+
+  private static final double METERS_PER_DEGREE = 111319.49079327357;
+  private static final float DEFAULT_ACCURACY_METERS = 10;
+
+  private final double processNoise;
+  private final Axis north = new Axis();
+  private final Axis east = new Axis();
+
+  private boolean initialized;
+  private double originLatitude;
+  private double originLongitude;
+  private double metersPerDegreeLongitude;
+  private long lastTime;
+
+  /**
+   * Create a filter using the {@link #DEFAULT_PROCESS_NOISE}.
+   *
+   * @since 0.9.0
+   */
+  public KalmanLocationFilter() {
+    this(DEFAULT_PROCESS_NOISE);
+  }
+
+  /**
+   * Create a filter.
+   *
+   * @param processNoise the expected acceleration variance in (m/s^2)^2, higher values follow changes in speed
+   *                     faster but smooth less
+   * @since 0.9.0
+   */
+  public KalmanLocationFilter(double processNoise) {
+    if (processNoise <= 0) {
+      throw new IllegalArgumentException("Process noise has to be greater than 0, was " + processNoise);
+    }
+    this.processNoise = processNoise;
+  }
+
+  @NonNull
+  @Override
+  public Location filter(@NonNull Location location) {
+    double accuracy = location.hasAccuracy() && location.getAccuracy() > 0
+      ? location.getAccuracy() : DEFAULT_ACCURACY_METERS;
+    double variance = accuracy * accuracy;
+
+    if (!initialized) {
+      initialize(location, variance);
+      return location;
+    }
+
+    double dt = (location.getTime() - lastTime) / 1000d;
+    if (dt < 0) {
+      // out of order update, keep the current estimate
+      return toLocation(location);
+    }
+    lastTime = location.getTime();
+
+    north.predict(dt, processNoise);
+    east.predict(dt, processNoise);
+    north.update((location.getLatitude() - originLatitude) * METERS_PER_DEGREE, variance);
+    east.update((location.getLongitude() - originLongitude) * metersPerDegreeLongitude, variance);
+    return toLocation(location);
+  }
+
+  @Override
+  public void reset() {
+    initialized = false;
+  }
+
+  private void initialize(Location location, double variance) {
+    originLatitude = location.getLatitude();
+    originLongitude = location.getLongitude();
+    metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(originLatitude));
+    lastTime = location.getTime();
+    north.reset(variance);
+    east.reset(variance);
+    initialized = true;
+  }
+
+  private Location toLocation(Location source) {
+    Location location = new Location(source);
+    location.setLatitude(originLatitude + north.position / METERS_PER_DEGREE);
+    if (metersPerDegreeLongitude > 0) {
+      location.setLongitude(originLongitude + east.position / metersPerDegreeLongitude);
+    }
+    location.setAccuracy((float) Math.sqrt(Math.max(north.positionVariance, east.positionVariance)));
+    return location;
+  }
+
+  /**
+   * State of a single axis, position and velocity with their covariance.
+   */
+  private static final class Axis {
+    private double position;
+    private double velocity;
+    private double positionVariance;
+    private double covariance;
+    private double velocityVariance;
+
+    void reset(double variance) {
+      position = 0;
+      velocity = 0;
+      positionVariance = variance;
+      covariance = 0;
+      // the initial velocity is unknown
+      velocityVariance = variance;
+    }
+
+    void predict(double dt, double processNoise) {
+      position += velocity * dt;
+
+      double dt2 = dt * dt;
+      double dt3 = dt2 * dt;
+      double dt4 = dt3 * dt;
+      positionVariance += 2 * dt * covariance + dt2 * velocityVariance + processNoise * dt4 / 4;
+      covariance += dt * velocityVariance + processNoise * dt3 / 2;
+      velocityVariance += processNoise * dt2;
+    }
+
+    void update(double measurement, double measurementVariance) {
+      double innovation = measurement - position;
+      double innovationVariance = positionVariance + measurementVariance;
+      double positionGain = positionVariance / innovationVariance;
+      double velocityGain = covariance / innovationVariance;
+
+      position += positionGain * innovation;
+      velocity += velocityGain * innovation;
+
+      velocityVariance -= velocityGain * covariance;
+      covariance -= positionGain * covariance;
+      positionVariance -= positionGain * positionVariance;
+    }
+  }
+}
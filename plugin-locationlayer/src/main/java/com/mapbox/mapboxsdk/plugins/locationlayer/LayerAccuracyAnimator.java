@@ -1,12 +1,10 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.ValueAnimator;
-
 import java.util.List;
 
 class LayerAccuracyAnimator extends PluginFloatAnimator<PluginAnimator.OnLayerAnimationsValuesChangeListener> {
 
-  LayerAccuracyAnimator(Float previous, Float target, List<OnLayerAnimationsValuesChangeListener> updateListeners) {
+  LayerAccuracyAnimator(float previous, float target, List<OnLayerAnimationsValuesChangeListener> updateListeners) {
     super(previous, target, updateListeners);
   }
 
@@ -16,9 +14,9 @@ class LayerAccuracyAnimator extends PluginFloatAnimator<PluginAnimator.OnLayerAn
   }
 
   @Override
-  public void onAnimationUpdate(ValueAnimator animation) {
+  void onAnimationUpdate(float animatedValue) {
     for (OnLayerAnimationsValuesChangeListener listener : updateListeners) {
-      listener.onNewAccuracyRadiusValue((Float) animation.getAnimatedValue());
+      listener.onNewAccuracyRadiusValue(animatedValue);
     }
   }
 }
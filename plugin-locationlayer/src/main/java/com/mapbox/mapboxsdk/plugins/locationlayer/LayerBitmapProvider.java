@@ -6,26 +6,84 @@ import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.DrawableRes;
 import android.support.v4.content.ContextCompat;
+import android.util.LruCache;
 
+import static com.mapbox.mapboxsdk.plugins.locationlayer.Utils.generateComposite;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.Utils.generateShadow;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.Utils.getBitmapFromDrawable;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.Utils.getDrawable;
 
+/**
+ * Generates the bitmaps of the location layer icons.
+ * <p>
+ * Generated bitmaps are cached by drawable and tint, switching render modes or re-applying a style
+ * with the same icons doesn't inflate, tint and draw the drawables again.
+ */
 class LayerBitmapProvider {
 
+  // Maximum size of the cached bitmaps in bytes
+  private static final int CACHE_SIZE_BYTES = 2 * 1024 * 1024;
+
   private final Context context;
+  private final LruCache<String, Bitmap> bitmapCache = new LruCache<String, Bitmap>(CACHE_SIZE_BYTES) {
+    @Override
+    protected int sizeOf(String key, Bitmap bitmap) {
+      return bitmap.getByteCount();
+    }
+  };
 
   LayerBitmapProvider(Context context) {
     this.context = context;
   }
 
   Bitmap generateBitmap(@DrawableRes int drawableRes, @ColorInt Integer tintColor) {
-    Drawable drawable = getDrawable(context, drawableRes, tintColor);
-    return getBitmapFromDrawable(drawable);
+    String key = "icon-" + drawableRes + "-" + tintColor;
+    Bitmap bitmap = bitmapCache.get(key);
+    if (bitmap == null) {
+      Drawable drawable = getDrawable(context, drawableRes, tintColor);
+      bitmap = getBitmapFromDrawable(drawable);
+      bitmapCache.put(key, bitmap);
+    }
+    return bitmap;
   }
 
   Bitmap generateShadowBitmap(LocationLayerOptions options) {
-    Drawable shadowDrawable = ContextCompat.getDrawable(context, R.drawable.mapbox_user_icon_shadow);
-    return generateShadow(shadowDrawable, options.elevation());
+    return generateShadowBitmap(options.elevation());
+  }
+
+  /**
+   * Draws the shadow, background and foreground into a single bitmap. The composite is cached by the same
+   * drawables, tints and elevation its layers are cached by, the layers are only generated if it isn't cached.
+   *
+   * @param backgroundDrawable  the drawable of the background
+   * @param backgroundTintColor the tint of the background, or null to keep the drawable colors
+   * @param foregroundDrawable  the drawable of the foreground
+   * @param foregroundTintColor the tint of the foreground, or null to keep the drawable colors
+   * @param shadowElevation     the elevation of the shadow, the shadow is left out if not positive
+   */
+  Bitmap generateCompositeBitmap(@DrawableRes int backgroundDrawable, @ColorInt Integer backgroundTintColor,
+                                 @DrawableRes int foregroundDrawable, @ColorInt Integer foregroundTintColor,
+                                 float shadowElevation) {
+    String key = "composite-" + backgroundDrawable + "-" + backgroundTintColor + "-" + foregroundDrawable + "-"
+      + foregroundTintColor + "-" + Math.max(0, shadowElevation);
+    Bitmap bitmap = bitmapCache.get(key);
+    if (bitmap == null) {
+      Bitmap shadow = shadowElevation > 0 ? generateShadowBitmap(shadowElevation) : null;
+      bitmap = generateComposite(shadow, generateBitmap(backgroundDrawable, backgroundTintColor),
+        generateBitmap(foregroundDrawable, foregroundTintColor));
+      bitmapCache.put(key, bitmap);
+    }
+    return bitmap;
+  }
+
+  private Bitmap generateShadowBitmap(float elevation) {
+    String key = "shadow-" + elevation;
+    Bitmap bitmap = bitmapCache.get(key);
+    if (bitmap == null) {
+      Drawable shadowDrawable = ContextCompat.getDrawable(context, R.drawable.mapbox_user_icon_shadow);
+      bitmap = generateShadow(shadowDrawable, elevation);
+      bitmapCache.put(key, bitmap);
+    }
+    return bitmap;
   }
 }
@@ -1,12 +1,10 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.ValueAnimator;
-
 import java.util.List;
 
 class LayerCompassBearingAnimator extends PluginFloatAnimator<PluginAnimator.OnLayerAnimationsValuesChangeListener> {
-  LayerCompassBearingAnimator(Float previous,
-                              Float target, List<OnLayerAnimationsValuesChangeListener> updateListeners) {
+  LayerCompassBearingAnimator(float previous,
+                              float target, List<OnLayerAnimationsValuesChangeListener> updateListeners) {
     super(previous, target, updateListeners);
   }
 
@@ -16,9 +14,9 @@ class LayerCompassBearingAnimator extends PluginFloatAnimator<PluginAnimator.OnL
   }
 
   @Override
-  public void onAnimationUpdate(ValueAnimator animation) {
+  void onAnimationUpdate(float animatedValue) {
     for (OnLayerAnimationsValuesChangeListener listener : updateListeners) {
-      listener.onNewCompassBearingValue((Float) animation.getAnimatedValue());
+      listener.onNewCompassBearingValue(animatedValue);
     }
   }
 }
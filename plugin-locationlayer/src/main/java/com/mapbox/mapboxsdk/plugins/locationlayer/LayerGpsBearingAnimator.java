@@ -1,11 +1,9 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.ValueAnimator;
-
 import java.util.List;
 
 class LayerGpsBearingAnimator extends PluginFloatAnimator<PluginAnimator.OnLayerAnimationsValuesChangeListener> {
-  LayerGpsBearingAnimator(Float previous, Float target, List<OnLayerAnimationsValuesChangeListener> updateListeners) {
+  LayerGpsBearingAnimator(float previous, float target, List<OnLayerAnimationsValuesChangeListener> updateListeners) {
     super(previous, target, updateListeners);
   }
 
@@ -15,9 +13,9 @@ class LayerGpsBearingAnimator extends PluginFloatAnimator<PluginAnimator.OnLayer
   }
 
   @Override
-  public void onAnimationUpdate(ValueAnimator animation) {
+  void onAnimationUpdate(float animatedValue) {
     for (OnLayerAnimationsValuesChangeListener listener : updateListeners) {
-      listener.onNewGpsBearingValue((Float) animation.getAnimatedValue());
+      listener.onNewGpsBearingValue(animatedValue);
     }
   }
 }
@@ -1,21 +1,32 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
 import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
 import com.mapbox.mapboxsdk.style.layers.CircleLayer;
 import com.mapbox.mapboxsdk.style.layers.Layer;
+import com.mapbox.mapboxsdk.style.layers.LineLayer;
 import com.mapbox.mapboxsdk.style.layers.Property;
+import com.mapbox.mapboxsdk.style.layers.PropertyValue;
 import com.mapbox.mapboxsdk.style.layers.SymbolLayer;
 import com.mapbox.mapboxsdk.style.sources.GeoJsonOptions;
 import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
 
+import java.util.ArrayList;
+
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.ACCURACY_LAYER;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BACKGROUND_LAYER;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BEARING_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPOSITE_ICON;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPOSITE_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPOSITE_STALE_ICON;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FLEET_ACCURACY_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FLEET_SOURCE;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FOREGROUND_LAYER;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.LOCATION_SOURCE;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_ACCURACY_ALPHA;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_ACCURACY_COLOR;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_ACCURACY_RADIUS;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_ACCURACY_RADIUS_AT_ZOOM_ZERO;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_BACKGROUND_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_BACKGROUND_STALE_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_BEARING_ICON;
@@ -28,12 +39,17 @@ import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_SHADOW_ICON_OFFSET;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.SHADOW_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.SHADOW_LAYER;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.exponential;
 import static com.mapbox.mapboxsdk.style.expressions.Expression.get;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.interpolate;
 import static com.mapbox.mapboxsdk.style.expressions.Expression.literal;
-import static com.mapbox.mapboxsdk.style.expressions.Expression.match;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.product;
 import static com.mapbox.mapboxsdk.style.expressions.Expression.stop;
 import static com.mapbox.mapboxsdk.style.expressions.Expression.switchCase;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.zoom;
 import static com.mapbox.mapboxsdk.style.layers.Property.ICON_ROTATION_ALIGNMENT_MAP;
+import static com.mapbox.mapboxsdk.style.layers.Property.LINE_CAP_ROUND;
+import static com.mapbox.mapboxsdk.style.layers.Property.LINE_JOIN_ROUND;
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.circleColor;
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.circleOpacity;
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.circlePitchAlignment;
@@ -45,10 +61,18 @@ import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.iconImage;
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.iconOffset;
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.iconRotate;
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.iconRotationAlignment;
+import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.lineCap;
+import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.lineColor;
+import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.lineJoin;
+import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.lineOpacity;
+import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.lineWidth;
 
 class LayerSourceProvider {
 
   private static final String EMPTY_STRING = "";
+  private static final int FLEET_ACCURACY_MAX_ZOOM = 22;
+  private static final float TRAIL_LINE_WIDTH = 4f;
+  private static final float TRAIL_LINE_OPACITY = 0.6f;
 
   GeoJsonSource generateSource(Feature locationFeature) {
     return new GeoJsonSource(
@@ -58,42 +82,70 @@ class LayerSourceProvider {
     );
   }
 
+  /**
+   * Generates one of the symbol layers of the location layer. Each layer only receives the expressions it
+   * needs, constant values are set as constants so the renderer doesn't evaluate them per feature.
+   */
   Layer generateLayer(String layerId) {
     SymbolLayer layer = new SymbolLayer(layerId, LOCATION_SOURCE);
     layer.setProperties(
       iconAllowOverlap(true),
       iconIgnorePlacement(true),
       iconRotationAlignment(ICON_ROTATION_ALIGNMENT_MAP),
-      iconRotate(
-        match(literal(layerId), literal(0f),
-          stop(FOREGROUND_LAYER, get(PROPERTY_GPS_BEARING)),
-          stop(BACKGROUND_LAYER, get(PROPERTY_GPS_BEARING)),
-          stop(SHADOW_LAYER, get(PROPERTY_GPS_BEARING)),
-          stop(BEARING_LAYER, get(PROPERTY_COMPASS_BEARING))
-        )
-      ),
-      iconImage(
-        match(literal(layerId), literal(EMPTY_STRING),
-          stop(FOREGROUND_LAYER, switchCase(
-            get(PROPERTY_LOCATION_STALE), get(PROPERTY_FOREGROUND_STALE_ICON),
-            get(PROPERTY_FOREGROUND_ICON))),
-          stop(BACKGROUND_LAYER, switchCase(
-            get(PROPERTY_LOCATION_STALE), get(PROPERTY_BACKGROUND_STALE_ICON),
-            get(PROPERTY_BACKGROUND_ICON))),
-          stop(SHADOW_LAYER, literal(SHADOW_ICON)),
-          stop(BEARING_LAYER, get(PROPERTY_BEARING_ICON))
-        )
-      ),
-      iconOffset(
-        match(literal(layerId), literal(new Float[] {0f, 0f}),
-          stop(literal(FOREGROUND_LAYER), get(PROPERTY_FOREGROUND_ICON_OFFSET)),
-          stop(literal(SHADOW_LAYER), get(PROPERTY_SHADOW_ICON_OFFSET))
-        )
-      )
+      generateIconRotate(layerId),
+      generateIconImage(layerId),
+      generateIconOffset(layerId)
     );
     return layer;
   }
 
+  private PropertyValue<?> generateIconRotate(String layerId) {
+    switch (layerId) {
+      case FOREGROUND_LAYER:
+      case BACKGROUND_LAYER:
+      case SHADOW_LAYER:
+      case COMPOSITE_LAYER:
+        return iconRotate(get(PROPERTY_GPS_BEARING));
+      case BEARING_LAYER:
+        return iconRotate(get(PROPERTY_COMPASS_BEARING));
+      default:
+        return iconRotate(0f);
+    }
+  }
+
+  private PropertyValue<?> generateIconImage(String layerId) {
+    switch (layerId) {
+      case FOREGROUND_LAYER:
+        return iconImage(switchCase(
+          get(PROPERTY_LOCATION_STALE), get(PROPERTY_FOREGROUND_STALE_ICON),
+          get(PROPERTY_FOREGROUND_ICON)));
+      case BACKGROUND_LAYER:
+        return iconImage(switchCase(
+          get(PROPERTY_LOCATION_STALE), get(PROPERTY_BACKGROUND_STALE_ICON),
+          get(PROPERTY_BACKGROUND_ICON)));
+      case SHADOW_LAYER:
+        return iconImage(SHADOW_ICON);
+      case COMPOSITE_LAYER:
+        return iconImage(switchCase(
+          get(PROPERTY_LOCATION_STALE), literal(COMPOSITE_STALE_ICON), literal(COMPOSITE_ICON)));
+      case BEARING_LAYER:
+        return iconImage(get(PROPERTY_BEARING_ICON));
+      default:
+        return iconImage(EMPTY_STRING);
+    }
+  }
+
+  private PropertyValue<?> generateIconOffset(String layerId) {
+    switch (layerId) {
+      case FOREGROUND_LAYER:
+        return iconOffset(get(PROPERTY_FOREGROUND_ICON_OFFSET));
+      case SHADOW_LAYER:
+        return iconOffset(get(PROPERTY_SHADOW_ICON_OFFSET));
+      default:
+        return iconOffset(new Float[] {0f, 0f});
+    }
+  }
+
   Layer generateAccuracyLayer() {
     return new CircleLayer(ACCURACY_LAYER, LOCATION_SOURCE)
       .withProperties(
@@ -104,4 +156,60 @@ class LayerSourceProvider {
         circlePitchAlignment(Property.CIRCLE_PITCH_ALIGNMENT_MAP)
       );
   }
+
+  GeoJsonSource generateFleetSource() {
+    return new GeoJsonSource(
+      FLEET_SOURCE,
+      FeatureCollection.fromFeatures(new ArrayList<Feature>()),
+      new GeoJsonOptions().withMaxZoom(16)
+    );
+  }
+
+  /**
+   * Generates a symbol layer of the fleet. The icons are shared by all entities, so the image names are
+   * constants and only the bearing and stale state are read from the features.
+   */
+  Layer generateFleetLayer(String layerId, String iconName, String staleIconName) {
+    SymbolLayer layer = new SymbolLayer(layerId, FLEET_SOURCE);
+    layer.setProperties(
+      iconAllowOverlap(true),
+      iconIgnorePlacement(true),
+      iconRotationAlignment(ICON_ROTATION_ALIGNMENT_MAP),
+      iconRotate(get(PROPERTY_GPS_BEARING)),
+      iconImage(switchCase(get(PROPERTY_LOCATION_STALE), literal(staleIconName), literal(iconName)))
+    );
+    return layer;
+  }
+
+  /**
+   * Generates the accuracy layer of the fleet. Features carry their radius in pixels at zoom level 0, scaling it
+   * with the zoom in the expression means the source doesn't need to be updated when the camera zooms.
+   */
+  Layer generateFleetAccuracyLayer(float accuracyAlpha, int accuracyColor) {
+    return new CircleLayer(FLEET_ACCURACY_LAYER, FLEET_SOURCE)
+      .withProperties(
+        circleRadius(interpolate(exponential(2), zoom(),
+          stop(0, get(PROPERTY_ACCURACY_RADIUS_AT_ZOOM_ZERO)),
+          stop(FLEET_ACCURACY_MAX_ZOOM,
+            product(get(PROPERTY_ACCURACY_RADIUS_AT_ZOOM_ZERO), literal(1 << FLEET_ACCURACY_MAX_ZOOM))))),
+        circleColor(accuracyColor),
+        circleOpacity(switchCase(get(PROPERTY_LOCATION_STALE), literal(0f), literal(accuracyAlpha))),
+        circleStrokeColor(accuracyColor),
+        circlePitchAlignment(Property.CIRCLE_PITCH_ALIGNMENT_MAP)
+      );
+  }
+
+  GeoJsonSource generateTrailSource(String sourceId) {
+    return new GeoJsonSource(sourceId);
+  }
+
+  Layer generateTrailLayer(String layerId, String sourceId, int color) {
+    return new LineLayer(layerId, sourceId).withProperties(
+      lineColor(color),
+      lineWidth(TRAIL_LINE_WIDTH),
+      lineOpacity(TRAIL_LINE_OPACITY),
+      lineCap(LINE_CAP_ROUND),
+      lineJoin(LINE_JOIN_ROUND)
+    );
+  }
 }
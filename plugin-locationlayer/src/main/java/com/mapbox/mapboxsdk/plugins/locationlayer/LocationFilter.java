@@ -0,0 +1,33 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+/**
+ * Interface defining a stage that processes the locations provided by the {@link com.mapbox.android.core.location
+ * .LocationEngine} before they are animated by the {@link LocationLayerPlugin}.
+ * <p>
+ * Filters can be used to smooth out jitter of raw GPS fixes, see {@link KalmanLocationFilter}, or to snap them to
+ * a route, see {@link RouteSnappingLocationFilter}.
+ *
+ * @since 0.9.0
+ */
+public interface LocationFilter {
+
+  /**
+   * Processes a new location update.
+   *
+   * @param location the raw location provided by the location engine
+   * @return the location that should be displayed
+   * @since 0.9.0
+   */
+  @NonNull
+  Location filter(@NonNull Location location);
+
+  /**
+   * Resets the state of the filter, invoked when the filter is set on the plugin or the location engine changes.
+   *
+   * @since 0.9.0
+   */
+  void reset();
+}
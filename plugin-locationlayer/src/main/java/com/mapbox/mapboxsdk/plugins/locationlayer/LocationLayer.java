@@ -17,8 +17,10 @@ import com.mapbox.mapboxsdk.style.layers.Layer;
 import com.mapbox.mapboxsdk.style.layers.SymbolLayer;
 import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.ACCURACY_LAYER;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BACKGROUND_ICON;
@@ -26,10 +28,12 @@ import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BACKGROUND_STALE_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BEARING_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BEARING_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPOSITE_ICON;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPOSITE_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPOSITE_STALE_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FOREGROUND_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FOREGROUND_LAYER;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FOREGROUND_STALE_ICON;
-import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.LOCATION_SOURCE;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_ACCURACY_ALPHA;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_ACCURACY_COLOR;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_ACCURACY_RADIUS;
@@ -55,7 +59,19 @@ import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.colorToRgbaStrin
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.iconSize;
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.visibility;
 
-final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChangeListener {
+/**
+ * Renders the user location with a GeoJSON source and its symbol and circle layers.
+ * <p>
+ * With {@link LocationLayerOptions#compositeIcons()} the shadow, background and foreground are drawn into a single
+ * icon per stale state, the location is then rendered by one symbol layer instead of three. The bearing layer is
+ * kept separately since it rotates with the compass bearing. The added layers and their visibility are tracked
+ * here, changing the visibility doesn't look up the layers in the style.
+ * <p>
+ * With {@link LocationLayerOptions#lazyInitialization()} the source, layers and icons are only added once the
+ * location is shown for the first time.
+ */
+final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChangeListener,
+  FrameScheduler.OnFrameListener {
 
   @RenderMode.Mode
   private int renderMode;
@@ -63,13 +79,20 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
   private final MapboxMap mapboxMap;
   private final LayerSourceProvider layerSourceProvider;
   private final LayerBitmapProvider bitmapProvider;
+  private final FrameScheduler frameScheduler;
   private LocationLayerOptions options;
 
-  private final List<String> layerMap = new ArrayList<>();
+  private final Map<String, Layer> layerMap = new LinkedHashMap<>();
+  private final Map<String, Boolean> layerVisibility = new HashMap<>();
+  private final Map<String, Bitmap> addedImages = new HashMap<>();
   private Feature locationFeature;
   private GeoJsonSource locationSource;
 
   private boolean isHidden = true;
+  private boolean compositeIcons;
+  private boolean componentsDeferred;
+  private boolean sourceDirty;
+  private int sourceUpdateCount;
 
   LocationLayer(MapboxMap mapboxMap, LayerSourceProvider layerSourceProvider,
                 LayerFeatureProvider featureProvider, LayerBitmapProvider bitmapProvider,
@@ -77,15 +100,27 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
     this.mapboxMap = mapboxMap;
     this.layerSourceProvider = layerSourceProvider;
     this.bitmapProvider = bitmapProvider;
+    this.frameScheduler = FrameScheduler.create(this);
     this.locationFeature = featureProvider.generateLocationFeature(locationFeature, options);
+    this.componentsDeferred = options.lazyInitialization();
     initializeComponents(options);
     setRenderMode(RenderMode.NORMAL);
   }
 
   void initializeComponents(LocationLayerOptions options) {
+    if (componentsDeferred) {
+      this.options = options;
+      return;
+    }
+    // images and layers are removed with the style
+    addedImages.clear();
+    layerMap.clear();
+    layerVisibility.clear();
+    compositeIcons = options.compositeIcons();
     addLocationSource();
     addLayers(options.layerBelow());
     applyStyle(options);
+    refreshSource();
 
     if (isHidden) {
       hide();
@@ -96,6 +131,16 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
 
   void applyStyle(@NonNull LocationLayerOptions options) {
     this.options = options;
+    if (componentsDeferred) {
+      return;
+    }
+    // without layers the style is still loading, the matching layers are added once it has loaded
+    boolean layersChanged = options.compositeIcons() != compositeIcons && !layerMap.isEmpty();
+    compositeIcons = options.compositeIcons();
+    if (layersChanged) {
+      removeLayers();
+      addLayers(options.layerBelow());
+    }
 
     float elevation = options.elevation();
     // Only add icon elevation if the values greater than 0.
@@ -105,9 +150,18 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
     styleForeground(options);
     styleBackground(options);
     styleBearing(options);
+    styleComposite(options);
     styleAccuracy(options.accuracyAlpha(), options.accuracyColor());
     styleScaling(options);
     determineIconsSource(options);
+
+    if (layersChanged) {
+      if (isHidden) {
+        hide();
+      } else {
+        show();
+      }
+    }
   }
 
   void setRenderMode(@RenderMode.Mode int renderMode) {
@@ -118,6 +172,8 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
       switch (renderMode) {
         case RenderMode.NORMAL:
           styleForeground(options);
+          styleComposite(options);
+          setLayerVisibility(COMPOSITE_LAYER, true);
           setLayerVisibility(SHADOW_LAYER, true);
           setLayerVisibility(FOREGROUND_LAYER, true);
           setLayerVisibility(BACKGROUND_LAYER, true);
@@ -126,6 +182,8 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
           break;
         case RenderMode.COMPASS:
           styleForeground(options);
+          styleComposite(options);
+          setLayerVisibility(COMPOSITE_LAYER, true);
           setLayerVisibility(SHADOW_LAYER, true);
           setLayerVisibility(FOREGROUND_LAYER, true);
           setLayerVisibility(BACKGROUND_LAYER, true);
@@ -134,6 +192,8 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
           break;
         case RenderMode.GPS:
           styleForeground(options);
+          styleComposite(options);
+          setLayerVisibility(COMPOSITE_LAYER, true);
           setLayerVisibility(SHADOW_LAYER, false);
           setLayerVisibility(FOREGROUND_LAYER, true);
           setLayerVisibility(BACKGROUND_LAYER, true);
@@ -158,12 +218,18 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
 
   void show() {
     isHidden = false;
+    if (componentsDeferred) {
+      // the components are added in the shown state
+      componentsDeferred = false;
+      initializeComponents(options);
+      return;
+    }
     setRenderMode(renderMode);
   }
 
   void hide() {
     isHidden = true;
-    for (String layerId : layerMap) {
+    for (String layerId : layerMap.keySet()) {
       setLayerVisibility(layerId, false);
     }
   }
@@ -172,7 +238,25 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
     return isHidden;
   }
 
+  /**
+   * @return true while the source and layers aren't added yet because of lazy initialization
+   */
+  boolean isComponentsDeferred() {
+    return componentsDeferred;
+  }
+
+  /**
+   * @return the number of times the location source was pushed to the map
+   */
+  int getSourceUpdateCount() {
+    return sourceUpdateCount;
+  }
+
   void updateForegroundOffset(double tilt) {
+    if (compositeIcons) {
+      // the composited icon has no separate shadow to shift against the foreground
+      return;
+    }
     JsonArray foregroundJsonArray = new JsonArray();
     foregroundJsonArray.add(0f);
     foregroundJsonArray.add((float) (-0.05 * tilt));
@@ -183,31 +267,47 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
     backgroundJsonArray.add((float) (0.05 * tilt));
     locationFeature.addProperty(PROPERTY_SHADOW_ICON_OFFSET, backgroundJsonArray);
 
-    refreshSource();
+    requestSourceRefresh();
   }
 
   void updateForegroundBearing(float bearing) {
     if (renderMode != RenderMode.GPS) {
       setBearingProperty(PROPERTY_GPS_BEARING, bearing);
+      requestSourceRefresh();
     }
   }
 
   private void setLayerVisibility(String layerId, boolean visible) {
-    Layer layer = mapboxMap.getLayer(layerId);
-    if (layer != null) {
-      String targetVisibility = visible ? VISIBLE : NONE;
-      if (!layer.getVisibility().value.equals(targetVisibility)) {
-        layer.setProperties(visibility(visible ? VISIBLE : NONE));
-      }
+    Layer layer = layerMap.get(layerId);
+    if (layer == null) {
+      return;
+    }
+    Boolean currentVisibility = layerVisibility.get(layerId);
+    if (currentVisibility == null || currentVisibility != visible) {
+      layer.setProperties(visibility(visible ? VISIBLE : NONE));
+      layerVisibility.put(layerId, visible);
     }
   }
 
   private void addLayers(String idBelowLayer) {
     addSymbolLayer(BEARING_LAYER, idBelowLayer);
-    addSymbolLayer(FOREGROUND_LAYER, BEARING_LAYER);
-    addSymbolLayer(BACKGROUND_LAYER, FOREGROUND_LAYER);
-    addSymbolLayer(SHADOW_LAYER, BACKGROUND_LAYER);
-    addAccuracyLayer();
+    if (compositeIcons) {
+      addSymbolLayer(COMPOSITE_LAYER, BEARING_LAYER);
+      addAccuracyLayer(COMPOSITE_LAYER);
+    } else {
+      addSymbolLayer(FOREGROUND_LAYER, BEARING_LAYER);
+      addSymbolLayer(BACKGROUND_LAYER, FOREGROUND_LAYER);
+      addSymbolLayer(SHADOW_LAYER, BACKGROUND_LAYER);
+      addAccuracyLayer(BACKGROUND_LAYER);
+    }
+  }
+
+  private void removeLayers() {
+    for (String layerId : layerMap.keySet()) {
+      mapboxMap.removeLayer(layerId);
+    }
+    layerMap.clear();
+    layerVisibility.clear();
   }
 
   private void addSymbolLayer(String layerId, String beforeLayerId) {
@@ -215,25 +315,25 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
     addLayerToMap(layer, beforeLayerId);
   }
 
-  private void addAccuracyLayer() {
+  private void addAccuracyLayer(String beforeLayerId) {
     Layer accuracyLayer = layerSourceProvider.generateAccuracyLayer();
-    addLayerToMap(accuracyLayer, BACKGROUND_LAYER);
+    addLayerToMap(accuracyLayer, beforeLayerId);
   }
 
   private void addLayerToMap(Layer layer, @NonNull String idBelowLayer) {
     mapboxMap.addLayerBelow(layer, idBelowLayer);
-    layerMap.add(layer.getId());
+    layerMap.put(layer.getId(), layer);
   }
 
   private void setBearingProperty(String propertyId, float bearing) {
     locationFeature.addNumberProperty(propertyId, bearing);
-    refreshSource();
+    sourceDirty = true;
   }
 
   private void updateAccuracyRadius(float accuracy) {
     if (renderMode == RenderMode.COMPASS || renderMode == RenderMode.NORMAL) {
       locationFeature.addNumberProperty(PROPERTY_ACCURACY_RADIUS, accuracy);
-      refreshSource();
+      sourceDirty = true;
     }
   }
 
@@ -246,10 +346,31 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
     mapboxMap.addSource(locationSource);
   }
 
+  /**
+   * Drops the cached source and layer references, they are removed from the map together with the old style
+   * and new ones are added once the new style has loaded.
+   */
+  void invalidateSource() {
+    locationSource = null;
+    layerMap.clear();
+    layerVisibility.clear();
+    sourceDirty = false;
+    frameScheduler.cancelFrame();
+  }
+
+  /**
+   * Marks the source as dirty, all changes made until the next frame are pushed with a single update.
+   */
+  private void requestSourceRefresh() {
+    sourceDirty = true;
+    frameScheduler.scheduleFrame();
+  }
+
   private void refreshSource() {
-    GeoJsonSource source = mapboxMap.getSourceAs(LOCATION_SOURCE);
-    if (source != null) {
+    sourceDirty = false;
+    if (locationSource != null) {
       locationSource.setGeoJson(locationFeature);
+      sourceUpdateCount++;
     }
   }
 
@@ -257,7 +378,7 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
     JsonObject properties = locationFeature.properties();
     if (properties != null) {
       locationFeature = Feature.fromGeometry(locationPoint, properties);
-      refreshSource();
+      sourceDirty = true;
     }
   }
 
@@ -272,32 +393,28 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
     Bitmap backgroundStaleBitmap = bitmapProvider.generateBitmap(
       options.backgroundDrawableStale(), options.backgroundStaleTintColor()
     );
-    mapboxMap.addImage(BACKGROUND_ICON, backgroundBitmap);
-    mapboxMap.addImage(BACKGROUND_STALE_ICON, backgroundStaleBitmap);
+    addImage(BACKGROUND_ICON, backgroundBitmap);
+    addImage(BACKGROUND_STALE_ICON, backgroundStaleBitmap);
   }
 
   private void styleShadow(LocationLayerOptions options) {
-    mapboxMap.addImage(SHADOW_ICON, bitmapProvider.generateShadowBitmap(options));
+    addImage(SHADOW_ICON, bitmapProvider.generateShadowBitmap(options));
   }
 
   private void styleBearing(LocationLayerOptions options) {
     Bitmap bearingBitmap = bitmapProvider.generateBitmap(options.bearingDrawable(), options.bearingTintColor());
-    mapboxMap.addImage(BEARING_ICON, bearingBitmap);
+    addImage(BEARING_ICON, bearingBitmap);
   }
 
   private void styleAccuracy(float accuracyAlpha, @ColorInt int accuracyColor) {
     locationFeature.addNumberProperty(PROPERTY_ACCURACY_ALPHA, accuracyAlpha);
     locationFeature.addStringProperty(PROPERTY_ACCURACY_COLOR, colorToRgbaString(accuracyColor));
-    refreshSource();
+    requestSourceRefresh();
   }
 
   private void styleForeground(LocationLayerOptions options) {
-    Bitmap foregroundBitmap = bitmapProvider.generateBitmap(
-      options.foregroundDrawable(), options.foregroundTintColor()
-    );
-    Bitmap foregroundBitmapStale = bitmapProvider.generateBitmap(
-      options.foregroundDrawableStale(), options.foregroundStaleTintColor()
-    );
+    Bitmap foregroundBitmap;
+    Bitmap foregroundBitmapStale;
     if (renderMode == RenderMode.GPS) {
       foregroundBitmap = bitmapProvider.generateBitmap(
         options.gpsDrawable(), options.foregroundTintColor()
@@ -305,15 +422,55 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
       foregroundBitmapStale = bitmapProvider.generateBitmap(
         options.gpsDrawable(), options.foregroundStaleTintColor()
       );
+    } else {
+      foregroundBitmap = bitmapProvider.generateBitmap(
+        options.foregroundDrawable(), options.foregroundTintColor()
+      );
+      foregroundBitmapStale = bitmapProvider.generateBitmap(
+        options.foregroundDrawableStale(), options.foregroundStaleTintColor()
+      );
     }
-    mapboxMap.addImage(FOREGROUND_ICON, foregroundBitmap);
-    mapboxMap.addImage(FOREGROUND_STALE_ICON, foregroundBitmapStale);
+    addImage(FOREGROUND_ICON, foregroundBitmap);
+    addImage(FOREGROUND_STALE_ICON, foregroundBitmapStale);
+  }
+
+  /**
+   * Adds the composited icons for the current render mode, the shadow is left out in {@link RenderMode#GPS}.
+   */
+  private void styleComposite(LocationLayerOptions options) {
+    if (!compositeIcons) {
+      return;
+    }
+    boolean isGps = renderMode == RenderMode.GPS;
+    float shadowElevation = isGps ? 0 : options.elevation();
+    Bitmap compositeBitmap = bitmapProvider.generateCompositeBitmap(
+      options.backgroundDrawable(), options.backgroundTintColor(),
+      isGps ? options.gpsDrawable() : options.foregroundDrawable(), options.foregroundTintColor(),
+      shadowElevation
+    );
+    Bitmap compositeBitmapStale = bitmapProvider.generateCompositeBitmap(
+      options.backgroundDrawableStale(), options.backgroundStaleTintColor(),
+      isGps ? options.gpsDrawable() : options.foregroundDrawableStale(), options.foregroundStaleTintColor(),
+      shadowElevation
+    );
+    addImage(COMPOSITE_ICON, compositeBitmap);
+    addImage(COMPOSITE_STALE_ICON, compositeBitmapStale);
+  }
+
+  /**
+   * Adds the image to the map unless the same bitmap is already registered with the name.
+   */
+  private void addImage(String name, Bitmap bitmap) {
+    if (addedImages.containsKey(name) && addedImages.get(name) == bitmap) {
+      return;
+    }
+    mapboxMap.addImage(name, bitmap);
+    addedImages.put(name, bitmap);
   }
 
   private void styleScaling(LocationLayerOptions options) {
-    for (String layerId : layerMap) {
-      Layer layer = mapboxMap.getLayer(layerId);
-      if (layer != null && layer instanceof SymbolLayer) {
+    for (Layer layer : layerMap.values()) {
+      if (layer instanceof SymbolLayer) {
         layer.setProperties(
           iconSize(
             interpolate(linear(), zoom(),
@@ -339,7 +496,7 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
     locationFeature.addStringProperty(PROPERTY_FOREGROUND_STALE_ICON, foregroundStaleIconString);
     locationFeature.addStringProperty(PROPERTY_BACKGROUND_STALE_ICON, backgroundStaleIconString);
     locationFeature.addStringProperty(PROPERTY_BEARING_ICON, bearingIconString);
-    refreshSource();
+    requestSourceRefresh();
   }
 
   private String buildIconString(@Nullable String bitmapName, @NonNull String drawableName) {
@@ -355,7 +512,7 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
       return;
     }
     locationFeature.addBooleanProperty(PROPERTY_LOCATION_STALE, isStale);
-    refreshSource();
+    requestSourceRefresh();
     if (renderMode != RenderMode.GPS) {
       setLayerVisibility(ACCURACY_LAYER, !isStale);
     }
@@ -366,12 +523,23 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
   //
 
   boolean onMapClick(LatLng point) {
+    if (layerMap.isEmpty()) {
+      return false;
+    }
     PointF screenLoc = mapboxMap.getProjection().toScreenLocation(point);
-    List<Feature> features = mapboxMap.queryRenderedFeatures(screenLoc,
-      BACKGROUND_LAYER,
-      FOREGROUND_LAYER,
-      BEARING_LAYER
-    );
+    List<Feature> features;
+    if (compositeIcons) {
+      features = mapboxMap.queryRenderedFeatures(screenLoc,
+        COMPOSITE_LAYER,
+        BEARING_LAYER
+      );
+    } else {
+      features = mapboxMap.queryRenderedFeatures(screenLoc,
+        BACKGROUND_LAYER,
+        FOREGROUND_LAYER,
+        BEARING_LAYER
+      );
+    }
     return !features.isEmpty();
   }
 
@@ -399,4 +567,20 @@ final class LocationLayer implements PluginAnimator.OnLayerAnimationsValuesChang
   public void onNewAccuracyRadiusValue(float accuracyRadiusValue) {
     updateAccuracyRadius(accuracyRadiusValue);
   }
+
+  @Override
+  public void onAnimationFrameEnd() {
+    // all of the values of an animation frame are pushed to the map with a single source update
+    frameScheduler.cancelFrame();
+    if (sourceDirty) {
+      refreshSource();
+    }
+  }
+
+  @Override
+  public void onFrame(long frameTimeMillis) {
+    if (sourceDirty) {
+      refreshSource();
+    }
+  }
 }
\ No newline at end of file
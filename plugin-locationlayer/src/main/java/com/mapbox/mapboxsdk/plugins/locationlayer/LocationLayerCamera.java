@@ -2,12 +2,14 @@ package com.mapbox.mapboxsdk.plugins.locationlayer;
 
 import android.content.Context;
 import android.graphics.PointF;
+import android.os.SystemClock;
 import android.support.annotation.VisibleForTesting;
 import android.view.MotionEvent;
 
 import com.mapbox.android.gestures.AndroidGesturesManager;
 import com.mapbox.android.gestures.MoveGestureDetector;
 import com.mapbox.android.gestures.RotateGestureDetector;
+import com.mapbox.mapboxsdk.camera.CameraPosition;
 import com.mapbox.mapboxsdk.camera.CameraUpdateFactory;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
@@ -26,16 +28,29 @@ final class LocationLayerCamera implements PluginAnimator.OnCameraAnimationsValu
   private LocationLayerOptions options;
   private boolean adjustFocalPoint;
 
+  private LatLng pendingLatLng;
+  private boolean bearingPending;
+  private float pendingBearing;
+  private boolean zoomPending;
+  private float pendingZoom;
+  private boolean tiltPending;
+  private float pendingTilt;
+
   private final MoveGestureDetector moveGestureDetector;
   private final OnCameraMoveInvalidateListener onCameraMoveInvalidateListener;
+  private final TrackingMetricsRecorder trackingMetricsRecorder;
+  @TrackingMetrics.DismissalCause
+  private int dismissalCause = TrackingMetrics.DISMISSAL_CAMERA_MODE_CHANGE;
 
   LocationLayerCamera(
     Context context,
     MapboxMap mapboxMap,
     OnCameraTrackingChangedListener internalCameraTrackingChangedListener,
     LocationLayerOptions options,
-    OnCameraMoveInvalidateListener onCameraMoveInvalidateListener) {
+    OnCameraMoveInvalidateListener onCameraMoveInvalidateListener,
+    TrackingMetricsRecorder trackingMetricsRecorder) {
     this.mapboxMap = mapboxMap;
+    this.trackingMetricsRecorder = trackingMetricsRecorder;
     mapboxMap.setGesturesManager(
       new PluginsGesturesManager(context), true, true);
     moveGestureDetector = mapboxMap.getGesturesManager().getMoveGestureDetector();
@@ -53,10 +68,21 @@ final class LocationLayerCamera implements PluginAnimator.OnCameraAnimationsValu
                       MoveGestureDetector moveGestureDetector,
                       OnCameraTrackingChangedListener internalCameraTrackingChangedListener,
                       OnCameraMoveInvalidateListener onCameraMoveInvalidateListener) {
+    this(mapboxMap, moveGestureDetector, internalCameraTrackingChangedListener, onCameraMoveInvalidateListener,
+      new TrackingMetricsRecorder(null));
+  }
+
+  // Package private for testing purposes
+  LocationLayerCamera(MapboxMap mapboxMap,
+                      MoveGestureDetector moveGestureDetector,
+                      OnCameraTrackingChangedListener internalCameraTrackingChangedListener,
+                      OnCameraMoveInvalidateListener onCameraMoveInvalidateListener,
+                      TrackingMetricsRecorder trackingMetricsRecorder) {
     this.mapboxMap = mapboxMap;
     this.moveGestureDetector = moveGestureDetector;
     this.internalCameraTrackingChangedListener = internalCameraTrackingChangedListener;
     this.onCameraMoveInvalidateListener = onCameraMoveInvalidateListener;
+    this.trackingMetricsRecorder = trackingMetricsRecorder;
   }
 
   void initializeOptions(LocationLayerOptions options) {
@@ -66,33 +92,51 @@ final class LocationLayerCamera implements PluginAnimator.OnCameraAnimationsValu
   void setCameraMode(@CameraMode.Mode int cameraMode) {
     final boolean wasTracking = isLocationTracking();
     this.cameraMode = cameraMode;
+    clearPendingValues();
     mapboxMap.cancelTransitions();
     adjustGesturesThresholds();
+    recordTrackingChange(wasTracking);
     notifyCameraTrackingChangeListener(wasTracking);
   }
 
+  /**
+   * Dismisses location tracking because of a gesture, the cause is recorded with the tracking metrics.
+   */
+  private void dismissTracking(@TrackingMetrics.DismissalCause int cause) {
+    dismissalCause = cause;
+    setCameraMode(CameraMode.NONE);
+  }
+
+  private void recordTrackingChange(boolean wasTracking) {
+    if (!wasTracking && isLocationTracking()) {
+      trackingMetricsRecorder.onTrackingStarted(SystemClock.uptimeMillis());
+    } else if (wasTracking && !isLocationTracking()) {
+      trackingMetricsRecorder.onTrackingDismissed(dismissalCause, SystemClock.uptimeMillis());
+    }
+    dismissalCause = TrackingMetrics.DISMISSAL_CAMERA_MODE_CHANGE;
+  }
+
   int getCameraMode() {
     return cameraMode;
   }
 
   private void setBearing(float bearing) {
-    mapboxMap.moveCamera(CameraUpdateFactory.bearingTo(bearing));
-    onCameraMoveInvalidateListener.onInvalidateCameraMove();
+    pendingBearing = bearing;
+    bearingPending = true;
   }
 
   private void setLatLng(LatLng latLng) {
-    mapboxMap.moveCamera(CameraUpdateFactory.newLatLng(latLng));
-    onCameraMoveInvalidateListener.onInvalidateCameraMove();
+    pendingLatLng = latLng;
   }
 
   private void setZoom(float zoom) {
-    mapboxMap.moveCamera(CameraUpdateFactory.zoomTo(zoom));
-    onCameraMoveInvalidateListener.onInvalidateCameraMove();
+    pendingZoom = zoom;
+    zoomPending = true;
   }
 
   private void setTilt(float tilt) {
-    mapboxMap.moveCamera(CameraUpdateFactory.tiltTo(tilt));
-    onCameraMoveInvalidateListener.onInvalidateCameraMove();
+    pendingTilt = tilt;
+    tiltPending = true;
   }
 
   @Override
@@ -102,12 +146,6 @@ final class LocationLayerCamera implements PluginAnimator.OnCameraAnimationsValu
       || cameraMode == CameraMode.TRACKING_GPS
       || cameraMode == CameraMode.TRACKING_GPS_NORTH) {
       setLatLng(latLng);
-
-      if (adjustFocalPoint) {
-        PointF focalPoint = mapboxMap.getProjection().toScreenLocation(latLng);
-        mapboxMap.getUiSettings().setFocalPoint(focalPoint);
-        adjustFocalPoint = false;
-      }
     }
   }
 
@@ -141,6 +179,55 @@ final class LocationLayerCamera implements PluginAnimator.OnCameraAnimationsValu
     setTilt(tilt);
   }
 
+  /**
+   * Applies all of the camera values accumulated during an animation frame with a single camera update,
+   * listeners depending on the camera position are invalidated once per frame.
+   */
+  @Override
+  public void onAnimationFrameEnd() {
+    if (pendingLatLng == null && !bearingPending && !zoomPending && !tiltPending) {
+      return;
+    }
+
+    LatLng target = pendingLatLng;
+    mapboxMap.moveCamera(CameraUpdateFactory.newCameraPosition(buildPendingCameraPosition()));
+    clearPendingValues();
+
+    // the focal point has to be calculated once the camera is at the new target
+    if (target != null && adjustFocalPoint) {
+      PointF focalPoint = mapboxMap.getProjection().toScreenLocation(target);
+      mapboxMap.getUiSettings().setFocalPoint(focalPoint);
+      adjustFocalPoint = false;
+    }
+
+    onCameraMoveInvalidateListener.onInvalidateCameraMove();
+  }
+
+  private CameraPosition buildPendingCameraPosition() {
+    // unset values of the builder keep the current camera value
+    CameraPosition.Builder builder = new CameraPosition.Builder();
+    if (pendingLatLng != null) {
+      builder.target(pendingLatLng);
+    }
+    if (bearingPending) {
+      builder.bearing(pendingBearing);
+    }
+    if (zoomPending) {
+      builder.zoom(pendingZoom);
+    }
+    if (tiltPending) {
+      builder.tilt(pendingTilt);
+    }
+    return builder.build();
+  }
+
+  private void clearPendingValues() {
+    pendingLatLng = null;
+    bearingPending = false;
+    zoomPending = false;
+    tiltPending = false;
+  }
+
   private void adjustGesturesThresholds() {
     if (isLocationTracking()) {
       adjustFocalPoint = true;
@@ -195,7 +282,7 @@ final class LocationLayerCamera implements PluginAnimator.OnCameraAnimationsValu
       }
 
       if (isBearingTracking() || isLocationTracking()) {
-        setCameraMode(CameraMode.NONE);
+        dismissTracking(TrackingMetrics.DISMISSAL_MOVE);
         detector.interrupt();
       }
     }
@@ -213,7 +300,7 @@ final class LocationLayerCamera implements PluginAnimator.OnCameraAnimationsValu
     @Override
     public void onRotateBegin(RotateGestureDetector detector) {
       if (isBearingTracking()) {
-        setCameraMode(CameraMode.NONE);
+        dismissTracking(TrackingMetrics.DISMISSAL_ROTATE);
       }
     }
 
@@ -231,7 +318,7 @@ final class LocationLayerCamera implements PluginAnimator.OnCameraAnimationsValu
   private MapboxMap.OnFlingListener onFlingListener = new MapboxMap.OnFlingListener() {
     @Override
     public void onFling() {
-      setCameraMode(CameraMode.NONE);
+      dismissTracking(TrackingMetrics.DISMISSAL_FLING);
     }
   };
 
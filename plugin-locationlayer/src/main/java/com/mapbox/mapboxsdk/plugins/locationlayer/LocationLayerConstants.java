@@ -10,12 +10,30 @@ final class LocationLayerConstants {
   // Controls the compass update rate in milliseconds
   static final int COMPASS_UPDATE_RATE_MS = 500;
 
+  // Controls the compass update rate in milliseconds while the device is rotating
+  static final int COMPASS_ROTATING_UPDATE_RATE_MS = 100;
+
+  // Rotation rate in degrees per second above which the device is considered to be rotating
+  static final float COMPASS_ROTATING_RATE_DEGREES_PER_SECOND = 20;
+
+  // Default minimum heading change in degrees before compass listeners are notified
+  static final float DEFAULT_COMPASS_MIN_HEADING_DELTA = 1;
+
   // Sets the transition animation duration when switching camera modes.
   static final long TRANSITION_ANIMATION_DURATION_MS = 750;
 
   // Sets the max allowed time for the location icon animation from one LatLng to another.
   static final long MAX_ANIMATION_DURATION_MS = 2000;
 
+  // Minimum speed in meters per second for a location to be extrapolated between updates.
+  static final float EXTRAPOLATION_MIN_SPEED_MPS = 0.5f;
+
+  // Frames moving the location less than this distance in pixels are skipped with adaptive animations.
+  static final float ADAPTIVE_MIN_FRAME_PIXEL_DELTA = 0.5f;
+
+  // Frames rotating the location less than this angle in degrees are skipped with adaptive animations.
+  static final float ADAPTIVE_MIN_FRAME_BEARING_DELTA = 0.1f;
+
   // Sets the duration of change of accuracy radius when a different value is provided.
   static final long ACCURACY_RADIUS_ANIMATION_DURATION = 250;
 
@@ -25,8 +43,35 @@ final class LocationLayerConstants {
   // Default animation duration for tilting while tracking.
   static final long DEFAULT_TRACKING_TILT_ANIMATION_DURATION = 1250;
 
+  // Default time span of the location trail.
+  static final long DEFAULT_TRAIL_DURATION_MS = 5 * 60 * 1000;
+
+  // Maximum number of points kept in the location trail.
+  static final int TRAIL_CAPACITY = 4096;
+
+  // Number of points collected in the trail tail before they are committed to the trail source.
+  static final int TRAIL_TAIL_SIZE = 32;
+
+  // Fixes closer than this distance in meters to the last trail point are not added to the trail.
+  static final double TRAIL_MIN_POINT_DISTANCE_METERS = 1;
+
+  // Trail points deviating less than this distance in meters from a straight line are simplified away.
+  static final double TRAIL_SIMPLIFICATION_TOLERANCE_METERS = 2;
+
+  // Granularity in milliseconds of the stale state deadlines, entities expiring within one interval share a check.
+  static final long STALE_CHECK_INTERVAL_MS = 250;
+
+  // Maximum duration of the animation between two locations of a fleet entity.
+  static final long FLEET_MAX_ANIMATION_DURATION_MS = 1000;
+
+  // Interval in milliseconds between two display frames assumed while the refresh rate of the display is unknown.
+  static final float DEFAULT_FRAME_INTERVAL_MS = 1000f / 60;
+
   // Sources
   static final String LOCATION_SOURCE = "mapbox-location-source";
+  static final String TRAIL_SOURCE = "mapbox-location-trail-source";
+  static final String TRAIL_TAIL_SOURCE = "mapbox-location-trail-tail-source";
+  static final String FLEET_SOURCE = "mapbox-location-fleet-source";
   static final String PROPERTY_GPS_BEARING = "mapbox-property-gps-bearing";
   static final String PROPERTY_COMPASS_BEARING = "mapbox-property-compass-bearing";
   static final String PROPERTY_LOCATION_STALE = "mapbox-property-location-stale";
@@ -40,6 +85,7 @@ final class LocationLayerConstants {
   static final String PROPERTY_FOREGROUND_STALE_ICON = "mapbox-property-foreground-stale-icon";
   static final String PROPERTY_BACKGROUND_STALE_ICON = "mapbox-property-background-stale-icon";
   static final String PROPERTY_BEARING_ICON = "mapbox-property-shadow-icon";
+  static final String PROPERTY_ACCURACY_RADIUS_AT_ZOOM_ZERO = "mapbox-property-accuracy-radius-zoom-zero";
 
   // Layers
   static final String SHADOW_LAYER = "mapbox-location-shadow";
@@ -47,6 +93,12 @@ final class LocationLayerConstants {
   static final String BACKGROUND_LAYER = "mapbox-location-stroke-layer";
   static final String ACCURACY_LAYER = "mapbox-location-accuracy-layer";
   static final String BEARING_LAYER = "mapbox-location-bearing-layer";
+  static final String COMPOSITE_LAYER = "mapbox-location-composite-layer";
+  static final String TRAIL_LAYER = "mapbox-location-trail-layer";
+  static final String TRAIL_TAIL_LAYER = "mapbox-location-trail-tail-layer";
+  static final String FLEET_FOREGROUND_LAYER = "mapbox-location-fleet-layer";
+  static final String FLEET_BACKGROUND_LAYER = "mapbox-location-fleet-stroke-layer";
+  static final String FLEET_ACCURACY_LAYER = "mapbox-location-fleet-accuracy-layer";
 
   // Icons
   static final String FOREGROUND_ICON = "mapbox-location-icon";
@@ -55,6 +107,8 @@ final class LocationLayerConstants {
   static final String BACKGROUND_STALE_ICON = "mapbox-location-background-stale-icon";
   static final String SHADOW_ICON = "mapbox-location-shadow-icon";
   static final String BEARING_ICON = "mapbox-location-bearing-icon";
+  static final String COMPOSITE_ICON = "mapbox-location-composite-icon";
+  static final String COMPOSITE_STALE_ICON = "mapbox-location-composite-stale-icon";
 
   private LocationLayerConstants() {
     // Class should not be initialized
@@ -14,6 +14,8 @@ import android.support.annotation.Nullable;
 import android.support.annotation.StyleRes;
 
 import com.mapbox.mapboxsdk.constants.MapboxConstants;
+import com.mapbox.mapboxsdk.plugins.locationlayer.modes.CameraMode;
+import com.mapbox.mapboxsdk.plugins.locationlayer.modes.RenderMode;
 
 import java.util.Arrays;
 
@@ -105,6 +107,9 @@ public class LocationLayerOptions implements Parcelable {
   private float trackingInitialMoveThreshold;
   private float trackingMultiFingerMoveThreshold;
   private String layerBelow;
+  private boolean mercatorInterpolation;
+  private boolean compositeIcons;
+  private boolean lazyInitialization;
 
   public LocationLayerOptions(
     float accuracyAlpha,
@@ -136,7 +141,10 @@ public class LocationLayerOptions implements Parcelable {
     float minZoomIconScale,
     float trackingInitialMoveThreshold,
     float trackingMultiFingerMoveThreshold,
-    String layerBelow) {
+    String layerBelow,
+    boolean mercatorInterpolation,
+    boolean compositeIcons,
+    boolean lazyInitialization) {
     this.accuracyAlpha = accuracyAlpha;
     this.accuracyColor = accuracyColor;
     this.backgroundDrawableStale = backgroundDrawableStale;
@@ -170,6 +178,9 @@ public class LocationLayerOptions implements Parcelable {
     this.trackingInitialMoveThreshold = trackingInitialMoveThreshold;
     this.trackingMultiFingerMoveThreshold = trackingMultiFingerMoveThreshold;
     this.layerBelow = layerBelow;
+    this.mercatorInterpolation = mercatorInterpolation;
+    this.compositeIcons = compositeIcons;
+    this.lazyInitialization = lazyInitialization;
   }
 
   /**
@@ -288,6 +299,13 @@ public class LocationLayerOptions implements Parcelable {
     builder.minZoomIconScale(minScale);
     builder.maxZoomIconScale(maxScale);
 
+    builder.mercatorInterpolation(typedArray.getBoolean(
+      R.styleable.mapbox_LocationLayer_mapbox_mercatorInterpolation, false));
+    builder.compositeIcons(typedArray.getBoolean(
+      R.styleable.mapbox_LocationLayer_mapbox_compositeIcons, false));
+    builder.lazyInitialization(typedArray.getBoolean(
+      R.styleable.mapbox_LocationLayer_mapbox_lazyInitialization, false));
+
     typedArray.recycle();
 
     return builder.build();
@@ -715,6 +733,38 @@ public class LocationLayerOptions implements Parcelable {
     return layerBelow;
   }
 
+  /**
+   * Whether location animations interpolate in Web Mercator projected space instead of linearly
+   * between latitudes and longitudes.
+   *
+   * @return true if location animations are interpolated in Web Mercator space
+   * @since 0.9.0
+   */
+  public boolean mercatorInterpolation() {
+    return mercatorInterpolation;
+  }
+
+  /**
+   * Whether the shadow, background and foreground icons are drawn into a single icon per state and rendered
+   * with a single symbol layer.
+   *
+   * @return true if the location icons are composited
+   * @since 0.9.0
+   */
+  public boolean compositeIcons() {
+    return compositeIcons;
+  }
+
+  /**
+   * Whether the location layers, their icons and the compass sensors are only created once they are first needed.
+   *
+   * @return true if the plugin components are initialized lazily
+   * @since 0.9.0
+   */
+  public boolean lazyInitialization() {
+    return lazyInitialization;
+  }
+
   @Override
   public String toString() {
     return "LocationLayerOptions{"
@@ -747,7 +797,10 @@ public class LocationLayerOptions implements Parcelable {
       + "minZoomIconScale=" + minZoomIconScale + ", "
       + "trackingInitialMoveThreshold=" + trackingInitialMoveThreshold + ", "
       + "trackingMultiFingerMoveThreshold=" + trackingMultiFingerMoveThreshold + ", "
-      + "layerBelow=" + layerBelow
+      + "layerBelow=" + layerBelow + ", "
+      + "mercatorInterpolation=" + mercatorInterpolation + ", "
+      + "compositeIcons=" + compositeIcons + ", "
+      + "lazyInitialization=" + lazyInitialization
       + "}";
   }
 
@@ -799,7 +852,10 @@ public class LocationLayerOptions implements Parcelable {
         == Float.floatToIntBits(that.trackingInitialMoveThreshold()))
         && (Float.floatToIntBits(this.trackingMultiFingerMoveThreshold)
         == Float.floatToIntBits(that.trackingMultiFingerMoveThreshold()))
-        && layerBelow.equals(that.layerBelow));
+        && layerBelow.equals(that.layerBelow)
+        && (this.mercatorInterpolation == that.mercatorInterpolation())
+        && (this.compositeIcons == that.compositeIcons())
+        && (this.lazyInitialization == that.lazyInitialization()));
     }
     return false;
   }
@@ -865,6 +921,12 @@ public class LocationLayerOptions implements Parcelable {
     h$ ^= Float.floatToIntBits(trackingInitialMoveThreshold);
     h$ *= 1000003;
     h$ ^= Float.floatToIntBits(trackingMultiFingerMoveThreshold);
+    h$ *= 1000003;
+    h$ ^= mercatorInterpolation ? 1231 : 1237;
+    h$ *= 1000003;
+    h$ ^= compositeIcons ? 1231 : 1237;
+    h$ *= 1000003;
+    h$ ^= lazyInitialization ? 1231 : 1237;
     return h$;
   }
 
@@ -902,7 +964,10 @@ public class LocationLayerOptions implements Parcelable {
         in.readFloat(),
         in.readFloat(),
         in.readFloat(),
-        in.readString()
+        in.readString(),
+        in.readInt() == 1,
+        in.readInt() == 1,
+        in.readInt() == 1
       );
     }
 
@@ -999,6 +1064,9 @@ public class LocationLayerOptions implements Parcelable {
     dest.writeFloat(trackingInitialMoveThreshold());
     dest.writeFloat(trackingMultiFingerMoveThreshold());
     dest.writeString(layerBelow());
+    dest.writeInt(mercatorInterpolation() ? 1 : 0);
+    dest.writeInt(compositeIcons() ? 1 : 0);
+    dest.writeInt(lazyInitialization() ? 1 : 0);
   }
 
   @Override
@@ -1064,6 +1132,9 @@ public class LocationLayerOptions implements Parcelable {
     private Float trackingInitialMoveThreshold;
     private Float trackingMultiFingerMoveThreshold;
     private String layerBelow;
+    private boolean mercatorInterpolation;
+    private boolean compositeIcons;
+    private boolean lazyInitialization;
 
     Builder() {
     }
@@ -1099,6 +1170,9 @@ public class LocationLayerOptions implements Parcelable {
       this.trackingInitialMoveThreshold = source.trackingInitialMoveThreshold();
       this.trackingMultiFingerMoveThreshold = source.trackingMultiFingerMoveThreshold();
       this.layerBelow = source.layerBelow();
+      this.mercatorInterpolation = source.mercatorInterpolation();
+      this.compositeIcons = source.compositeIcons();
+      this.lazyInitialization = source.lazyInitialization();
     }
 
     /**
@@ -1534,6 +1608,53 @@ public class LocationLayerOptions implements Parcelable {
       return this;
     }
 
+    /**
+     * Sets whether location animations interpolate in Web Mercator projected space. Linear interpolation of
+     * latitudes and longitudes takes the long way around when a location update crosses the antimeridian and
+     * drifts off the straight on screen path for updates far apart. Defaults to false.
+     *
+     * @param mercatorInterpolation true to interpolate location animations in Web Mercator space
+     * @return this builder for chaining options together
+     * @attr ref R.styleable#LocationLayer_mercatorInterpolation
+     * @since 0.9.0
+     */
+    public LocationLayerOptions.Builder mercatorInterpolation(boolean mercatorInterpolation) {
+      this.mercatorInterpolation = mercatorInterpolation;
+      return this;
+    }
+
+    /**
+     * Sets whether the shadow, background and foreground icons are drawn into a single icon per state. The
+     * location is then rendered with one symbol layer next to the accuracy and bearing layers instead of three.
+     * Composited icons don't shift with the camera tilt and are only generated from drawables, icon names
+     * are ignored while this is enabled. Defaults to false.
+     *
+     * @param compositeIcons true to render the location with a single composited icon
+     * @return this builder for chaining options together
+     * @attr ref R.styleable#LocationLayer_compositeIcons
+     * @since 0.9.0
+     */
+    public LocationLayerOptions.Builder compositeIcons(boolean compositeIcons) {
+      this.compositeIcons = compositeIcons;
+      return this;
+    }
+
+    /**
+     * Sets whether the plugin defers creating its components until they are first needed, which shortens the
+     * map startup. The location source, layers and icons are then added with the first location shown and the
+     * compass sensors are only registered once {@link RenderMode#COMPASS}, a compass {@link CameraMode} or a
+     * compass listener is set. Defaults to false.
+     *
+     * @param lazyInitialization true to initialize the plugin components once they are needed
+     * @return this builder for chaining options together
+     * @attr ref R.styleable#LocationLayer_lazyInitialization
+     * @since 0.9.0
+     */
+    public LocationLayerOptions.Builder lazyInitialization(boolean lazyInitialization) {
+      this.lazyInitialization = lazyInitialization;
+      return this;
+    }
+
     LocationLayerOptions autoBuild() {
       String missing = "";
       if (this.accuracyAlpha == null) {
@@ -1623,7 +1744,10 @@ public class LocationLayerOptions implements Parcelable {
         this.minZoomIconScale,
         this.trackingInitialMoveThreshold,
         this.trackingMultiFingerMoveThreshold,
-        this.layerBelow);
+        this.layerBelow,
+        this.mercatorInterpolation,
+        this.compositeIcons,
+        this.lazyInitialization);
     }
   }
 }
@@ -7,6 +7,7 @@ import android.arch.lifecycle.OnLifecycleEvent;
 import android.content.Context;
 import android.hardware.SensorManager;
 import android.location.Location;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RequiresPermission;
@@ -18,6 +19,7 @@ import com.mapbox.android.core.location.LocationEngine;
 import com.mapbox.android.core.location.LocationEngineListener;
 import com.mapbox.android.core.location.LocationEnginePriority;
 import com.mapbox.android.core.location.LocationEngineProvider;
+import com.mapbox.android.gestures.MoveGestureDetector;
 import com.mapbox.mapboxsdk.camera.CameraPosition;
 import com.mapbox.mapboxsdk.camera.CameraUpdate;
 import com.mapbox.mapboxsdk.geometry.LatLng;
@@ -36,6 +38,7 @@ import timber.log.Timber;
 
 import static android.Manifest.permission.ACCESS_COARSE_LOCATION;
 import static android.Manifest.permission.ACCESS_FINE_LOCATION;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPASS_UPDATE_RATE_MS;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.DEFAULT_TRACKING_TILT_ANIMATION_DURATION;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.DEFAULT_TRACKING_ZOOM_ANIMATION_DURATION;
 
@@ -73,11 +76,21 @@ public final class LocationLayerPlugin implements LifecycleObserver {
   private final MapView mapView;
   private LocationLayerOptions options;
   private LocationEngine locationEngine;
+  /**
+   * Created once the compass is first needed when {@link LocationLayerOptions#lazyInitialization()} is enabled.
+   */
+  @Nullable
   private CompassEngine compassEngine;
   private boolean usingInternalLocationEngine;
+  @Nullable
+  private LocationFilter locationFilter;
+  private LocationProcessor locationProcessor;
+  private boolean backgroundProcessingEnabled;
 
   private LocationLayer locationLayer;
   private LocationLayerCamera locationLayerCamera;
+  private LocationTrailLayer locationTrailLayer;
+  private FleetLayer fleetLayer;
 
   private PluginAnimatorCoordinator pluginAnimatorCoordinator;
 
@@ -87,6 +100,13 @@ public final class LocationLayerPlugin implements LifecycleObserver {
    */
   private Location lastLocation;
   private CameraPosition lastCameraPosition;
+  private MetersPerPixelCache metersPerPixelCache;
+
+  /**
+   * Indicates that the user is panning the map, accuracy radius updates are deferred until the camera is idle.
+   */
+  private boolean isMoveGestureInProgress;
+  private boolean isAccuracyRadiusUpdatePending;
 
   /**
    * Indicates that the plugin is enabled and should be displaying location if Mapbox components are available and
@@ -119,6 +139,9 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     = new CopyOnWriteArrayList<>();
   private final CopyOnWriteArrayList<OnCameraTrackingChangedListener> onCameraTrackingChangedListeners
     = new CopyOnWriteArrayList<>();
+  private final CopyOnWriteArrayList<OnTrackingDismissedListener> onTrackingDismissedListeners
+    = new CopyOnWriteArrayList<>();
+  private TrackingMetricsRecorder trackingMetricsRecorder;
 
   /**
    * Construct a LocationLayerPlugin
@@ -268,6 +291,9 @@ public final class LocationLayerPlugin implements LifecycleObserver {
    * @since 0.5.0
    */
   public void setCameraMode(@CameraMode.Mode int cameraMode) {
+    if (cameraMode == CameraMode.NONE_COMPASS || cameraMode == CameraMode.TRACKING_COMPASS) {
+      obtainCompassEngine();
+    }
     boolean isGpsNorth = cameraMode == CameraMode.TRACKING_GPS_NORTH;
     pluginAnimatorCoordinator.resetAllCameraAnimations(mapboxMap.getCameraPosition(), isGpsNorth);
     locationLayerCamera.setCameraMode(cameraMode);
@@ -298,6 +324,9 @@ public final class LocationLayerPlugin implements LifecycleObserver {
    * @since 0.5.0
    */
   public void setRenderMode(@RenderMode.Mode int renderMode) {
+    if (renderMode == RenderMode.COMPASS) {
+      obtainCompassEngine();
+    }
     locationLayer.setRenderMode(renderMode);
     updateLayerOffsets(true);
   }
@@ -343,9 +372,11 @@ public final class LocationLayerPlugin implements LifecycleObserver {
   public void applyStyle(LocationLayerOptions options) {
     this.options = options;
     locationLayer.applyStyle(options);
+    fleetLayer.applyStyle(options);
     if (!options.enableStaleState()) {
       staleStateManager.onStop();
     }
+    pluginAnimatorCoordinator.setLocationsStale(options.enableStaleState() && staleStateManager.isStale());
     staleStateManager.setDelayTime(options.staleStateTimeout());
     updateMapWithOptions(options);
   }
@@ -477,6 +508,241 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     updateLocation(location, false);
   }
 
+  /**
+   * Enables predicting the location between updates from the speed and bearing reported with each location.
+   * <p>
+   * By default the location icon animates towards the latest location, which keeps it one update behind the actual
+   * position while moving. With extrapolation enabled the icon is animated towards where the device is expected to be
+   * when the next update arrives, every new update smoothly corrects the prediction. Locations without speed or
+   * bearing, or reported while (nearly) standing still, are not extrapolated.
+   * </p>
+   *
+   * @param enabled true to extrapolate locations between updates, false otherwise
+   * @since 0.9.0
+   */
+  public void setLocationExtrapolationEnabled(boolean enabled) {
+    pluginAnimatorCoordinator.setExtrapolationEnabled(enabled);
+  }
+
+  /**
+   * Returns whether locations are extrapolated between updates.
+   *
+   * @return true if locations are extrapolated, false otherwise
+   * @since 0.9.0
+   */
+  public boolean isLocationExtrapolationEnabled() {
+    return pluginAnimatorCoordinator.isExtrapolationEnabled();
+  }
+
+  /**
+   * Enables adaptive animations, reducing the work done for each animation frame on long-running sessions.
+   * <p>
+   * With adaptive animations, frames in which the location icon would move less than half a pixel or rotate less
+   * than a tenth of a degree are skipped, and compass updates are ignored while the location is stale.
+   * </p>
+   *
+   * @param enabled true to enable adaptive animations, false otherwise
+   * @since 0.9.0
+   */
+  public void setAdaptiveAnimationsEnabled(boolean enabled) {
+    pluginAnimatorCoordinator.setAdaptiveAnimationsEnabled(enabled);
+  }
+
+  /**
+   * Returns whether adaptive animations are enabled.
+   *
+   * @return true if adaptive animations are enabled, false otherwise
+   * @since 0.9.0
+   */
+  public boolean isAdaptiveAnimationsEnabled() {
+    return pluginAnimatorCoordinator.isAdaptiveAnimationsEnabled();
+  }
+
+  /**
+   * Limits how many times per second the location layer and the tracking camera are updated while animating.
+   * By default animations run at the display refresh rate.
+   *
+   * @param maxAnimationFps the maximum number of animation frames per second, has to be greater than 0
+   * @since 0.9.0
+   */
+  public void setMaxAnimationFps(int maxAnimationFps) {
+    if (maxAnimationFps <= 0) {
+      throw new IllegalArgumentException("Max animation FPS has to be greater than 0, was " + maxAnimationFps);
+    }
+    pluginAnimatorCoordinator.setMaxAnimationFps(maxAnimationFps);
+  }
+
+  /**
+   * Returns the maximum number of animation frames per second.
+   *
+   * @return the maximum animation frames per second, {@link Integer#MAX_VALUE} if not limited
+   * @since 0.9.0
+   */
+  public int getMaxAnimationFps() {
+    return pluginAnimatorCoordinator.getMaxAnimationFps();
+  }
+
+  /**
+   * Enables drawing the recent path of the device beneath the location icon.
+   * <p>
+   * The trail is built from the location updates received while it's enabled, disabling it removes the trail
+   * from the map and discards the collected points.
+   * </p>
+   *
+   * @param enabled true to show the location trail, false otherwise
+   * @since 0.9.0
+   */
+  public void setLocationTrailEnabled(boolean enabled) {
+    locationTrailLayer.setEnabled(enabled);
+  }
+
+  /**
+   * Returns whether the location trail is shown.
+   *
+   * @return true if the location trail is shown, false otherwise
+   * @since 0.9.0
+   */
+  public boolean isLocationTrailEnabled() {
+    return locationTrailLayer.isEnabled();
+  }
+
+  /**
+   * Set how far back in time the location trail reaches, defaults to five minutes.
+   *
+   * @param durationMillis the time span of the trail in milliseconds
+   * @since 0.9.0
+   */
+  public void setLocationTrailDuration(long durationMillis) {
+    if (durationMillis <= 0) {
+      throw new IllegalArgumentException("Location trail duration has to be greater than 0, was " + durationMillis);
+    }
+    locationTrailLayer.setDuration(durationMillis);
+  }
+
+  /**
+   * Returns how far back in time the location trail reaches.
+   *
+   * @return the time span of the trail in milliseconds
+   * @since 0.9.0
+   */
+  public long getLocationTrailDuration() {
+    return locationTrailLayer.getDuration();
+  }
+
+  /**
+   * Updates the location of a tracked entity, for example a vehicle of a fleet, creating it if needed.
+   * <p>
+   * Entities are displayed beneath the user location with the same icons, animated between their locations and
+   * marked as stale once they haven't been updated within {@link LocationLayerOptions#staleStateTimeout()}.
+   * All entities share a single source, which is updated at most once per frame regardless of the fleet size.
+   * </p>
+   *
+   * @param entityId a unique identifier of the entity
+   * @param location the latest location of the entity
+   * @since 0.9.0
+   */
+  public void updateFleetLocation(@NonNull String entityId, @NonNull Location location) {
+    fleetLayer.update(entityId, location);
+  }
+
+  /**
+   * Stops tracking an entity and removes it from the map.
+   *
+   * @param entityId the identifier of the entity
+   * @since 0.9.0
+   */
+  public void removeFleetEntity(@NonNull String entityId) {
+    fleetLayer.remove(entityId);
+  }
+
+  /**
+   * Stops tracking all entities and removes them from the map.
+   *
+   * @since 0.9.0
+   */
+  public void clearFleet() {
+    fleetLayer.clear();
+  }
+
+  /**
+   * Returns the number of tracked entities.
+   *
+   * @return the number of entities
+   * @since 0.9.0
+   */
+  public int getFleetSize() {
+    return fleetLayer.size();
+  }
+
+  /**
+   * Returns whether an entity hasn't been updated within {@link LocationLayerOptions#staleStateTimeout()}.
+   *
+   * @param entityId the identifier of the entity
+   * @return true if the entity is stale, false if it's up to date or not tracked
+   * @since 0.9.0
+   */
+  public boolean isFleetEntityStale(@NonNull String entityId) {
+    return fleetLayer.isStale(entityId);
+  }
+
+  /**
+   * Set a filter processing every location provided by the {@link LocationEngine} before it is displayed.
+   * <p>
+   * Locations passed to {@link #forceLocationUpdate(Location)} are not filtered. The state of the filter is reset
+   * when it is set and whenever the location engine changes.
+   * </p>
+   *
+   * @param locationFilter the filter to apply, for example a {@link KalmanLocationFilter} or a
+   *                       {@link RouteSnappingLocationFilter}, or null to display the locations as provided by the
+   *                       engine
+   * @since 0.9.0
+   */
+  public void setLocationFilter(@Nullable LocationFilter locationFilter) {
+    this.locationFilter = locationFilter;
+    locationProcessor.setLocationFilter(locationFilter);
+  }
+
+  /**
+   * Returns the filter applied to the locations provided by the {@link LocationEngine}.
+   *
+   * @return the current location filter, or null if none is set
+   * @since 0.9.0
+   */
+  @Nullable
+  public LocationFilter getLocationFilter() {
+    return locationFilter;
+  }
+
+  /**
+   * Set whether locations provided by the {@link LocationEngine} are preprocessed on a background thread.
+   * <p>
+   * When enabled, the {@link LocationFilter} and the conversion of the accuracy radius run off the main thread,
+   * only the processed location is handed to the main thread to be animated. The filter must not be used
+   * from other threads in the meantime. Disabled by default.
+   * </p>
+   *
+   * @param enabled true to process locations on a background thread, false to process them on the main thread
+   * @since 0.9.0
+   */
+  public void setBackgroundLocationProcessingEnabled(boolean enabled) {
+    backgroundProcessingEnabled = enabled;
+    if (enabled && isLocationLayerStarted) {
+      locationProcessor.start();
+    } else if (!enabled) {
+      locationProcessor.stop();
+    }
+  }
+
+  /**
+   * Returns whether locations are preprocessed on a background thread.
+   *
+   * @return true if locations are processed on a background thread
+   * @since 0.9.0
+   */
+  public boolean isBackgroundLocationProcessingEnabled() {
+    return backgroundProcessingEnabled;
+  }
+
   /**
    * Set the location engine to update the current user location.
    * <p>
@@ -499,6 +765,8 @@ public final class LocationLayerPlugin implements LifecycleObserver {
       this.locationEngine = null;
     }
 
+    locationProcessor.reset();
+
     if (locationEngine != null) {
       this.locationEngine = locationEngine;
       if (isEnabled) {
@@ -525,7 +793,9 @@ public final class LocationLayerPlugin implements LifecycleObserver {
    * @since 0.8.0
    */
   public void setCompassEngine(@NonNull CompassEngine compassEngine) {
-    this.compassEngine.removeCompassListener(compassListener);
+    if (this.compassEngine != null) {
+      this.compassEngine.removeCompassListener(compassListener);
+    }
     this.compassEngine = compassEngine;
     compassEngine.addCompassListener(compassListener);
   }
@@ -538,7 +808,7 @@ public final class LocationLayerPlugin implements LifecycleObserver {
    */
   @NonNull
   public CompassEngine getCompassEngine() {
-    return compassEngine;
+    return obtainCompassEngine();
   }
 
   /**
@@ -566,6 +836,9 @@ public final class LocationLayerPlugin implements LifecycleObserver {
    * @since 0.8.0
    */
   public float getLastKnownCompassAccuracyStatus() {
+    if (compassEngine == null) {
+      return SensorManager.SENSOR_STATUS_UNRELIABLE;
+    }
     return compassEngine.getLastAccuracySensorStatus();
   }
 
@@ -578,7 +851,7 @@ public final class LocationLayerPlugin implements LifecycleObserver {
    * @since 0.2.0
    */
   public void addCompassListener(@NonNull CompassListener compassListener) {
-    compassEngine.addCompassListener(compassListener);
+    obtainCompassEngine().addCompassListener(compassListener);
   }
 
   /**
@@ -588,7 +861,9 @@ public final class LocationLayerPlugin implements LifecycleObserver {
    *                        list.
    */
   public void removeCompassListener(@NonNull CompassListener compassListener) {
-    compassEngine.removeCompassListener(compassListener);
+    if (compassEngine != null) {
+      compassEngine.removeCompassListener(compassListener);
+    }
   }
 
   /**
@@ -653,6 +928,48 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     onCameraTrackingChangedListeners.remove(listener);
   }
 
+  /**
+   * Adds a listener that gets invoked with the cause whenever camera tracking is dismissed.
+   *
+   * @param listener Listener that gets invoked when camera tracking is dismissed.
+   * @since 0.9.0
+   */
+  public void addOnTrackingDismissedListener(@NonNull OnTrackingDismissedListener listener) {
+    onTrackingDismissedListeners.add(listener);
+  }
+
+  /**
+   * Removes a listener that gets invoked with the cause whenever camera tracking is dismissed.
+   *
+   * @param listener Listener that gets invoked when camera tracking is dismissed.
+   * @since 0.9.0
+   */
+  public void removeOnTrackingDismissedListener(@NonNull OnTrackingDismissedListener listener) {
+    onTrackingDismissedListeners.remove(listener);
+  }
+
+  /**
+   * Returns the camera tracking metrics collected since the plugin was created or the metrics were reset. The
+   * metrics report how often tracking was dismissed and why, how much of the tracking time the camera was animated
+   * and how many frames the camera animations dropped. They can be used to tune the tracking thresholds of the
+   * {@link LocationLayerOptions} with field data.
+   *
+   * @return a snapshot of the tracking metrics
+   * @since 0.9.0
+   */
+  public TrackingMetrics getTrackingMetrics() {
+    return trackingMetricsRecorder.getMetrics(SystemClock.uptimeMillis());
+  }
+
+  /**
+   * Resets the camera tracking metrics, an ongoing tracking session is measured from now on.
+   *
+   * @since 0.9.0
+   */
+  public void resetTrackingMetrics() {
+    trackingMetricsRecorder.reset(SystemClock.uptimeMillis());
+  }
+
   /**
    * Adds the passed listener that gets invoked when user updates have stopped long enough for the last update
    * to be considered stale.
@@ -676,6 +993,14 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     onLocationStaleListeners.remove(listener);
   }
 
+  /**
+   * @return the number of times the location source was pushed to the map, used by the
+   * {@link LocationReplayHarness}
+   */
+  int getSourceUpdateCount() {
+    return locationLayer.getSourceUpdateCount();
+  }
+
   /**
    * You must call this method from the parent's Activity#onStart() or Fragment#onStart()
    *
@@ -714,11 +1039,18 @@ public final class LocationLayerPlugin implements LifecycleObserver {
       if (mapboxMap != null) {
         mapboxMap.addOnCameraMoveListener(onCameraMoveListener);
         mapboxMap.addOnCameraIdleListener(onCameraIdleListener);
+        mapboxMap.addOnMoveListener(onMoveListener);
       }
       if (options.enableStaleState()) {
         staleStateManager.onStart();
       }
-      compassEngine.onStart();
+      fleetLayer.onStart();
+      if (backgroundProcessingEnabled) {
+        locationProcessor.start();
+      }
+      if (compassEngine != null) {
+        compassEngine.onStart();
+      }
     }
 
     if (isEnabled) {
@@ -742,7 +1074,11 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     isLocationLayerStarted = false;
     locationLayer.hide();
     staleStateManager.onStop();
-    compassEngine.onStop();
+    fleetLayer.onStop();
+    locationProcessor.stop();
+    if (compassEngine != null) {
+      compassEngine.onStop();
+    }
     pluginAnimatorCoordinator.cancelAllAnimations();
     if (locationEngine != null) {
       if (usingInternalLocationEngine) {
@@ -753,7 +1089,20 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     if (mapboxMap != null) {
       mapboxMap.removeOnCameraMoveListener(onCameraMoveListener);
       mapboxMap.removeOnCameraIdleListener(onCameraIdleListener);
+      mapboxMap.removeOnMoveListener(onMoveListener);
+    }
+    isMoveGestureInProgress = false;
+  }
+
+  /**
+   * Returns the refresh rate of the display showing the map, or 0 if it can't be determined.
+   */
+  private float getDisplayRefreshRate() {
+    WindowManager windowManager = (WindowManager) mapView.getContext().getSystemService(Context.WINDOW_SERVICE);
+    if (windowManager == null || windowManager.getDefaultDisplay() == null) {
+      return 0;
     }
+    return windowManager.getDefaultDisplay().getRefreshRate();
   }
 
   private void initialize() {
@@ -761,6 +1110,9 @@ public final class LocationLayerPlugin implements LifecycleObserver {
 
     mapView.addOnMapChangedListener(onMapChangedListener);
 
+    locationProcessor = new LocationProcessor(onLocationProcessedListener);
+    metersPerPixelCache = new MetersPerPixelCache(mapboxMap);
+
     mapboxMap.addOnMapClickListener(onMapClickListener);
     mapboxMap.addOnMapLongClickListener(onMapLongClickListener);
 
@@ -768,17 +1120,25 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     LayerFeatureProvider featureProvider = new LayerFeatureProvider();
     LayerBitmapProvider bitmapProvider = new LayerBitmapProvider(mapView.getContext());
     locationLayer = new LocationLayer(mapboxMap, sourceProvider, featureProvider, bitmapProvider, options);
-    locationLayerCamera = new LocationLayerCamera(
-      mapView.getContext(), mapboxMap, cameraTrackingChangedListener, options, onCameraMoveInvalidateListener);
+    locationTrailLayer = new LocationTrailLayer(mapboxMap, sourceProvider, options);
+    fleetLayer = new FleetLayer(mapboxMap, sourceProvider, options);
+    trackingMetricsRecorder = new TrackingMetricsRecorder(trackingDismissedListener);
+    locationLayerCamera = new LocationLayerCamera(mapView.getContext(), mapboxMap, cameraTrackingChangedListener,
+      options, onCameraMoveInvalidateListener, trackingMetricsRecorder);
     pluginAnimatorCoordinator = new PluginAnimatorCoordinator();
+    pluginAnimatorCoordinator.setTrackingMetricsRecorder(trackingMetricsRecorder);
+    pluginAnimatorCoordinator.setDisplayRefreshRate(getDisplayRefreshRate());
     pluginAnimatorCoordinator.addLayerListener(locationLayer);
     pluginAnimatorCoordinator.addCameraListener(locationLayerCamera);
+    if (locationLayer.isComponentsDeferred()) {
+      // without the location layers the trail and the fleet would be added on top of the style
+      locationTrailLayer.invalidateSources();
+      fleetLayer.invalidateSource();
+    }
 
-    Context context = mapView.getContext();
-    WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
-    SensorManager sensorManager = (SensorManager) context.getSystemService(Context.SENSOR_SERVICE);
-    compassEngine = new LocationLayerCompassEngine(windowManager, sensorManager);
-    compassEngine.addCompassListener(compassListener);
+    if (!options.lazyInitialization()) {
+      obtainCompassEngine();
+    }
     staleStateManager = new StaleStateManager(onLocationStaleListener, options.staleStateTimeout());
 
     updateMapWithOptions(options);
@@ -788,6 +1148,24 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     setCameraMode(CameraMode.NONE);
   }
 
+  /**
+   * Returns the compass engine, the default engine is created and its sensors are registered on first use.
+   */
+  @NonNull
+  private CompassEngine obtainCompassEngine() {
+    if (compassEngine == null) {
+      FusedCompassEngine fusedCompassEngine = new FusedCompassEngine(mapView.getContext());
+      if (isLocationLayerStarted) {
+        fusedCompassEngine.addCompassListener(compassListener);
+      } else {
+        // registered once the location layer starts, instead of registering and unregistering the sensors now
+        fusedCompassEngine.addCompassListenerWhileStopped(compassListener);
+      }
+      compassEngine = fusedCompassEngine;
+    }
+    return compassEngine;
+  }
+
   private void initializeLocationEngine() {
     usingInternalLocationEngine = true;
     locationEngine = new LocationEngineProvider(mapView.getContext()).obtainBestLocationEngineAvailable();
@@ -814,6 +1192,8 @@ public final class LocationLayerPlugin implements LifecycleObserver {
 
     mapboxMap.setMaxZoomPreference(options.maxZoom());
     mapboxMap.setMinZoomPreference(options.minZoom());
+
+    pluginAnimatorCoordinator.setMercatorInterpolation(options.mercatorInterpolation());
   }
 
   /**
@@ -823,6 +1203,17 @@ public final class LocationLayerPlugin implements LifecycleObserver {
    * @since 0.1.0
    */
   private void updateLocation(final Location location, boolean fromLastLocation) {
+    updateLocation(location, fromLastLocation, LocationProcessor.NO_ACCURACY_RADIUS);
+  }
+
+  /**
+   * Updates the user location icon.
+   *
+   * @param location       the latest user location
+   * @param accuracyRadius the accuracy radius in pixels computed off the main thread, or
+   *                       {@link LocationProcessor#NO_ACCURACY_RADIUS} to compute it from the map projection
+   */
+  private void updateLocation(final Location location, boolean fromLastLocation, float accuracyRadius) {
     if (location == null) {
       return;
     } else if (!isLocationLayerStarted) {
@@ -838,19 +1229,42 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     CameraPosition currentCameraPosition = mapboxMap.getCameraPosition();
     boolean isGpsNorth = getCameraMode() == CameraMode.TRACKING_GPS_NORTH;
     pluginAnimatorCoordinator.feedNewLocation(location, currentCameraPosition, isGpsNorth);
-    updateAccuracyRadius(location, false);
+    if (accuracyRadius == LocationProcessor.NO_ACCURACY_RADIUS) {
+      updateAccuracyRadius(location, false);
+    } else {
+      pluginAnimatorCoordinator.feedNewAccuracyRadius(accuracyRadius, false);
+    }
+    if (!fromLastLocation) {
+      locationTrailLayer.onNewLocation(location);
+    }
     lastLocation = location;
   }
 
   private void showLocationLayerIfHidden() {
     boolean isLocationLayerHidden = locationLayer.isHidden();
     if (isEnabled && isPluginStarted && isLocationLayerHidden) {
+      boolean componentsDeferred = locationLayer.isComponentsDeferred();
       locationLayer.show();
+      if (componentsDeferred) {
+        initializeDependentComponents();
+      }
     }
   }
 
+  /**
+   * Adds the trail and the fleet, which are placed beneath the layers of the location layer and can only be added
+   * once these exist.
+   */
+  private void initializeDependentComponents() {
+    locationTrailLayer.initializeComponents(options);
+    fleetLayer.initializeComponents(options);
+  }
+
   private void updateCompassHeading(float heading) {
-    pluginAnimatorCoordinator.feedNewCompassBearing(heading, mapboxMap.getCameraPosition());
+    // the fused engine dispatches faster while rotating, other engines are expected at the default rate
+    long animationDuration = compassEngine instanceof FusedCompassEngine
+      ? ((FusedCompassEngine) compassEngine).getDispatchIntervalMillis() : COMPASS_UPDATE_RATE_MS;
+    pluginAnimatorCoordinator.feedNewCompassBearing(heading, mapboxMap.getCameraPosition(), animationDuration);
   }
 
   /**
@@ -863,7 +1277,9 @@ public final class LocationLayerPlugin implements LifecycleObserver {
   }
 
   private void setLastCompassHeading() {
-    updateCompassHeading(compassEngine.getLastHeading());
+    if (compassEngine != null) {
+      updateCompassHeading(compassEngine.getLastHeading());
+    }
   }
 
   @SuppressLint("MissingPermission")
@@ -874,6 +1290,7 @@ public final class LocationLayerPlugin implements LifecycleObserver {
       locationLayer.updateForegroundBearing((float) position.bearing);
       locationLayer.updateForegroundOffset(position.tilt);
       updateAccuracyRadius(getLastKnownLocation(), true);
+      updateMetersPerPixel(position);
       return;
     }
 
@@ -884,7 +1301,13 @@ public final class LocationLayerPlugin implements LifecycleObserver {
       locationLayer.updateForegroundOffset(position.tilt);
     }
     if (position.zoom != lastCameraPosition.zoom) {
-      updateAccuracyRadius(getLastKnownLocation(), true);
+      if (isMoveGestureInProgress) {
+        isAccuracyRadiusUpdatePending = true;
+      } else {
+        // avoid querying the location engine and the projection for every camera move
+        updateAccuracyRadius(lastLocation, position);
+      }
+      updateMetersPerPixel(position);
     }
     lastCameraPosition = position;
   }
@@ -893,6 +1316,24 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     pluginAnimatorCoordinator.feedNewAccuracyRadius(Utils.calculateZoomLevelRadius(mapboxMap, location), noAnimation);
   }
 
+  private void updateAccuracyRadius(@Nullable Location location, CameraPosition position) {
+    if (location == null) {
+      pluginAnimatorCoordinator.feedNewAccuracyRadius(0, true);
+      return;
+    }
+    double metersPerPixel = metersPerPixelCache.getMetersPerPixel(location.getLatitude(), position.zoom);
+    if (metersPerPixel > 0) {
+      pluginAnimatorCoordinator.feedNewAccuracyRadius((float) (location.getAccuracy() / metersPerPixel), true);
+    }
+  }
+
+  private void updateMetersPerPixel(CameraPosition position) {
+    double latitude = position.target.getLatitude();
+    double metersPerPixel = metersPerPixelCache.getMetersPerPixel(latitude, position.zoom);
+    pluginAnimatorCoordinator.setMetersPerPixel(metersPerPixel);
+    locationProcessor.setMetersPerPixel(metersPerPixel, latitude);
+  }
+
   private OnCameraMoveListener onCameraMoveListener = new OnCameraMoveListener() {
     @Override
     public void onCameraMove() {
@@ -904,6 +1345,27 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     @Override
     public void onCameraIdle() {
       updateLayerOffsets(false);
+      if (isAccuracyRadiusUpdatePending) {
+        isAccuracyRadiusUpdatePending = false;
+        updateAccuracyRadius(getLastKnownLocation(), true);
+      }
+    }
+  };
+
+  private MapboxMap.OnMoveListener onMoveListener = new MapboxMap.OnMoveListener() {
+    @Override
+    public void onMoveBegin(MoveGestureDetector detector) {
+      isMoveGestureInProgress = true;
+    }
+
+    @Override
+    public void onMove(MoveGestureDetector detector) {
+      // Nothing to update until the gesture ends
+    }
+
+    @Override
+    public void onMoveEnd(MoveGestureDetector detector) {
+      isMoveGestureInProgress = false;
     }
   };
 
@@ -933,6 +1395,8 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     @Override
     public void onStaleStateChange(boolean isStale) {
       locationLayer.setLocationsStale(isStale);
+      // the compass keeps animating when stale state is disabled, like the layer keeps its appearance
+      pluginAnimatorCoordinator.setLocationsStale(options.enableStaleState() && isStale);
 
       for (OnLocationStaleListener listener : onLocationStaleListeners) {
         listener.onStaleStateChange(isStale);
@@ -946,8 +1410,14 @@ public final class LocationLayerPlugin implements LifecycleObserver {
     public void onMapChanged(int change) {
       if (change == MapView.WILL_START_LOADING_MAP) {
         onLocationLayerStop();
+        locationLayer.invalidateSource();
+        locationTrailLayer.invalidateSources();
+        fleetLayer.invalidateSource();
       } else if (change == MapView.DID_FINISH_LOADING_STYLE) {
         locationLayer.initializeComponents(options);
+        if (!locationLayer.isComponentsDeferred()) {
+          initializeDependentComponents();
+        }
         locationLayerCamera.initializeOptions(options);
         onLocationLayerStart();
       }
@@ -984,10 +1454,34 @@ public final class LocationLayerPlugin implements LifecycleObserver {
 
     @Override
     public void onLocationChanged(Location location) {
+      if (location != null && locationProcessor.isStarted()) {
+        locationProcessor.process(location);
+        return;
+      }
+      if (location != null && locationFilter != null) {
+        location = locationFilter.filter(location);
+      }
       updateLocation(location, false);
     }
   };
 
+  private LocationProcessor.OnLocationProcessedListener onLocationProcessedListener =
+    new LocationProcessor.OnLocationProcessedListener() {
+      @Override
+      public void onLocationProcessed(@NonNull Location location, float accuracyRadius) {
+        updateLocation(location, false, accuracyRadius);
+      }
+    };
+
+  private OnTrackingDismissedListener trackingDismissedListener = new OnTrackingDismissedListener() {
+    @Override
+    public void onTrackingDismissed(int cause, long trackingDurationMillis) {
+      for (OnTrackingDismissedListener listener : onTrackingDismissedListeners) {
+        listener.onTrackingDismissed(cause, trackingDurationMillis);
+      }
+    }
+  };
+
   private OnCameraTrackingChangedListener cameraTrackingChangedListener = new OnCameraTrackingChangedListener() {
     @Override
     public void onCameraTrackingDismissed() {
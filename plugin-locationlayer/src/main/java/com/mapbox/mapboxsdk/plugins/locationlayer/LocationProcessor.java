@@ -0,0 +1,164 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preprocesses locations on a background thread before they are displayed.
+ * <p>
+ * Each fix is passed through the {@link LocationFilter} and its accuracy radius is converted to pixels on the
+ * background thread, only the result is posted back to the main thread. The radius is derived from the meters per
+ * pixel published by the main thread whenever the camera zooms, so no map projection call is needed per fix.
+ * Animator targets depend on the current camera position and are still computed on the main thread.
+ * <p>
+ * Results of fixes still in flight when the processor is reset, for example because the location engine changed,
+ * are dropped, as are the fixes still queued when the processor is stopped. Stopping doesn't wait for the fix being
+ * filtered, the filter is locked while it's used so it's never used by two threads at the same time.
+ */
+final class LocationProcessor {
+
+  private static final String THREAD_NAME = "LocationLayerProcessor";
+  static final float NO_ACCURACY_RADIUS = -1;
+
+  interface OnLocationProcessedListener {
+    /**
+     * Invoked on the main thread with the processed location.
+     *
+     * @param location       the processed location
+     * @param accuracyRadius the accuracy radius in pixels, or {@link #NO_ACCURACY_RADIUS} if the scale of the map
+     *                       wasn't known yet
+     */
+    void onLocationProcessed(@NonNull Location location, float accuracyRadius);
+  }
+
+  private final OnLocationProcessedListener listener;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final AtomicInteger generation = new AtomicInteger();
+
+  @Nullable
+  private HandlerThread thread;
+  @Nullable
+  private Handler backgroundHandler;
+  @Nullable
+  private volatile LocationFilter locationFilter;
+  private volatile double metersPerPixelAtEquator;
+  private volatile boolean filterResetPending;
+
+  LocationProcessor(OnLocationProcessedListener listener) {
+    this.listener = listener;
+  }
+
+  void start() {
+    if (thread != null) {
+      return;
+    }
+    thread = new HandlerThread(THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND);
+    thread.start();
+    backgroundHandler = new Handler(thread.getLooper());
+  }
+
+  /**
+   * Stops the background thread, queued fixes are dropped and the result of the fix being filtered is ignored.
+   */
+  void stop() {
+    if (thread == null) {
+      return;
+    }
+    generation.incrementAndGet();
+    backgroundHandler.removeCallbacksAndMessages(null);
+    thread.quit();
+    thread = null;
+    backgroundHandler = null;
+    mainHandler.removeCallbacksAndMessages(null);
+  }
+
+  boolean isStarted() {
+    return thread != null;
+  }
+
+  /**
+   * Publishes the current scale of the map.
+   *
+   * @param metersPerPixel the meters per pixel at the given latitude
+   * @param latitude       the latitude of the camera target
+   */
+  void setMetersPerPixel(double metersPerPixel, double latitude) {
+    metersPerPixelAtEquator = metersPerPixel / Math.cos(Math.toRadians(latitude));
+  }
+
+  void setLocationFilter(@Nullable LocationFilter locationFilter) {
+    this.locationFilter = locationFilter;
+    reset();
+  }
+
+  /**
+   * Drops the results of all fixes in flight and resets the filter, while started the filter is reset before the
+   * next fix is filtered on the background thread.
+   */
+  void reset() {
+    generation.incrementAndGet();
+    LocationFilter filter = locationFilter;
+    if (filter == null) {
+      return;
+    }
+    if (backgroundHandler != null) {
+      filterResetPending = true;
+    } else {
+      synchronized (filter) {
+        filter.reset();
+      }
+    }
+  }
+
+  void process(@NonNull final Location location) {
+    if (backgroundHandler == null) {
+      return;
+    }
+    final int locationGeneration = generation.get();
+    backgroundHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        final Location processed = filter(location);
+        final float accuracyRadius = calculateAccuracyRadius(
+          processed.getAccuracy(), processed.getLatitude(), metersPerPixelAtEquator);
+        mainHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (locationGeneration == generation.get()) {
+              listener.onLocationProcessed(processed, accuracyRadius);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  @NonNull
+  private Location filter(@NonNull Location location) {
+    LocationFilter filter = locationFilter;
+    if (filter == null) {
+      return location;
+    }
+    synchronized (filter) {
+      if (filterResetPending) {
+        filterResetPending = false;
+        filter.reset();
+      }
+      return filter.filter(location);
+    }
+  }
+
+  static float calculateAccuracyRadius(float accuracy, double latitude, double metersPerPixelAtEquator) {
+    if (metersPerPixelAtEquator <= 0) {
+      return NO_ACCURACY_RADIUS;
+    }
+    return (float) (accuracy / (metersPerPixelAtEquator * Math.cos(Math.toRadians(latitude))));
+  }
+}
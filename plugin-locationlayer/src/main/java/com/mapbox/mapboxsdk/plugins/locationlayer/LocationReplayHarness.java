@@ -0,0 +1,187 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.mapbox.android.core.location.LocationEngine;
+import com.mapbox.android.core.location.LocationEngineListener;
+import com.mapbox.mapboxsdk.maps.MapView;
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+
+import java.util.Locale;
+
+import static com.mapbox.mapboxsdk.maps.MapView.DID_FINISH_RENDERING_FRAME;
+import static com.mapbox.mapboxsdk.maps.MapView.DID_FINISH_RENDERING_FRAME_FULLY_RENDERED;
+
+/**
+ * Measures the work the {@link LocationLayerPlugin} causes for each location fix, typically while the fixes are
+ * delivered by a {@link ReplayLocationEngine}.
+ * <p>
+ * Between {@link #start()} and {@link #stop()} the harness counts the fixes delivered by the location engine, the
+ * frames rendered by the map, the updates of the location source and the camera moves. Comparing the ratios of
+ * two runs of the same trace shows the effect of a change on the tracking path.
+ *
+ * @since 0.9.0
+ */
+public final class LocationReplayHarness {
+
+  private final MapView mapView;
+  private final MapboxMap mapboxMap;
+  private final LocationLayerPlugin plugin;
+  private final LocationEngine locationEngine;
+
+  private boolean started;
+  private int fixCount;
+  private int frameCount;
+  private int cameraMoveCount;
+  private int sourceUpdateCountAtStart;
+  private int sourceUpdateCount;
+
+  /**
+   * Create a harness for the given plugin.
+   *
+   * @param mapView        the map view the plugin is attached to
+   * @param mapboxMap      the map the plugin is attached to
+   * @param plugin         the plugin to measure
+   * @param locationEngine the engine delivering the fixes to the plugin
+   * @since 0.9.0
+   */
+  public LocationReplayHarness(@NonNull MapView mapView, @NonNull MapboxMap mapboxMap,
+                               @NonNull LocationLayerPlugin plugin, @NonNull LocationEngine locationEngine) {
+    this.mapView = mapView;
+    this.mapboxMap = mapboxMap;
+    this.plugin = plugin;
+    this.locationEngine = locationEngine;
+  }
+
+  /**
+   * Reset the counters and start measuring.
+   *
+   * @since 0.9.0
+   */
+  public void start() {
+    if (started) {
+      return;
+    }
+    started = true;
+    fixCount = 0;
+    frameCount = 0;
+    cameraMoveCount = 0;
+    sourceUpdateCount = 0;
+    sourceUpdateCountAtStart = plugin.getSourceUpdateCount();
+    locationEngine.addLocationEngineListener(locationEngineListener);
+    mapView.addOnMapChangedListener(onMapChangedListener);
+    mapboxMap.addOnCameraMoveListener(onCameraMoveListener);
+  }
+
+  /**
+   * Stop measuring, the counters keep their values until the harness is started again.
+   *
+   * @since 0.9.0
+   */
+  public void stop() {
+    if (!started) {
+      return;
+    }
+    started = false;
+    sourceUpdateCount = plugin.getSourceUpdateCount() - sourceUpdateCountAtStart;
+    locationEngine.removeLocationEngineListener(locationEngineListener);
+    mapView.removeOnMapChangedListener(onMapChangedListener);
+    mapboxMap.removeOnCameraMoveListener(onCameraMoveListener);
+  }
+
+  /**
+   * @return the number of fixes delivered by the location engine
+   * @since 0.9.0
+   */
+  public int getFixCount() {
+    return fixCount;
+  }
+
+  /**
+   * @return the number of frames rendered by the map
+   * @since 0.9.0
+   */
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * @return the number of times the location source was updated
+   * @since 0.9.0
+   */
+  public int getSourceUpdateCount() {
+    return started ? plugin.getSourceUpdateCount() - sourceUpdateCountAtStart : sourceUpdateCount;
+  }
+
+  /**
+   * @return the number of camera moves
+   * @since 0.9.0
+   */
+  public int getCameraMoveCount() {
+    return cameraMoveCount;
+  }
+
+  /**
+   * @return the average number of rendered frames per fix
+   * @since 0.9.0
+   */
+  public float getFramesPerFix() {
+    return perFix(frameCount);
+  }
+
+  /**
+   * @return the average number of location source updates per fix
+   * @since 0.9.0
+   */
+  public float getSourceUpdatesPerFix() {
+    return perFix(getSourceUpdateCount());
+  }
+
+  /**
+   * @return the average number of camera moves per fix
+   * @since 0.9.0
+   */
+  public float getCameraMovesPerFix() {
+    return perFix(cameraMoveCount);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(Locale.US,
+      "LocationReplayHarness{fixes=%d, framesPerFix=%.2f, sourceUpdatesPerFix=%.2f, cameraMovesPerFix=%.2f}",
+      fixCount, getFramesPerFix(), getSourceUpdatesPerFix(), getCameraMovesPerFix());
+  }
+
+  private float perFix(int count) {
+    return fixCount > 0 ? (float) count / fixCount : 0;
+  }
+
+  private LocationEngineListener locationEngineListener = new LocationEngineListener() {
+    @Override
+    public void onConnected() {
+      // Nothing to measure
+    }
+
+    @Override
+    public void onLocationChanged(Location location) {
+      fixCount++;
+    }
+  };
+
+  private MapView.OnMapChangedListener onMapChangedListener = new MapView.OnMapChangedListener() {
+    @Override
+    public void onMapChanged(int change) {
+      if (change == DID_FINISH_RENDERING_FRAME || change == DID_FINISH_RENDERING_FRAME_FULLY_RENDERED) {
+        frameCount++;
+      }
+    }
+  };
+
+  private MapboxMap.OnCameraMoveListener onCameraMoveListener = new MapboxMap.OnCameraMoveListener() {
+    @Override
+    public void onCameraMove() {
+      cameraMoveCount++;
+    }
+  };
+}
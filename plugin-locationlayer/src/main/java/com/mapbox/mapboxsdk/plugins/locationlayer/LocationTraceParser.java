@@ -0,0 +1,213 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.util.Xml;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Reads recorded location traces for the {@link ReplayLocationEngine}.
+ * <p>
+ * Points without a timestamp are spaced one second apart, missing speed and bearing values are derived from the
+ * following point so the trace can be replayed in every render and camera mode.
+ */
+final class LocationTraceParser {
+
+  private static final String PROVIDER = "replay";
+  static final long DEFAULT_POINT_INTERVAL_MS = 1000;
+
+  private static final String GPX_TRACK_POINT = "trkpt";
+  private static final String GPX_ROUTE_POINT = "rtept";
+  private static final String GPX_WAY_POINT = "wpt";
+  private static final String GPX_ELEVATION = "ele";
+  private static final String GPX_TIME = "time";
+  private static final String GPX_LATITUDE = "lat";
+  private static final String GPX_LONGITUDE = "lon";
+
+  private static final String JSON_LATITUDE = "latitude";
+  private static final String JSON_LONGITUDE = "longitude";
+  private static final String JSON_TIME = "time";
+  private static final String JSON_ALTITUDE = "altitude";
+  private static final String JSON_ACCURACY = "accuracy";
+  private static final String JSON_BEARING = "bearing";
+  private static final String JSON_SPEED = "speed";
+
+  private LocationTraceParser() {
+    // Class should not be initialized
+  }
+
+  /**
+   * Reads the track, route or way points of a GPX document.
+   */
+  @NonNull
+  static List<Location> parseGpx(@NonNull InputStream inputStream) throws IOException {
+    List<Location> locations = new ArrayList<>();
+    try {
+      XmlPullParser parser = Xml.newPullParser();
+      parser.setInput(inputStream, null);
+      Location location = null;
+      String text = null;
+      for (int event = parser.getEventType(); event != XmlPullParser.END_DOCUMENT; event = parser.next()) {
+        switch (event) {
+          case XmlPullParser.START_TAG:
+            if (isGpxPoint(parser.getName())) {
+              location = new Location(PROVIDER);
+              location.setLatitude(parseDouble(parser.getAttributeValue(null, GPX_LATITUDE)));
+              location.setLongitude(parseDouble(parser.getAttributeValue(null, GPX_LONGITUDE)));
+            }
+            text = null;
+            break;
+          case XmlPullParser.TEXT:
+            text = parser.getText();
+            break;
+          case XmlPullParser.END_TAG:
+            if (location != null) {
+              String name = parser.getName();
+              if (isGpxPoint(name)) {
+                locations.add(location);
+                location = null;
+              } else if (GPX_ELEVATION.equals(name) && text != null) {
+                location.setAltitude(parseDouble(text.trim()));
+              } else if (GPX_TIME.equals(name) && text != null) {
+                location.setTime(parseTime(text.trim()));
+              }
+            }
+            break;
+          default:
+            break;
+        }
+      }
+    } catch (XmlPullParserException exception) {
+      throw new IllegalArgumentException("Invalid GPX trace", exception);
+    }
+    fillMissingValues(locations);
+    return locations;
+  }
+
+  /**
+   * Reads a JSON array of location objects, only latitude and longitude are required.
+   */
+  @NonNull
+  static List<Location> parseJson(@NonNull String json) {
+    List<Location> locations = new ArrayList<>();
+    try {
+      JSONArray array = new JSONArray(json);
+      for (int i = 0; i < array.length(); i++) {
+        JSONObject object = array.getJSONObject(i);
+        Location location = new Location(PROVIDER);
+        location.setLatitude(object.getDouble(JSON_LATITUDE));
+        location.setLongitude(object.getDouble(JSON_LONGITUDE));
+        location.setTime(object.optLong(JSON_TIME));
+        if (object.has(JSON_ALTITUDE)) {
+          location.setAltitude(object.getDouble(JSON_ALTITUDE));
+        }
+        if (object.has(JSON_ACCURACY)) {
+          location.setAccuracy((float) object.getDouble(JSON_ACCURACY));
+        }
+        if (object.has(JSON_BEARING)) {
+          location.setBearing((float) object.getDouble(JSON_BEARING));
+        }
+        if (object.has(JSON_SPEED)) {
+          location.setSpeed((float) object.getDouble(JSON_SPEED));
+        }
+        locations.add(location);
+      }
+    } catch (JSONException exception) {
+      throw new IllegalArgumentException("Invalid JSON trace", exception);
+    }
+    fillMissingValues(locations);
+    return locations;
+  }
+
+  /**
+   * Parses an ISO 8601 timestamp as used by GPX, with optional fractional seconds and time zone offset.
+   */
+  static long parseTime(@NonNull String time) {
+    String dateTime = time;
+    long offsetMillis = 0;
+    if (dateTime.endsWith("Z")) {
+      dateTime = dateTime.substring(0, dateTime.length() - 1);
+    } else if (dateTime.length() > 6 && (dateTime.charAt(dateTime.length() - 6) == '+'
+      || dateTime.charAt(dateTime.length() - 6) == '-')) {
+      String offset = dateTime.substring(dateTime.length() - 6);
+      int sign = offset.charAt(0) == '-' ? -1 : 1;
+      offsetMillis = sign * (Integer.parseInt(offset.substring(1, 3)) * 3600000L
+        + Integer.parseInt(offset.substring(4, 6)) * 60000L);
+      dateTime = dateTime.substring(0, dateTime.length() - 6);
+    }
+
+    long fractionMillis = 0;
+    int fractionIndex = dateTime.indexOf('.');
+    if (fractionIndex >= 0) {
+      String fraction = (dateTime.substring(fractionIndex + 1) + "00").substring(0, 3);
+      fractionMillis = Integer.parseInt(fraction);
+      dateTime = dateTime.substring(0, fractionIndex);
+    }
+
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+    try {
+      return format.parse(dateTime).getTime() + fractionMillis - offsetMillis;
+    } catch (ParseException exception) {
+      throw new IllegalArgumentException("Invalid GPX time " + time, exception);
+    }
+  }
+
+  private static boolean isGpxPoint(String name) {
+    return GPX_TRACK_POINT.equals(name) || GPX_ROUTE_POINT.equals(name) || GPX_WAY_POINT.equals(name);
+  }
+
+  private static double parseDouble(String value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Invalid GPX trace, point without coordinates");
+    }
+    return Double.parseDouble(value);
+  }
+
+  private static void fillMissingValues(List<Location> locations) {
+    for (int i = 0; i < locations.size(); i++) {
+      Location location = locations.get(i);
+      Location previous = i > 0 ? locations.get(i - 1) : null;
+      if (previous != null && location.getTime() <= previous.getTime()) {
+        location.setTime(previous.getTime() + DEFAULT_POINT_INTERVAL_MS);
+      }
+    }
+
+    for (int i = 0; i < locations.size() - 1; i++) {
+      Location location = locations.get(i);
+      Location next = locations.get(i + 1);
+      if (!location.hasBearing()) {
+        location.setBearing(location.bearingTo(next));
+      }
+      if (!location.hasSpeed()) {
+        float seconds = (next.getTime() - location.getTime()) / 1000f;
+        location.setSpeed(location.distanceTo(next) / seconds);
+      }
+    }
+
+    if (locations.size() >= 2) {
+      Location last = locations.get(locations.size() - 1);
+      Location previous = locations.get(locations.size() - 2);
+      if (!last.hasBearing()) {
+        last.setBearing(previous.getBearing());
+      }
+      if (!last.hasSpeed()) {
+        last.setSpeed(previous.getSpeed());
+      }
+    }
+  }
+}
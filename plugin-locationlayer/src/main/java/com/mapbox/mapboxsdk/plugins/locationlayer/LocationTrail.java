@@ -0,0 +1,191 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed capacity ring buffer holding the coordinates of the location trail, oldest first.
+ * <p>
+ * Points are simplified while they are appended: fixes closer than the minimum distance to the last point are
+ * dropped, and a last point that lies on the line between its predecessor and the new fix is moved instead of
+ * adding another point. Points that have been sealed, because they were pushed to the map as part of the
+ * committed trail, are never modified again.
+ */
+final class LocationTrail {
+
+  private static final double METERS_PER_DEGREE = 111319.49079327357;
+
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final long[] times;
+  private final double minDistanceMeters;
+  private final double toleranceMeters;
+
+  private int head;
+  private int size;
+  private int sealedCount;
+
+  LocationTrail(int capacity, double minDistanceMeters, double toleranceMeters) {
+    this.latitudes = new double[capacity];
+    this.longitudes = new double[capacity];
+    this.times = new long[capacity];
+    this.minDistanceMeters = minDistanceMeters;
+    this.toleranceMeters = toleranceMeters;
+  }
+
+  /**
+   * Appends a new point to the trail.
+   *
+   * @return true if the trail changed
+   */
+  boolean append(double latitude, double longitude, long time) {
+    if (size > 0) {
+      int last = index(size - 1);
+      if (distance(latitudes[last], longitudes[last], latitude, longitude) < minDistanceMeters) {
+        return false;
+      }
+
+      if (size >= 2 && size - 1 >= sealedCount) {
+        int previous = index(size - 2);
+        double deviation = crossTrackDistance(latitudes[previous], longitudes[previous],
+          latitude, longitude, latitudes[last], longitudes[last]);
+        if (deviation < toleranceMeters) {
+          // the last point doesn't add any detail, move it instead of appending
+          set(last, latitude, longitude, time);
+          return true;
+        }
+      }
+    }
+
+    if (size == latitudes.length) {
+      // overwrite the oldest point
+      head = index(1);
+      size--;
+      sealedCount = Math.max(0, sealedCount - 1);
+    }
+    set(index(size), latitude, longitude, time);
+    size++;
+    return true;
+  }
+
+  /**
+   * Removes all points older than the given time.
+   *
+   * @return the number of removed points
+   */
+  int trimBefore(long minTime) {
+    int removed = 0;
+    while (removed < size && getTime(removed) < minTime) {
+      removed++;
+    }
+    removeOldest(removed);
+    return removed;
+  }
+
+  /**
+   * Removes the given number of oldest points.
+   */
+  void removeOldest(int count) {
+    count = Math.min(count, size);
+    head = index(count);
+    size -= count;
+    sealedCount = Math.max(0, sealedCount - count);
+  }
+
+  /**
+   * Marks all current points as sealed, they won't be modified by later simplification.
+   */
+  void seal() {
+    sealedCount = size;
+  }
+
+  void clear() {
+    head = 0;
+    size = 0;
+    sealedCount = 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int getCapacity() {
+    return latitudes.length;
+  }
+
+  int getSealedCount() {
+    return sealedCount;
+  }
+
+  double getLatitude(int position) {
+    return latitudes[index(position)];
+  }
+
+  double getLongitude(int position) {
+    return longitudes[index(position)];
+  }
+
+  long getTime(int position) {
+    return times[index(position)];
+  }
+
+  /**
+   * Returns the points between the given positions.
+   *
+   * @param from the first position, inclusive
+   * @param to   the last position, exclusive
+   * @return the points of the trail
+   */
+  @NonNull
+  List<Point> getPoints(int from, int to) {
+    List<Point> points = new ArrayList<>(Math.max(0, to - from));
+    for (int i = from; i < to; i++) {
+      int index = index(i);
+      points.add(Point.fromLngLat(longitudes[index], latitudes[index]));
+    }
+    return points;
+  }
+
+  private int index(int position) {
+    return (head + position) % latitudes.length;
+  }
+
+  private void set(int index, double latitude, double longitude, long time) {
+    latitudes[index] = latitude;
+    longitudes[index] = longitude;
+    times[index] = time;
+  }
+
+  /**
+   * Distance in meters using an equirectangular approximation, accurate for points close to each other.
+   */
+  static double distance(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+    double x = (toLongitude - fromLongitude) * Math.cos(Math.toRadians(fromLatitude)) * METERS_PER_DEGREE;
+    double y = (toLatitude - fromLatitude) * METERS_PER_DEGREE;
+    return Math.sqrt(x * x + y * y);
+  }
+
+  /**
+   * Distance in meters of a point from the segment between start and end.
+   */
+  static double crossTrackDistance(double startLatitude, double startLongitude,
+                                   double endLatitude, double endLongitude,
+                                   double latitude, double longitude) {
+    double scale = Math.cos(Math.toRadians(startLatitude)) * METERS_PER_DEGREE;
+    double endX = (endLongitude - startLongitude) * scale;
+    double endY = (endLatitude - startLatitude) * METERS_PER_DEGREE;
+    double x = (longitude - startLongitude) * scale;
+    double y = (latitude - startLatitude) * METERS_PER_DEGREE;
+
+    double lengthSquared = endX * endX + endY * endY;
+    double fraction = lengthSquared > 0 ? (x * endX + y * endY) / lengthSquared : 0;
+    fraction = Math.max(0, Math.min(1, fraction));
+    double dx = x - fraction * endX;
+    double dy = y - fraction * endY;
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+}
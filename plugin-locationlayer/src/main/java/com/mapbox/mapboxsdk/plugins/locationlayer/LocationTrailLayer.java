@@ -0,0 +1,197 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.geojson.LineString;
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
+
+import java.util.ArrayList;
+
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.ACCURACY_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.DEFAULT_TRAIL_DURATION_MS;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_CAPACITY;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_MIN_POINT_DISTANCE_METERS;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_SIMPLIFICATION_TOLERANCE_METERS;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_SOURCE;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_TAIL_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_TAIL_SIZE;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_TAIL_SOURCE;
+
+/**
+ * Renders the recent path of the user beneath the location icon.
+ * <p>
+ * The trail is split over two sources. New fixes only update the short tail source, once the tail holds
+ * {@link LocationLayerConstants#TRAIL_TAIL_SIZE} points they are committed to the trail source. This keeps the
+ * work per fix independent of the length of the trail. Points older than the trail duration are trimmed in
+ * batches of the same size, so the full trail is only serialized once per committed or expired chunk.
+ */
+final class LocationTrailLayer {
+
+  private final MapboxMap mapboxMap;
+  private final LayerSourceProvider layerSourceProvider;
+  private final LocationTrail trail = new LocationTrail(
+    TRAIL_CAPACITY, TRAIL_MIN_POINT_DISTANCE_METERS, TRAIL_SIMPLIFICATION_TOLERANCE_METERS);
+
+  @Nullable
+  private GeoJsonSource trailSource;
+  @Nullable
+  private GeoJsonSource tailSource;
+
+  @ColorInt
+  private int color;
+  private long duration = DEFAULT_TRAIL_DURATION_MS;
+  private boolean enabled;
+  private boolean sourcesInvalidated;
+
+  LocationTrailLayer(MapboxMap mapboxMap, LayerSourceProvider layerSourceProvider, LocationLayerOptions options) {
+    this.mapboxMap = mapboxMap;
+    this.layerSourceProvider = layerSourceProvider;
+    this.color = options.accuracyColor();
+  }
+
+  /**
+   * Adds the trail to a newly loaded style, the points collected so far are restored.
+   */
+  void initializeComponents(LocationLayerOptions options) {
+    color = options.accuracyColor();
+    sourcesInvalidated = false;
+    if (enabled) {
+      addComponents();
+    }
+  }
+
+  /**
+   * Drops the cached source references, the sources are removed from the map together with the old style. The
+   * trail isn't added to the map again until {@link #initializeComponents(LocationLayerOptions)} is called.
+   */
+  void invalidateSources() {
+    trailSource = null;
+    tailSource = null;
+    sourcesInvalidated = true;
+  }
+
+  void setEnabled(boolean enabled) {
+    if (this.enabled == enabled) {
+      return;
+    }
+    this.enabled = enabled;
+    if (enabled) {
+      if (!sourcesInvalidated) {
+        addComponents();
+      }
+    } else {
+      removeComponents();
+      trail.clear();
+    }
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  void setDuration(long duration) {
+    this.duration = duration;
+    if (trail.size() > 0 && trail.trimBefore(trail.getTime(trail.size() - 1) - duration) > 0) {
+      updateTrailSource();
+      updateTailSource();
+    }
+  }
+
+  long getDuration() {
+    return duration;
+  }
+
+  void onNewLocation(@NonNull Location location) {
+    if (!enabled) {
+      return;
+    }
+
+    boolean trimmed = trimExpired(location.getTime() - duration);
+    if (trail.size() == trail.getCapacity()) {
+      // make room for a whole chunk, overwriting single points would re-commit the trail on every fix
+      trail.removeOldest(TRAIL_TAIL_SIZE);
+      trimmed = true;
+    }
+    boolean appended = trail.append(location.getLatitude(), location.getLongitude(), location.getTime());
+
+    if (appended && trail.size() - trail.getSealedCount() >= TRAIL_TAIL_SIZE) {
+      trail.seal();
+      updateTrailSource();
+    } else if (trimmed) {
+      updateTrailSource();
+    }
+    if (appended || trimmed) {
+      updateTailSource();
+    }
+  }
+
+  /**
+   * Trims the points older than the given time once a whole chunk of them expired, or once the remaining points
+   * don't form a line anymore. Until then up to {@link LocationLayerConstants#TRAIL_TAIL_SIZE} expired points are
+   * still shown at the end of the trail.
+   *
+   * @return true if points were trimmed
+   */
+  private boolean trimExpired(long minTime) {
+    int size = trail.size();
+    if (size == 0 || trail.getTime(0) >= minTime) {
+      return false;
+    }
+    boolean chunkExpired = size >= TRAIL_TAIL_SIZE && trail.getTime(TRAIL_TAIL_SIZE - 1) < minTime;
+    boolean lineExpired = size < 2 || trail.getTime(size - 2) < minTime;
+    return (chunkExpired || lineExpired) && trail.trimBefore(minTime) > 0;
+  }
+
+  private void addComponents() {
+    trailSource = layerSourceProvider.generateTrailSource(TRAIL_SOURCE);
+    tailSource = layerSourceProvider.generateTrailSource(TRAIL_TAIL_SOURCE);
+    mapboxMap.addSource(trailSource);
+    mapboxMap.addSource(tailSource);
+    // the tail is added last so it's drawn on top of the trail, both beneath the accuracy circle
+    mapboxMap.addLayerBelow(layerSourceProvider.generateTrailLayer(TRAIL_LAYER, TRAIL_SOURCE, color), ACCURACY_LAYER);
+    mapboxMap.addLayerBelow(
+      layerSourceProvider.generateTrailLayer(TRAIL_TAIL_LAYER, TRAIL_TAIL_SOURCE, color), ACCURACY_LAYER);
+    updateTrailSource();
+    updateTailSource();
+  }
+
+  private void removeComponents() {
+    if (trailSource == null) {
+      return;
+    }
+    mapboxMap.removeLayer(TRAIL_TAIL_LAYER);
+    mapboxMap.removeLayer(TRAIL_LAYER);
+    mapboxMap.removeSource(TRAIL_TAIL_SOURCE);
+    mapboxMap.removeSource(TRAIL_SOURCE);
+    trailSource = null;
+    tailSource = null;
+  }
+
+  private void updateTrailSource() {
+    if (trailSource != null) {
+      setLine(trailSource, 0, trail.getSealedCount());
+    }
+  }
+
+  private void updateTailSource() {
+    if (tailSource != null) {
+      // the tail starts at the last committed point so both lines are connected
+      setLine(tailSource, Math.max(0, trail.getSealedCount() - 1), trail.size());
+    }
+  }
+
+  private void setLine(GeoJsonSource source, int from, int to) {
+    if (to - from < 2) {
+      source.setGeoJson(FeatureCollection.fromFeatures(new ArrayList<Feature>()));
+    } else {
+      source.setGeoJson(Feature.fromGeometry(LineString.fromLngLats(trail.getPoints(from, to))));
+    }
+  }
+}
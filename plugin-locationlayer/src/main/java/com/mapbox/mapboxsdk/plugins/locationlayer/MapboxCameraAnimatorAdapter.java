@@ -1,7 +1,5 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
 import android.support.annotation.Nullable;
 
 import com.mapbox.mapboxsdk.maps.MapboxMap;
@@ -10,29 +8,30 @@ import java.util.List;
 
 abstract class MapboxCameraAnimatorAdapter extends
   PluginFloatAnimator<PluginAnimator.OnCameraAnimationsValuesChangeListener> {
-  private final MapboxMap.CancelableCallback cancelableCallback;
+  private MapboxMap.CancelableCallback cancelableCallback;
 
-  MapboxCameraAnimatorAdapter(Float previous, Float target,
+  MapboxCameraAnimatorAdapter(float previous, float target,
                               List<OnCameraAnimationsValuesChangeListener> updateListeners,
                               @Nullable MapboxMap.CancelableCallback cancelableCallback) {
     super(previous, target, updateListeners);
     this.cancelableCallback = cancelableCallback;
-    addListener(new MapboxAnimatorListener());
   }
 
-  private final class MapboxAnimatorListener extends AnimatorListenerAdapter {
-    @Override
-    public void onAnimationCancel(Animator animation) {
-      if (cancelableCallback != null) {
-        cancelableCallback.onCancel();
-      }
+  void setCancelableCallback(@Nullable MapboxMap.CancelableCallback cancelableCallback) {
+    this.cancelableCallback = cancelableCallback;
+  }
+
+  @Override
+  void onAnimationCancel() {
+    if (cancelableCallback != null) {
+      cancelableCallback.onCancel();
     }
+  }
 
-    @Override
-    public void onAnimationEnd(Animator animation) {
-      if (cancelableCallback != null) {
-        cancelableCallback.onFinish();
-      }
+  @Override
+  void onAnimationEnd() {
+    if (cancelableCallback != null) {
+      cancelableCallback.onFinish();
     }
   }
 }
@@ -0,0 +1,68 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.animation.TypeEvaluator;
+
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+/**
+ * Interpolates between two positions in Web Mercator projected space.
+ * <p>
+ * Longitudes are interpolated along the shorter direction around the globe, so an update crossing the
+ * antimeridian doesn't travel the long way around, and latitudes are interpolated in projected space, so the
+ * animated position follows the straight on screen path between the two positions. The projected latitude of
+ * both positions is cached, evaluating a frame doesn't allocate.
+ */
+class MercatorLatLngEvaluator implements TypeEvaluator<LatLng> {
+
+  // Web Mercator is undefined at the poles, latitudes are clamped to the bounds of the map
+  static final double MAX_LATITUDE = 85.05112878;
+
+  private final LatLng latLng = new LatLng();
+  private double startLatitude = Double.NaN;
+  private double startY;
+  private double endLatitude = Double.NaN;
+  private double endY;
+
+  @Override
+  public LatLng evaluate(float fraction, LatLng startValue, LatLng endValue) {
+    if (startValue.getLatitude() != startLatitude) {
+      startLatitude = startValue.getLatitude();
+      startY = latitudeToY(startLatitude);
+    }
+    if (endValue.getLatitude() != endLatitude) {
+      endLatitude = endValue.getLatitude();
+      endY = latitudeToY(endLatitude);
+    }
+
+    latLng.setLatitude(yToLatitude(startY + ((endY - startY) * fraction)));
+    latLng.setLongitude(wrap(startValue.getLongitude()
+      + (shortestLongitudeDelta(startValue.getLongitude(), endValue.getLongitude()) * fraction)));
+    return latLng;
+  }
+
+  static double latitudeToY(double latitude) {
+    double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+    return Math.log(Math.tan(Math.PI / 4 + Math.toRadians(clamped) / 2));
+  }
+
+  static double yToLatitude(double y) {
+    return Math.toDegrees(2 * Math.atan(Math.exp(y)) - Math.PI / 2);
+  }
+
+  static double shortestLongitudeDelta(double startLongitude, double endLongitude) {
+    double delta = (endLongitude - startLongitude) % 360;
+    if (delta > 180) {
+      delta -= 360;
+    } else if (delta < -180) {
+      delta += 360;
+    }
+    return delta;
+  }
+
+  static double wrap(double longitude) {
+    if (longitude > 180 || longitude < -180) {
+      longitude = ((longitude + 180) % 360 + 360) % 360 - 180;
+    }
+    return longitude;
+  }
+}
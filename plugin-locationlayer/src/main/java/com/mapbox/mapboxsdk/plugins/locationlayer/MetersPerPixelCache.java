@@ -0,0 +1,50 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+
+import java.util.Arrays;
+
+/**
+ * Caches the meters per pixel of the map per zoom and latitude bucket.
+ * <p>
+ * Querying the projection crosses into native code, during a zoom gesture it would be queried on every camera
+ * move. Zoom levels are bucketed to 1/16 of a level and latitudes to a tenth of a degree, which keeps the error
+ * of the cached scale around 2%. The cache is direct mapped, a lookup doesn't allocate.
+ */
+final class MetersPerPixelCache {
+
+  private static final int SIZE = 64;
+  private static final int ZOOM_BUCKETS_PER_LEVEL = 16;
+  private static final int LATITUDE_BUCKETS_PER_DEGREE = 10;
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private final MapboxMap mapboxMap;
+  private final long[] keys = new long[SIZE];
+  private final double[] values = new double[SIZE];
+
+  MetersPerPixelCache(MapboxMap mapboxMap) {
+    this.mapboxMap = mapboxMap;
+    Arrays.fill(keys, EMPTY);
+  }
+
+  /**
+   * Returns the meters per pixel at the given latitude, the zoom has to be the current zoom of the map.
+   */
+  double getMetersPerPixel(double latitude, double zoom) {
+    long zoomBucket = Math.round(zoom * ZOOM_BUCKETS_PER_LEVEL);
+    long latitudeBucket = Math.round(latitude * LATITUDE_BUCKETS_PER_DEGREE);
+    long key = (zoomBucket << 32) | (latitudeBucket & 0xffffffffL);
+    int index = (int) ((key ^ (key >>> 32) ^ (key >>> 7)) & (SIZE - 1));
+    if (keys[index] == key) {
+      return values[index];
+    }
+
+    double metersPerPixel = mapboxMap.getProjection().getMetersPerPixelAtLatitude(latitude);
+    if (metersPerPixel > 0) {
+      // the projection isn't valid before the map has a size
+      keys[index] = key;
+      values[index] = metersPerPixel;
+    }
+    return metersPerPixel;
+  }
+}
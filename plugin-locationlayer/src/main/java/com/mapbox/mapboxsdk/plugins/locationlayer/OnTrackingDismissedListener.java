@@ -0,0 +1,17 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+/**
+ * Listener that gets invoked with the cause whenever location tracking of the camera is dismissed.
+ *
+ * @since 0.9.0
+ */
+public interface OnTrackingDismissedListener {
+  /**
+   * Invoked whenever location tracking is dismissed.
+   *
+   * @param cause                  the cause of the dismissal
+   * @param trackingDurationMillis the time in milliseconds the camera was tracking the location before
+   * @since 0.9.0
+   */
+  void onTrackingDismissed(@TrackingMetrics.DismissalCause int cause, long trackingDurationMillis);
+}
@@ -1,8 +1,8 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.TypeEvaluator;
-import android.animation.ValueAnimator;
+import android.animation.TimeInterpolator;
 import android.support.annotation.IntDef;
+import android.view.animation.AccelerateDecelerateInterpolator;
 
 import com.mapbox.mapboxsdk.geometry.LatLng;
 
@@ -12,11 +12,15 @@ import java.util.List;
 
 /**
  * Abstract class for all of the plugin animators.
+ * <p>
+ * Animators don't drive themselves, the {@link PluginAnimatorCoordinator} advances all running animators
+ * from a single frame callback with {@link #onFrame(long)}. Subclasses keep their values in primitive or mutable
+ * fields, retargeting an animator and evaluating a frame doesn't allocate.
  *
  * @param <K> Data type that will be animated.
  * @param <L> Listener of animation updates.
  */
-abstract class PluginAnimator<K, L> extends ValueAnimator implements ValueAnimator.AnimatorUpdateListener {
+abstract class PluginAnimator<K, L> {
   @Retention(RetentionPolicy.SOURCE)
   @IntDef( {
     ANIMATOR_LAYER_LATLNG,
@@ -42,20 +46,105 @@ abstract class PluginAnimator<K, L> extends ValueAnimator implements ValueAnimat
   static final int ANIMATOR_ZOOM = 7;
   static final int ANIMATOR_TILT = 8;
 
+  private static final TimeInterpolator DEFAULT_INTERPOLATOR = new AccelerateDecelerateInterpolator();
+
   private final int animatorType = provideAnimatorType();
   final List<L> updateListeners;
-  private final K target;
+  private TimeInterpolator interpolator = DEFAULT_INTERPOLATOR;
+  private long duration;
+  private long startTime;
+  private boolean running;
 
-  PluginAnimator(K previous, K target, List<L> updateListeners) {
-    setObjectValues(previous, target);
-    setEvaluator(provideEvaluator());
+  PluginAnimator(List<L> updateListeners) {
     this.updateListeners = updateListeners;
-    this.target = target;
-    addUpdateListener(this);
   }
 
-  K getTarget() {
-    return target;
+  abstract K getPrevious();
+
+  abstract K getTarget();
+
+  abstract K getAnimatedValue();
+
+  long getDuration() {
+    return duration;
+  }
+
+  void setDuration(long duration) {
+    this.duration = duration;
+  }
+
+  void setInterpolator(TimeInterpolator interpolator) {
+    this.interpolator = interpolator;
+  }
+
+  boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Returns the fraction of the animation that elapsed at the given frame time, or -1 if the animator
+   * hasn't received its first frame yet.
+   */
+  float getElapsedFraction(long frameTimeMillis) {
+    if (startTime < 0) {
+      return -1;
+    }
+    return duration > 0 ? Math.min(1f, (float) (frameTimeMillis - startTime) / duration) : 1f;
+  }
+
+  /**
+   * Marks the animator as running, the animation starts with the next frame.
+   */
+  void start() {
+    running = true;
+    startTime = -1;
+  }
+
+  void cancel() {
+    if (running) {
+      running = false;
+      onAnimationCancel();
+    }
+  }
+
+  /**
+   * Evaluates the value for the given frame and dispatches it to the update listeners.
+   *
+   * @param frameTimeMillis the current frame time
+   * @return true if the animator is still running after this frame
+   */
+  boolean onFrame(long frameTimeMillis) {
+    if (!running) {
+      return false;
+    }
+
+    if (startTime < 0) {
+      startTime = frameTimeMillis;
+    }
+
+    float fraction = getElapsedFraction(frameTimeMillis);
+    evaluate(interpolator.getInterpolation(fraction));
+
+    if (fraction >= 1f) {
+      running = false;
+      onAnimationEnd();
+    }
+    return running;
+  }
+
+  /**
+   * Evaluates the value at the interpolated fraction of the animation and dispatches it to the update listeners.
+   *
+   * @param fraction the interpolated fraction, 0 at the previous value and 1 at the target value
+   */
+  abstract void evaluate(float fraction);
+
+  void onAnimationEnd() {
+    // no default implementation
+  }
+
+  void onAnimationCancel() {
+    // no default implementation
   }
 
   @Type
@@ -66,8 +155,6 @@ abstract class PluginAnimator<K, L> extends ValueAnimator implements ValueAnimat
   @Type
   abstract int provideAnimatorType();
 
-  abstract TypeEvaluator provideEvaluator();
-
   interface OnLayerAnimationsValuesChangeListener {
     void onNewLatLngValue(LatLng latLng);
 
@@ -76,6 +163,11 @@ abstract class PluginAnimator<K, L> extends ValueAnimator implements ValueAnimat
     void onNewCompassBearingValue(float compassBearing);
 
     void onNewAccuracyRadiusValue(float accuracyRadiusValue);
+
+    /**
+     * Invoked once all of the values of a frame have been dispatched.
+     */
+    void onAnimationFrameEnd();
   }
 
   interface OnCameraAnimationsValuesChangeListener {
@@ -88,5 +180,10 @@ abstract class PluginAnimator<K, L> extends ValueAnimator implements ValueAnimat
     void onNewZoomValue(float zoom);
 
     void onNewTiltValue(float tilt);
+
+    /**
+     * Invoked once all of the values of a frame have been dispatched.
+     */
+    void onAnimationFrameEnd();
   }
 }
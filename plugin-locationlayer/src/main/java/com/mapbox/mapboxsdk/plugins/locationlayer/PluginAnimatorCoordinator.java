@@ -1,7 +1,5 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.Animator;
-import android.animation.AnimatorSet;
 import android.annotation.SuppressLint;
 import android.location.Location;
 import android.os.SystemClock;
@@ -19,7 +17,10 @@ import java.util.List;
 import java.util.Map;
 
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.ACCURACY_RADIUS_ANIMATION_DURATION;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.ADAPTIVE_MIN_FRAME_BEARING_DELTA;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.ADAPTIVE_MIN_FRAME_PIXEL_DELTA;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPASS_UPDATE_RATE_MS;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.EXTRAPOLATION_MIN_SPEED_MPS;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.MAX_ANIMATION_DURATION_MS;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRANSITION_ANIMATION_DURATION_MS;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.PluginAnimator.ANIMATOR_CAMERA_COMPASS_BEARING;
@@ -32,7 +33,7 @@ import static com.mapbox.mapboxsdk.plugins.locationlayer.PluginAnimator.ANIMATOR
 import static com.mapbox.mapboxsdk.plugins.locationlayer.PluginAnimator.ANIMATOR_TILT;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.PluginAnimator.ANIMATOR_ZOOM;
 
-final class PluginAnimatorCoordinator {
+final class PluginAnimatorCoordinator implements FrameScheduler.OnFrameListener {
 
   @SuppressLint("UseSparseArrays")
   final Map<Integer, PluginAnimator> animatorMap = new HashMap<>();
@@ -40,10 +41,121 @@ final class PluginAnimatorCoordinator {
   final List<PluginAnimator.OnLayerAnimationsValuesChangeListener> layerListeners = new ArrayList<>();
   final List<PluginAnimator.OnCameraAnimationsValuesChangeListener> cameraListeners = new ArrayList<>();
 
+  private final LayerLatLngAnimator layerLatLngAnimator =
+    new LayerLatLngAnimator(new LatLng(), new LatLng(), layerListeners);
+  private final LayerGpsBearingAnimator layerGpsBearingAnimator =
+    new LayerGpsBearingAnimator(0f, 0f, layerListeners);
+  private final LayerCompassBearingAnimator layerCompassBearingAnimator =
+    new LayerCompassBearingAnimator(0f, 0f, layerListeners);
+  private final LayerAccuracyAnimator layerAccuracyAnimator =
+    new LayerAccuracyAnimator(0f, 0f, layerListeners);
+  private final CameraLatLngAnimator cameraLatLngAnimator =
+    new CameraLatLngAnimator(new LatLng(), new LatLng(), cameraListeners);
+  private final CameraGpsBearingAnimator cameraGpsBearingAnimator =
+    new CameraGpsBearingAnimator(0f, 0f, cameraListeners);
+  private final CameraCompassBearingAnimator cameraCompassBearingAnimator =
+    new CameraCompassBearingAnimator(0f, 0f, cameraListeners);
+  private final ZoomAnimator zoomAnimator = new ZoomAnimator(0f, 0f, cameraListeners, null);
+  private final TiltAnimator tiltAnimator = new TiltAnimator(0f, 0f, cameraListeners, null);
+
+  private final PluginAnimator[] animators = {
+    layerLatLngAnimator, layerGpsBearingAnimator, layerCompassBearingAnimator, layerAccuracyAnimator,
+    cameraLatLngAnimator, cameraGpsBearingAnimator, cameraCompassBearingAnimator, zoomAnimator, tiltAnimator
+  };
+  private final FrameScheduler frameScheduler;
+  @Nullable
+  private TrackingMetricsRecorder trackingMetricsRecorder;
+
+  // reused for every location update, the animators copy the values when retargeted
+  private final LatLng previousLatLng = new LatLng();
+  private final LatLng targetLatLng = new LatLng();
+
   private Location previousLocation;
   private float previousAccuracyRadius = -1;
   private float previousCompassBearing = -1;
   private long locationUpdateTimestamp = -1;
+  private boolean extrapolationEnabled;
+  private boolean adaptiveAnimationsEnabled;
+  private boolean locationsStale;
+  private boolean mercatorInterpolation;
+  private int maxAnimationFps = Integer.MAX_VALUE;
+  private long minFrameIntervalMillis;
+  private double minFrameDistanceMeters;
+  private long lastFrameTimeMillis = -1;
+
+  PluginAnimatorCoordinator() {
+    this.frameScheduler = FrameScheduler.create(this);
+
+    // location animators are always played linearly
+    LinearInterpolator linearInterpolator = new LinearInterpolator();
+    layerLatLngAnimator.setInterpolator(linearInterpolator);
+    layerGpsBearingAnimator.setInterpolator(linearInterpolator);
+    cameraLatLngAnimator.setInterpolator(linearInterpolator);
+    cameraGpsBearingAnimator.setInterpolator(linearInterpolator);
+  }
+
+  void setExtrapolationEnabled(boolean extrapolationEnabled) {
+    this.extrapolationEnabled = extrapolationEnabled;
+  }
+
+  boolean isExtrapolationEnabled() {
+    return extrapolationEnabled;
+  }
+
+  void setAdaptiveAnimationsEnabled(boolean adaptiveAnimationsEnabled) {
+    this.adaptiveAnimationsEnabled = adaptiveAnimationsEnabled;
+    if (isCompassSuspended()) {
+      cancelCompassAnimators();
+    }
+  }
+
+  boolean isAdaptiveAnimationsEnabled() {
+    return adaptiveAnimationsEnabled;
+  }
+
+  void setMaxAnimationFps(int maxAnimationFps) {
+    this.maxAnimationFps = maxAnimationFps;
+    // frame times are vsync aligned and truncated to milliseconds, allow a frame arriving slightly early
+    minFrameIntervalMillis = Math.max(0, 1000 / maxAnimationFps - 1);
+  }
+
+  int getMaxAnimationFps() {
+    return maxAnimationFps;
+  }
+
+  /**
+   * Updates the refresh rate of the display the animation frames are synced with.
+   */
+  void setDisplayRefreshRate(float refreshRate) {
+    frameScheduler.setDisplayRefreshRate(refreshRate);
+  }
+
+  void setTrackingMetricsRecorder(@Nullable TrackingMetricsRecorder trackingMetricsRecorder) {
+    this.trackingMetricsRecorder = trackingMetricsRecorder;
+  }
+
+  void setMercatorInterpolation(boolean mercatorInterpolation) {
+    if (this.mercatorInterpolation == mercatorInterpolation) {
+      return;
+    }
+    this.mercatorInterpolation = mercatorInterpolation;
+    layerLatLngAnimator.setMercatorInterpolation(mercatorInterpolation);
+    cameraLatLngAnimator.setMercatorInterpolation(mercatorInterpolation);
+  }
+
+  /**
+   * Updates the scale used to convert the minimum on screen change of a frame to a distance on the map.
+   */
+  void setMetersPerPixel(double metersPerPixel) {
+    minFrameDistanceMeters = metersPerPixel * ADAPTIVE_MIN_FRAME_PIXEL_DELTA;
+  }
+
+  void setLocationsStale(boolean locationsStale) {
+    this.locationsStale = locationsStale;
+    if (isCompassSuspended()) {
+      cancelCompassAnimators();
+    }
+  }
 
   void addLayerListener(PluginAnimator.OnLayerAnimationsValuesChangeListener listener) {
     layerListeners.add(listener);
@@ -73,7 +185,8 @@ final class PluginAnimatorCoordinator {
     LatLng previousCameraLatLng = currentCameraPosition.target;
     float previousCameraBearing = (float) currentCameraPosition.bearing;
 
-    LatLng targetLatLng = new LatLng(newLocation);
+    long animationDuration = getAnimationDuration();
+    LatLng targetLatLng = getTargetLatLng(newLocation, animationDuration);
     float targetLayerBearing = newLocation.getBearing();
     float targetCameraBearing = newLocation.getBearing();
     targetCameraBearing = checkGpsNorth(isGpsNorth, targetCameraBearing);
@@ -81,12 +194,26 @@ final class PluginAnimatorCoordinator {
     updateLayerAnimators(previousLayerLatLng, targetLatLng, previousLayerBearing, targetLayerBearing);
     updateCameraAnimators(previousCameraLatLng, previousCameraBearing, targetLatLng, targetCameraBearing);
 
-    playLocationAnimators(getAnimationDuration());
+    playLocationAnimators(animationDuration);
 
     previousLocation = newLocation;
   }
 
   void feedNewCompassBearing(float targetCompassBearing, @NonNull CameraPosition currentCameraPosition) {
+    feedNewCompassBearing(targetCompassBearing, currentCameraPosition, COMPASS_UPDATE_RATE_MS);
+  }
+
+  /**
+   * Animates to a new compass bearing.
+   *
+   * @param animationDuration the interval until the next bearing is expected, the animation ends with it
+   */
+  void feedNewCompassBearing(float targetCompassBearing, @NonNull CameraPosition currentCameraPosition,
+                             long animationDuration) {
+    if (isCompassSuspended()) {
+      return;
+    }
+
     if (previousCompassBearing < 0) {
       previousCompassBearing = targetCompassBearing;
     }
@@ -95,7 +222,7 @@ final class PluginAnimatorCoordinator {
     float previousCameraBearing = (float) currentCameraPosition.bearing;
 
     updateCompassAnimators(targetCompassBearing, previousLayerBearing, previousCameraBearing);
-    playCompassAnimators(COMPASS_UPDATE_RATE_MS);
+    playCompassAnimators(animationDuration);
 
     previousCompassBearing = targetCompassBearing;
   }
@@ -124,14 +251,30 @@ final class PluginAnimatorCoordinator {
     playTiltAnimator(animationDuration);
   }
 
+  /**
+   * When extrapolating, the location is predicted forward along its bearing by the distance travelled until the
+   * next update is expected. The animation then reaches the predicted position when the next fix arrives, instead of
+   * lagging one fix behind, and every new fix smoothly corrects the prediction from the current puck position.
+   */
+  private LatLng getTargetLatLng(Location location, long animationDuration) {
+    targetLatLng.setLatitude(location.getLatitude());
+    targetLatLng.setLongitude(location.getLongitude());
+    if (!extrapolationEnabled || !location.hasSpeed() || !location.hasBearing()
+      || location.getSpeed() < EXTRAPOLATION_MIN_SPEED_MPS) {
+      return targetLatLng;
+    }
+    double distance = location.getSpeed() * (animationDuration / 1000d);
+    return Utils.extrapolate(targetLatLng, location.getBearing(), distance);
+  }
+
   private LatLng getPreviousLayerLatLng() {
-    LatLng previousLatLng;
-    PluginAnimator latLngAnimator = animatorMap.get(ANIMATOR_LAYER_LATLNG);
-    if (latLngAnimator != null) {
-      previousLatLng = (LatLng) latLngAnimator.getAnimatedValue();
-    } else {
-      previousLatLng = new LatLng(previousLocation);
+    LayerLatLngAnimator animator = (LayerLatLngAnimator) animatorMap.get(ANIMATOR_LAYER_LATLNG);
+    if (animator != null) {
+      // the evaluator reuses its value instance, retargeting copies it before the next frame is evaluated
+      return animator.getAnimatedValue();
     }
+    previousLatLng.setLatitude(previousLocation.getLatitude());
+    previousLatLng.setLongitude(previousLocation.getLongitude());
     return previousLatLng;
   }
 
@@ -139,7 +282,7 @@ final class PluginAnimatorCoordinator {
     LayerGpsBearingAnimator animator = (LayerGpsBearingAnimator) animatorMap.get(ANIMATOR_LAYER_GPS_BEARING);
     float previousBearing;
     if (animator != null) {
-      previousBearing = (float) animator.getAnimatedValue();
+      previousBearing = animator.getAnimatedFloat();
     } else {
       previousBearing = previousLocation.getBearing();
     }
@@ -152,7 +295,7 @@ final class PluginAnimatorCoordinator {
 
     float previousBearing;
     if (animator != null) {
-      previousBearing = (float) animator.getAnimatedValue();
+      previousBearing = animator.getAnimatedFloat();
     } else {
       previousBearing = previousCompassBearing;
     }
@@ -163,7 +306,7 @@ final class PluginAnimatorCoordinator {
     LayerAccuracyAnimator animator = (LayerAccuracyAnimator) animatorMap.get(ANIMATOR_LAYER_ACCURACY);
     float previousRadius;
     if (animator != null) {
-      previousRadius = (float) animator.getAnimatedValue();
+      previousRadius = animator.getAnimatedFloat();
     } else {
       previousRadius = previousAccuracyRadius;
     }
@@ -172,49 +315,43 @@ final class PluginAnimatorCoordinator {
 
   private void updateLayerAnimators(LatLng previousLatLng, LatLng targetLatLng,
                                     float previousBearing, float targetBearing) {
-    createNewAnimator(ANIMATOR_LAYER_LATLNG, new LayerLatLngAnimator(previousLatLng, targetLatLng, layerListeners));
+    retargetAnimator(layerLatLngAnimator, previousLatLng, targetLatLng);
 
     float normalizedLayerBearing = Utils.shortestRotation(targetBearing, previousBearing);
-    createNewAnimator(ANIMATOR_LAYER_GPS_BEARING,
-      new LayerGpsBearingAnimator(previousBearing, normalizedLayerBearing, layerListeners));
+    retargetAnimator(layerGpsBearingAnimator, previousBearing, normalizedLayerBearing);
   }
 
   private void updateCameraAnimators(LatLng previousCameraLatLng, float previousCameraBearing,
                                      LatLng targetLatLng, float targetBearing) {
-    createNewAnimator(ANIMATOR_CAMERA_LATLNG,
-      new CameraLatLngAnimator(previousCameraLatLng, targetLatLng, cameraListeners));
+    retargetAnimator(cameraLatLngAnimator, previousCameraLatLng, targetLatLng);
 
     float normalizedCameraBearing = Utils.shortestRotation(targetBearing, previousCameraBearing);
-    createNewAnimator(ANIMATOR_CAMERA_GPS_BEARING,
-      new CameraGpsBearingAnimator(previousCameraBearing, normalizedCameraBearing, cameraListeners));
+    retargetAnimator(cameraGpsBearingAnimator, previousCameraBearing, normalizedCameraBearing);
   }
 
   private void updateCompassAnimators(float targetCompassBearing, float previousLayerBearing,
                                       float previousCameraBearing) {
     float normalizedLayerBearing = Utils.shortestRotation(targetCompassBearing, previousLayerBearing);
-    createNewAnimator(ANIMATOR_LAYER_COMPASS_BEARING,
-      new LayerCompassBearingAnimator(previousLayerBearing, normalizedLayerBearing, layerListeners));
+    retargetAnimator(layerCompassBearingAnimator, previousLayerBearing, normalizedLayerBearing);
 
     float normalizedCameraBearing = Utils.shortestRotation(targetCompassBearing, previousCameraBearing);
-    createNewAnimator(ANIMATOR_CAMERA_COMPASS_BEARING,
-      new CameraCompassBearingAnimator(previousCameraBearing, normalizedCameraBearing, cameraListeners));
+    retargetAnimator(cameraCompassBearingAnimator, previousCameraBearing, normalizedCameraBearing);
   }
 
   private void updateAccuracyAnimators(float targetAccuracyRadius, float previousAccuracyRadius) {
-    createNewAnimator(ANIMATOR_LAYER_ACCURACY,
-      new LayerAccuracyAnimator(previousAccuracyRadius, targetAccuracyRadius, layerListeners));
+    retargetAnimator(layerAccuracyAnimator, previousAccuracyRadius, targetAccuracyRadius);
   }
 
   private void updateZoomAnimator(float targetZoomLevel, float previousZoomLevel,
                                   @Nullable MapboxMap.CancelableCallback cancelableCallback) {
-    createNewAnimator(ANIMATOR_ZOOM,
-      new ZoomAnimator(previousZoomLevel, targetZoomLevel, cameraListeners, cancelableCallback));
+    retargetAnimator(zoomAnimator, previousZoomLevel, targetZoomLevel);
+    zoomAnimator.setCancelableCallback(cancelableCallback);
   }
 
   private void updateTiltAnimator(float targetTilt, float previousTiltLevel,
                                   @Nullable MapboxMap.CancelableCallback cancelableCallback) {
-    createNewAnimator(ANIMATOR_TILT,
-      new TiltAnimator(previousTiltLevel, targetTilt, cameraListeners, cancelableCallback));
+    retargetAnimator(tiltAnimator, previousTiltLevel, targetTilt);
+    tiltAnimator.setCancelableCallback(cancelableCallback);
   }
 
   private long getAnimationDuration() {
@@ -225,8 +362,9 @@ final class PluginAnimatorCoordinator {
     if (previousUpdateTimeStamp == 0) {
       animationDuration = 0;
     } else {
-      animationDuration = (long) ((locationUpdateTimestamp - previousUpdateTimeStamp) * 1.1f)
-      /*make animation slightly longer*/;
+      long updateInterval = locationUpdateTimestamp - previousUpdateTimeStamp;
+      animationDuration = extrapolationEnabled ? updateInterval
+        : (long) (updateInterval * 1.1f) /*make animation slightly longer*/;
     }
 
     animationDuration = Math.min(animationDuration, MAX_ANIMATION_DURATION_MS);
@@ -242,55 +380,151 @@ final class PluginAnimatorCoordinator {
   }
 
   private void playLocationAnimators(long duration) {
-    List<Animator> locationAnimators = new ArrayList<>();
-    locationAnimators.add(animatorMap.get(ANIMATOR_LAYER_LATLNG));
-    locationAnimators.add(animatorMap.get(ANIMATOR_LAYER_GPS_BEARING));
-    locationAnimators.add(animatorMap.get(ANIMATOR_CAMERA_LATLNG));
-    locationAnimators.add(animatorMap.get(ANIMATOR_CAMERA_GPS_BEARING));
-    AnimatorSet locationAnimatorSet = new AnimatorSet();
-    locationAnimatorSet.playTogether(locationAnimators);
-    locationAnimatorSet.setInterpolator(new LinearInterpolator());
-    locationAnimatorSet.setDuration(duration);
-    locationAnimatorSet.start();
+    playAnimator(layerLatLngAnimator, duration);
+    playAnimator(layerGpsBearingAnimator, duration);
+    playCameraLocationAnimators(duration);
   }
 
   private void playCompassAnimators(long duration) {
-    List<Animator> compassAnimators = new ArrayList<>();
-    compassAnimators.add(animatorMap.get(ANIMATOR_LAYER_COMPASS_BEARING));
-    compassAnimators.add(animatorMap.get(ANIMATOR_CAMERA_COMPASS_BEARING));
-    AnimatorSet compassAnimatorSet = new AnimatorSet();
-    compassAnimatorSet.playTogether(compassAnimators);
-    compassAnimatorSet.setDuration(duration);
-    compassAnimatorSet.start();
+    playAnimator(layerCompassBearingAnimator, duration);
+    playAnimator(cameraCompassBearingAnimator, duration);
   }
 
   private void playAccuracyAnimator(long duration) {
-    PluginAnimator animator = animatorMap.get(ANIMATOR_LAYER_ACCURACY);
-    animator.setDuration(duration);
-    animator.start();
+    playAnimator(layerAccuracyAnimator, duration);
   }
 
   private void playZoomAnimator(long duration) {
-    PluginAnimator animator = animatorMap.get(ANIMATOR_ZOOM);
-    animator.setDuration(duration);
-    animator.start();
+    playAnimator(zoomAnimator, duration);
   }
 
   private void playTiltAnimator(long duration) {
-    PluginAnimator animator = animatorMap.get(ANIMATOR_TILT);
+    playAnimator(tiltAnimator, duration);
+  }
+
+  private void playCameraLocationAnimators(long duration) {
+    playAnimator(cameraLatLngAnimator, duration);
+    playAnimator(cameraGpsBearingAnimator, duration);
+  }
+
+  private void playAnimator(PluginAnimator animator, long duration) {
+    if (animatorMap.get(animator.getAnimatorType()) != animator) {
+      // never fed or canceled
+      return;
+    }
     animator.setDuration(duration);
     animator.start();
+    frameScheduler.scheduleFrame();
+  }
+
+  /**
+   * Advances all running animators with a single frame callback, the listeners get notified once all
+   * of the values were dispatched so they can apply them with a single source and camera update.
+   */
+  @Override
+  public void onFrame(long frameTimeMillis) {
+    // frames skipped below are still display frames of the camera animation, they are recorded first
+    boolean cameraAnimating = isCameraAnimating();
+    if (cameraAnimating && trackingMetricsRecorder != null) {
+      trackingMetricsRecorder.onCameraFrame(frameTimeMillis, frameScheduler.getFrameIntervalMillis());
+    }
+
+    if (isFrameThrottled(frameTimeMillis)
+      || (adaptiveAnimationsEnabled && isFrameBelowChangeThreshold(frameTimeMillis))) {
+      // animators are time based, skipping a frame only defers the values to the next one
+      frameScheduler.scheduleFrame();
+      return;
+    }
+    lastFrameTimeMillis = frameTimeMillis;
+
+    boolean running = false;
+    for (PluginAnimator animator : animators) {
+      if (animator.isRunning()) {
+        running |= animator.onFrame(frameTimeMillis);
+      }
+    }
+
+    // the camera goes first, moving it can invalidate layer properties that are flushed with the layer frame
+    for (PluginAnimator.OnCameraAnimationsValuesChangeListener listener : cameraListeners) {
+      listener.onAnimationFrameEnd();
+    }
+    for (PluginAnimator.OnLayerAnimationsValuesChangeListener listener : layerListeners) {
+      listener.onAnimationFrameEnd();
+    }
+
+    if (cameraAnimating && !isCameraAnimating() && trackingMetricsRecorder != null) {
+      trackingMetricsRecorder.onCameraAnimationEnd();
+    }
+
+    if (running) {
+      frameScheduler.scheduleFrame();
+    }
   }
 
-  private void playCameraLocationAnimators(long duration) {
-    List<Animator> locationAnimators = new ArrayList<>();
-    locationAnimators.add(animatorMap.get(ANIMATOR_CAMERA_LATLNG));
-    locationAnimators.add(animatorMap.get(ANIMATOR_CAMERA_GPS_BEARING));
-    AnimatorSet locationAnimatorSet = new AnimatorSet();
-    locationAnimatorSet.playTogether(locationAnimators);
-    locationAnimatorSet.setInterpolator(new LinearInterpolator());
-    locationAnimatorSet.setDuration(duration);
-    locationAnimatorSet.start();
+  private boolean isCameraAnimating() {
+    return cameraLatLngAnimator.isRunning() || cameraGpsBearingAnimator.isRunning()
+      || cameraCompassBearingAnimator.isRunning() || zoomAnimator.isRunning() || tiltAnimator.isRunning();
+  }
+
+  private boolean isFrameThrottled(long frameTimeMillis) {
+    return lastFrameTimeMillis >= 0 && frameTimeMillis - lastFrameTimeMillis < minFrameIntervalMillis;
+  }
+
+  /**
+   * Checks whether none of the running animators would visibly change since the last dispatched frame.
+   * The change is estimated from the average rate of each animation, frames that start or end an animation
+   * are always dispatched.
+   */
+  private boolean isFrameBelowChangeThreshold(long frameTimeMillis) {
+    boolean running = false;
+    for (PluginAnimator animator : animators) {
+      if (!animator.isRunning()) {
+        continue;
+      }
+      running = true;
+
+      float fraction = animator.getElapsedFraction(frameTimeMillis);
+      if (fraction < 0 || fraction >= 1f) {
+        return false;
+      }
+      float progress = (float) (frameTimeMillis - lastFrameTimeMillis) / animator.getDuration();
+
+      switch (animator.getAnimatorType()) {
+        case ANIMATOR_LAYER_LATLNG:
+        case ANIMATOR_CAMERA_LATLNG:
+          PluginLatLngAnimator<?> latLngAnimator = (PluginLatLngAnimator<?>) animator;
+          double distance = latLngAnimator.getPrevious().distanceTo(latLngAnimator.getTarget());
+          if (distance * progress >= minFrameDistanceMeters) {
+            return false;
+          }
+          break;
+        case ANIMATOR_LAYER_GPS_BEARING:
+        case ANIMATOR_CAMERA_GPS_BEARING:
+        case ANIMATOR_LAYER_COMPASS_BEARING:
+        case ANIMATOR_CAMERA_COMPASS_BEARING:
+          PluginFloatAnimator<?> bearingAnimator = (PluginFloatAnimator<?>) animator;
+          float rotation = Math.abs(bearingAnimator.getTargetFloat() - bearingAnimator.getPreviousFloat());
+          if (rotation * progress >= ADAPTIVE_MIN_FRAME_BEARING_DELTA) {
+            return false;
+          }
+          break;
+        default:
+          return false;
+      }
+    }
+    return running;
+  }
+
+  /**
+   * With adaptive animations the compass is not animated while the location is stale.
+   */
+  private boolean isCompassSuspended() {
+    return adaptiveAnimationsEnabled && locationsStale;
+  }
+
+  private void cancelCompassAnimators() {
+    cancelAnimator(ANIMATOR_LAYER_COMPASS_BEARING);
+    cancelAnimator(ANIMATOR_CAMERA_COMPASS_BEARING);
   }
 
   void resetAllCameraAnimations(CameraPosition currentCameraPosition, boolean isGpsNorth) {
@@ -312,8 +546,7 @@ final class PluginAnimatorCoordinator {
 
     LatLng currentTarget = animator.getTarget();
     LatLng previousCameraTarget = currentCameraPosition.target;
-    createNewAnimator(ANIMATOR_CAMERA_LATLNG,
-      new CameraLatLngAnimator(previousCameraTarget, currentTarget, cameraListeners));
+    retargetAnimator(animator, previousCameraTarget, currentTarget);
   }
 
   private void resetCameraGpsBearingAnimation(CameraPosition currentCameraPosition, boolean isGpsNorth) {
@@ -322,12 +555,11 @@ final class PluginAnimatorCoordinator {
       return;
     }
 
-    float currentTargetBearing = animator.getTarget();
+    float currentTargetBearing = animator.getTargetFloat();
     currentTargetBearing = checkGpsNorth(isGpsNorth, currentTargetBearing);
     float previousCameraBearing = (float) currentCameraPosition.bearing;
     float normalizedCameraBearing = Utils.shortestRotation(currentTargetBearing, previousCameraBearing);
-    createNewAnimator(ANIMATOR_CAMERA_GPS_BEARING,
-      new CameraGpsBearingAnimator(previousCameraBearing, normalizedCameraBearing, cameraListeners));
+    retargetAnimator(animator, previousCameraBearing, normalizedCameraBearing);
   }
 
   private void resetCameraCompassAnimation(CameraPosition currentCameraPosition) {
@@ -337,16 +569,26 @@ final class PluginAnimatorCoordinator {
       return;
     }
 
-    float currentTargetBearing = animator.getTarget();
+    float currentTargetBearing = animator.getTargetFloat();
     float previousCameraBearing = (float) currentCameraPosition.bearing;
     float normalizedCameraBearing = Utils.shortestRotation(currentTargetBearing, previousCameraBearing);
-    createNewAnimator(ANIMATOR_CAMERA_COMPASS_BEARING,
-      new CameraCompassBearingAnimator(previousCameraBearing, normalizedCameraBearing, cameraListeners));
+    retargetAnimator(animator, previousCameraBearing, normalizedCameraBearing);
+  }
+
+  /**
+   * Cancels the animator if it's running, points it at the new values and marks it as active.
+   * Animators are long-lived, retargeting them avoids allocating new animators for every update.
+   */
+  private void retargetAnimator(PluginFloatAnimator<?> animator, float previous, float target) {
+    animator.cancel();
+    animator.retarget(previous, target);
+    animatorMap.put(animator.getAnimatorType(), animator);
   }
 
-  private void createNewAnimator(@PluginAnimator.Type int animatorType, PluginAnimator animator) {
-    cancelAnimator(animatorType);
-    animatorMap.put(animatorType, animator);
+  private void retargetAnimator(PluginLatLngAnimator<?> animator, LatLng previous, LatLng target) {
+    animator.cancel();
+    animator.retarget(previous, target);
+    animatorMap.put(animator.getAnimatorType(), animator);
   }
 
   void cancelZoomAnimation() {
@@ -361,14 +603,13 @@ final class PluginAnimatorCoordinator {
     for (@PluginAnimator.Type int animatorType : animatorMap.keySet()) {
       cancelAnimator(animatorType);
     }
+    frameScheduler.cancelFrame();
   }
 
   private void cancelAnimator(@PluginAnimator.Type int animatorType) {
     PluginAnimator animator = animatorMap.get(animatorType);
     if (animator != null) {
       animator.cancel();
-      animator.removeAllUpdateListeners();
-      animator.removeAllListeners();
       animatorMap.put(animatorType, null);
     }
   }
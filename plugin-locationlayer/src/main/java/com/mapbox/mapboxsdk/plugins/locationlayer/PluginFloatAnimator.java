@@ -1,17 +1,66 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.FloatEvaluator;
-import android.animation.TypeEvaluator;
-
 import java.util.List;
 
+/**
+ * Animates a float without boxing, the values are kept in primitive fields and evaluated linearly.
+ */
 abstract class PluginFloatAnimator<L> extends PluginAnimator<Float, L> {
-  PluginFloatAnimator(Float previous, Float target, List<L> updateListeners) {
-    super(previous, target, updateListeners);
+
+  private float previous;
+  private float target;
+  private float animatedValue;
+
+  PluginFloatAnimator(float previous, float target, List<L> updateListeners) {
+    super(updateListeners);
+    retarget(previous, target);
+  }
+
+  /**
+   * Point this animator at new values so it can be started again without creating a new instance.
+   * The animator has to be canceled or ended before it's retargeted.
+   *
+   * @param previous the value to animate from
+   * @param target   the value to animate to
+   */
+  void retarget(float previous, float target) {
+    this.previous = previous;
+    this.target = target;
+    this.animatedValue = previous;
+  }
+
+  float getPreviousFloat() {
+    return previous;
+  }
+
+  float getTargetFloat() {
+    return target;
+  }
+
+  float getAnimatedFloat() {
+    return animatedValue;
   }
 
   @Override
-  TypeEvaluator provideEvaluator() {
-    return new FloatEvaluator();
+  Float getPrevious() {
+    return previous;
   }
+
+  @Override
+  Float getTarget() {
+    return target;
+  }
+
+  @Override
+  Float getAnimatedValue() {
+    return animatedValue;
+  }
+
+  @Override
+  void evaluate(float fraction) {
+    animatedValue = previous + fraction * (target - previous);
+    onAnimationUpdate(animatedValue);
+  }
+
+  abstract void onAnimationUpdate(float animatedValue);
 }
@@ -6,14 +6,66 @@ import com.mapbox.mapboxsdk.geometry.LatLng;
 
 import java.util.List;
 
+/**
+ * Animates a position, the previous and target values are copied into instances owned by the animator and the
+ * evaluators reuse their value instance.
+ */
 abstract class PluginLatLngAnimator<L> extends PluginAnimator<LatLng, L> {
 
+  private final LatLng previous = new LatLng();
+  private final LatLng target = new LatLng();
+  private TypeEvaluator<LatLng> evaluator = new LatLngEvaluator();
+  private LatLng animatedValue = previous;
+
   PluginLatLngAnimator(LatLng previous, LatLng target, List<L> updateListeners) {
-    super(previous, target, updateListeners);
+    super(updateListeners);
+    retarget(previous, target);
+  }
+
+  /**
+   * Point this animator at new values so it can be started again without creating a new instance.
+   * The animator has to be canceled or ended before it's retargeted. The values are copied, the passed instances
+   * may be reused by the caller, including the current animated value of this animator.
+   *
+   * @param previous the value to animate from
+   * @param target   the value to animate to
+   */
+  void retarget(LatLng previous, LatLng target) {
+    this.previous.setLatitude(previous.getLatitude());
+    this.previous.setLongitude(previous.getLongitude());
+    this.target.setLatitude(target.getLatitude());
+    this.target.setLongitude(target.getLongitude());
+    this.animatedValue = this.previous;
+  }
+
+  @Override
+  LatLng getPrevious() {
+    return previous;
   }
 
   @Override
-  TypeEvaluator provideEvaluator() {
-    return new LatLngEvaluator();
+  LatLng getTarget() {
+    return target;
   }
+
+  @Override
+  LatLng getAnimatedValue() {
+    return animatedValue;
+  }
+
+  /**
+   * Switches between linear interpolation of latitude and longitude and interpolation in Web Mercator space,
+   * see {@link LocationLayerOptions#mercatorInterpolation()}.
+   */
+  void setMercatorInterpolation(boolean mercatorInterpolation) {
+    evaluator = mercatorInterpolation ? new MercatorLatLngEvaluator() : new LatLngEvaluator();
+  }
+
+  @Override
+  void evaluate(float fraction) {
+    animatedValue = evaluator.evaluate(fraction, previous, target);
+    onAnimationUpdate(animatedValue);
+  }
+
+  abstract void onAnimationUpdate(LatLng animatedValue);
 }
@@ -0,0 +1,280 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.android.core.location.LocationEngine;
+import com.mapbox.android.core.location.LocationEngineListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A {@link LocationEngine} replaying a recorded location trace, for reproducible testing and benchmarking of the
+ * {@link LocationLayerPlugin}.
+ * <p>
+ * Fixes are delivered on the main thread with the delays recorded in the trace, divided by the speed factor.
+ * Delivered locations carry the current time so they aren't considered stale. Optional jitter offsets each fix by a
+ * normally distributed distance, the random generator is seeded so repeated runs produce the same locations.
+ *
+ * @since 0.9.0
+ */
+public final class ReplayLocationEngine extends LocationEngine {
+
+  private static final double METERS_PER_DEGREE = 111319.49079327357;
+
+  private final List<Location> trace;
+  private final Handler handler;
+  private final Random random;
+
+  private float speedFactor = 1;
+  private double jitterMeters;
+  private boolean looping;
+  private boolean connected;
+  private boolean replaying;
+  private int index;
+  @Nullable
+  private Location lastLocation;
+
+  /**
+   * Create an engine replaying the given locations, ordered by time.
+   *
+   * @param trace the recorded locations
+   * @param seed  the seed of the jitter generator
+   * @since 0.9.0
+   */
+  public ReplayLocationEngine(@NonNull List<Location> trace, long seed) {
+    this(trace, new Handler(Looper.getMainLooper()), new Random(seed));
+  }
+
+  ReplayLocationEngine(@NonNull List<Location> trace, Handler handler, Random random) {
+    if (trace.isEmpty()) {
+      throw new IllegalArgumentException("Trace has to contain at least one location");
+    }
+    this.trace = new ArrayList<>(trace);
+    this.handler = handler;
+    this.random = random;
+  }
+
+  /**
+   * Create an engine replaying the track, route or way points of a GPX document.
+   *
+   * @param inputStream the GPX document
+   * @param seed        the seed of the jitter generator
+   * @return the replay engine
+   * @throws IOException if the document can't be read
+   * @since 0.9.0
+   */
+  @NonNull
+  public static ReplayLocationEngine fromGpx(@NonNull InputStream inputStream, long seed) throws IOException {
+    return new ReplayLocationEngine(LocationTraceParser.parseGpx(inputStream), seed);
+  }
+
+  /**
+   * Create an engine replaying a JSON array of locations. Each object requires {@code latitude} and
+   * {@code longitude}, and may define {@code time} in milliseconds, {@code altitude}, {@code accuracy},
+   * {@code bearing} and {@code speed}.
+   *
+   * @param json the JSON trace
+   * @param seed the seed of the jitter generator
+   * @return the replay engine
+   * @since 0.9.0
+   */
+  @NonNull
+  public static ReplayLocationEngine fromJson(@NonNull String json, long seed) {
+    return new ReplayLocationEngine(LocationTraceParser.parseJson(json), seed);
+  }
+
+  /**
+   * Set the factor the recorded time is divided by, 2 replays the trace twice as fast.
+   *
+   * @param speedFactor the replay speed factor
+   * @since 0.9.0
+   */
+  public void setSpeedFactor(float speedFactor) {
+    if (speedFactor <= 0) {
+      throw new IllegalArgumentException("Speed factor has to be greater than 0, was " + speedFactor);
+    }
+    this.speedFactor = speedFactor;
+  }
+
+  /**
+   * @return the replay speed factor
+   * @since 0.9.0
+   */
+  public float getSpeedFactor() {
+    return speedFactor;
+  }
+
+  /**
+   * Set the standard deviation of the random offset added to each fix, 0 replays the recorded positions.
+   *
+   * @param jitterMeters the jitter in meters
+   * @since 0.9.0
+   */
+  public void setJitter(double jitterMeters) {
+    if (jitterMeters < 0) {
+      throw new IllegalArgumentException("Jitter can't be negative, was " + jitterMeters);
+    }
+    this.jitterMeters = jitterMeters;
+  }
+
+  /**
+   * @return the jitter in meters
+   * @since 0.9.0
+   */
+  public double getJitter() {
+    return jitterMeters;
+  }
+
+  /**
+   * Set whether the trace starts over once the last location was delivered.
+   *
+   * @param looping true to replay the trace indefinitely
+   * @since 0.9.0
+   */
+  public void setLooping(boolean looping) {
+    this.looping = looping;
+  }
+
+  /**
+   * @return true if the trace is replayed indefinitely
+   * @since 0.9.0
+   */
+  public boolean isLooping() {
+    return looping;
+  }
+
+  /**
+   * @return true if the last location of a non looping trace was delivered
+   * @since 0.9.0
+   */
+  public boolean isFinished() {
+    return index >= trace.size();
+  }
+
+  /**
+   * Continue the replay from the first location of the trace.
+   *
+   * @since 0.9.0
+   */
+  public void restart() {
+    index = 0;
+    if (replaying) {
+      handler.removeCallbacks(replayRunnable);
+      handler.post(replayRunnable);
+    }
+  }
+
+  @Override
+  public void activate() {
+    connected = true;
+    for (LocationEngineListener listener : locationListeners) {
+      listener.onConnected();
+    }
+  }
+
+  @Override
+  public void deactivate() {
+    removeLocationUpdates();
+    connected = false;
+  }
+
+  @Override
+  public boolean isConnected() {
+    return connected;
+  }
+
+  @Nullable
+  @Override
+  public Location getLastLocation() {
+    return lastLocation;
+  }
+
+  @Override
+  public void requestLocationUpdates() {
+    if (replaying) {
+      return;
+    }
+    replaying = true;
+    handler.post(replayRunnable);
+  }
+
+  @Override
+  public void removeLocationUpdates() {
+    replaying = false;
+    handler.removeCallbacks(replayRunnable);
+  }
+
+  @Override
+  public Type obtainType() {
+    return Type.MOCK;
+  }
+
+  private final Runnable replayRunnable = new Runnable() {
+    @Override
+    public void run() {
+      if (!replaying || isFinished()) {
+        return;
+      }
+
+      Location recorded = trace.get(index);
+      Location location = createLocation(recorded);
+      lastLocation = location;
+      for (LocationEngineListener listener : locationListeners) {
+        listener.onLocationChanged(location);
+      }
+
+      index++;
+      long recordedDelay;
+      if (isFinished() && looping) {
+        index = 0;
+        recordedDelay = getLoopDelay();
+      } else if (!isFinished()) {
+        recordedDelay = trace.get(index).getTime() - recorded.getTime();
+      } else {
+        return;
+      }
+      handler.postDelayed(this, Math.max(0, (long) (recordedDelay / speedFactor)));
+    }
+  };
+
+  /**
+   * Returns the delay before a looping trace starts over, the first recorded gap or the default interval of the
+   * trace parser for traces without one, so a single location isn't delivered in a busy loop.
+   */
+  private long getLoopDelay() {
+    if (trace.size() > 1) {
+      long firstDelay = trace.get(1).getTime() - trace.get(0).getTime();
+      if (firstDelay > 0) {
+        return firstDelay;
+      }
+    }
+    return LocationTraceParser.DEFAULT_POINT_INTERVAL_MS;
+  }
+
+  private Location createLocation(Location recorded) {
+    Location location = new Location(recorded);
+    location.setTime(System.currentTimeMillis());
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+      location.setElapsedRealtimeNanos(SystemClock.elapsedRealtimeNanos());
+    }
+    if (jitterMeters > 0) {
+      double north = random.nextGaussian() * jitterMeters;
+      double east = random.nextGaussian() * jitterMeters;
+      double latitude = recorded.getLatitude();
+      location.setLatitude(latitude + north / METERS_PER_DEGREE);
+      location.setLongitude(recorded.getLongitude()
+        + east / (METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude))));
+    }
+    return location;
+  }
+}
@@ -0,0 +1,278 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Point;
+
+import java.util.List;
+
+/**
+ * A {@link LocationFilter} snapping locations to the closest position on a route polyline.
+ * <p>
+ * The segments of the route are indexed in a tree of bounding boxes when the route is set, so finding the closest
+ * segment for a location only visits O(log n) segments instead of all of them. Locations further away from the
+ * route than the max snap distance are passed through, the user is then assumed to be off the route. The bearing of
+ * a snapped location is aligned with the route in the direction of travel. Distances are measured in Web Mercator
+ * projected space, the route shouldn't cross the antimeridian.
+ * <p>
+ * The route can be replaced with {@link #setRoute(List)} while the filter runs on a background thread.
+ *
+ * @since 0.9.0
+ */
+public final class RouteSnappingLocationFilter implements LocationFilter {
+
+  /**
+   * The default max distance in meters between a location and the route for the location to be snapped.
+   *
+   * @since 0.9.0
+   */
+  public static final double DEFAULT_MAX_SNAP_DISTANCE = 50;
+
+  private static final double EARTH_RADIUS_METERS = 6378137;
+
+  private final double maxSnapDistance;
+  private volatile SegmentIndex segmentIndex;
+
+  /**
+   * Create a filter using the {@link #DEFAULT_MAX_SNAP_DISTANCE}.
+   *
+   * @param route the points of the route polyline, at least two
+   * @since 0.9.0
+   */
+  public RouteSnappingLocationFilter(@NonNull List<Point> route) {
+    this(route, DEFAULT_MAX_SNAP_DISTANCE);
+  }
+
+  /**
+   * Create a filter.
+   *
+   * @param route           the points of the route polyline, at least two
+   * @param maxSnapDistance the max distance in meters between a location and the route for the location to be
+   *                        snapped
+   * @since 0.9.0
+   */
+  public RouteSnappingLocationFilter(@NonNull List<Point> route, double maxSnapDistance) {
+    if (maxSnapDistance <= 0) {
+      throw new IllegalArgumentException("Max snap distance has to be greater than 0, was " + maxSnapDistance);
+    }
+    this.maxSnapDistance = maxSnapDistance;
+    setRoute(route);
+  }
+
+  /**
+   * Replace the route locations are snapped to.
+   *
+   * @param route the points of the route polyline, at least two
+   * @since 0.9.0
+   */
+  public void setRoute(@NonNull List<Point> route) {
+    if (route.size() < 2) {
+      throw new IllegalArgumentException("A route needs at least 2 points, was " + route.size());
+    }
+    segmentIndex = new SegmentIndex(route);
+  }
+
+  @NonNull
+  @Override
+  public Location filter(@NonNull Location location) {
+    double metersPerUnit = EARTH_RADIUS_METERS * Math.cos(Math.toRadians(location.getLatitude()));
+    if (metersPerUnit <= 0) {
+      return location;
+    }
+    double maxDistance = maxSnapDistance / metersPerUnit;
+
+    SegmentIndex index = segmentIndex;
+    Snap snap = index.snap(
+      Math.toRadians(location.getLongitude()),
+      MercatorLatLngEvaluator.latitudeToY(location.getLatitude()),
+      maxDistance * maxDistance);
+    if (snap == null) {
+      return location;
+    }
+
+    Location snapped = new Location(location);
+    snapped.setLatitude(MercatorLatLngEvaluator.yToLatitude(snap.y));
+    snapped.setLongitude(Math.toDegrees(snap.x));
+    if (location.hasBearing()) {
+      snapped.setBearing(alignBearing(location.getBearing(), snap.bearing));
+    }
+    return snapped;
+  }
+
+  @Override
+  public void reset() {
+    // snapping doesn't depend on previous locations
+  }
+
+  /**
+   * Returns the bearing of the route segment, reversed if the location is travelling against the route direction.
+   */
+  static float alignBearing(float locationBearing, double segmentBearing) {
+    double difference = Math.abs(((locationBearing - segmentBearing) % 360 + 540) % 360 - 180);
+    double bearing = difference > 90 ? segmentBearing + 180 : segmentBearing;
+    return (float) ((bearing % 360 + 360) % 360);
+  }
+
+  /**
+   * The closest position on the route to a location.
+   */
+  static final class Snap {
+    final double x;
+    final double y;
+    final double bearing;
+    final int segment;
+
+    Snap(double x, double y, double bearing, int segment) {
+      this.x = x;
+      this.y = y;
+      this.bearing = bearing;
+      this.segment = segment;
+    }
+  }
+
+  /**
+   * Binary tree of the bounding boxes of consecutive route segments, stored in arrays with the children of node
+   * {@code i} at {@code 2i + 1} and {@code 2i + 2}. Consecutive segments are close to each other, the boxes of a
+   * subtree stay tight and branches further away than the closest segment found so far are skipped.
+   */
+  static final class SegmentIndex {
+    private final double[] xs;
+    private final double[] ys;
+    private final int segmentCount;
+    private final double[] minX;
+    private final double[] minY;
+    private final double[] maxX;
+    private final double[] maxY;
+
+    private double bestDistance;
+    private double bestX;
+    private double bestY;
+    private int bestSegment;
+    private int visitedSegments;
+
+    SegmentIndex(List<Point> route) {
+      int size = route.size();
+      xs = new double[size];
+      ys = new double[size];
+      for (int i = 0; i < size; i++) {
+        Point point = route.get(i);
+        xs[i] = Math.toRadians(point.longitude());
+        ys[i] = MercatorLatLngEvaluator.latitudeToY(point.latitude());
+      }
+      segmentCount = size - 1;
+      int nodeCount = 4 * segmentCount;
+      minX = new double[nodeCount];
+      minY = new double[nodeCount];
+      maxX = new double[nodeCount];
+      maxY = new double[nodeCount];
+      build(0, 0, segmentCount);
+    }
+
+    int getSegmentCount() {
+      return segmentCount;
+    }
+
+    /**
+     * @return the number of segments measured by the last {@link #snap(double, double, double)}
+     */
+    int getVisitedSegments() {
+      return visitedSegments;
+    }
+
+    /**
+     * Finds the closest position on the route within the max distance, synchronized since the filter can be
+     * called from any thread.
+     */
+    synchronized Snap snap(double x, double y, double maxDistanceSquared) {
+      bestDistance = maxDistanceSquared;
+      bestSegment = -1;
+      visitedSegments = 0;
+      search(0, 0, segmentCount, x, y);
+      if (bestSegment < 0) {
+        return null;
+      }
+      double bearing = Math.toDegrees(Math.atan2(
+        xs[bestSegment + 1] - xs[bestSegment], ys[bestSegment + 1] - ys[bestSegment]));
+      return new Snap(bestX, bestY, bearing, bestSegment);
+    }
+
+    private void build(int node, int from, int to) {
+      if (to - from == 1) {
+        minX[node] = Math.min(xs[from], xs[from + 1]);
+        minY[node] = Math.min(ys[from], ys[from + 1]);
+        maxX[node] = Math.max(xs[from], xs[from + 1]);
+        maxY[node] = Math.max(ys[from], ys[from + 1]);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      int left = 2 * node + 1;
+      int right = left + 1;
+      build(left, from, middle);
+      build(right, middle, to);
+      minX[node] = Math.min(minX[left], minX[right]);
+      minY[node] = Math.min(minY[left], minY[right]);
+      maxX[node] = Math.max(maxX[left], maxX[right]);
+      maxY[node] = Math.max(maxY[left], maxY[right]);
+    }
+
+    private void search(int node, int from, int to, double x, double y) {
+      if (to - from == 1) {
+        measureSegment(from, x, y);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      int left = 2 * node + 1;
+      int right = left + 1;
+      double leftDistance = boxDistanceSquared(left, x, y);
+      double rightDistance = boxDistanceSquared(right, x, y);
+      // the closer branch first, it likely narrows down the best distance for the other one
+      if (leftDistance <= rightDistance) {
+        if (leftDistance < bestDistance) {
+          search(left, from, middle, x, y);
+        }
+        if (rightDistance < bestDistance) {
+          search(right, middle, to, x, y);
+        }
+      } else {
+        if (rightDistance < bestDistance) {
+          search(right, middle, to, x, y);
+        }
+        if (leftDistance < bestDistance) {
+          search(left, from, middle, x, y);
+        }
+      }
+    }
+
+    private double boxDistanceSquared(int node, double x, double y) {
+      double dx = Math.max(0, Math.max(minX[node] - x, x - maxX[node]));
+      double dy = Math.max(0, Math.max(minY[node] - y, y - maxY[node]));
+      return dx * dx + dy * dy;
+    }
+
+    private void measureSegment(int segment, double x, double y) {
+      visitedSegments++;
+      double startX = xs[segment];
+      double startY = ys[segment];
+      double segmentX = xs[segment + 1] - startX;
+      double segmentY = ys[segment + 1] - startY;
+      double lengthSquared = segmentX * segmentX + segmentY * segmentY;
+      double fraction = 0;
+      if (lengthSquared > 0) {
+        fraction = ((x - startX) * segmentX + (y - startY) * segmentY) / lengthSquared;
+        fraction = Math.max(0, Math.min(1, fraction));
+      }
+      double snappedX = startX + fraction * segmentX;
+      double snappedY = startY + fraction * segmentY;
+      double dx = x - snappedX;
+      double dy = y - snappedY;
+      double distance = dx * dx + dy * dy;
+      if (distance < bestDistance) {
+        bestDistance = distance;
+        bestX = snappedX;
+        bestY = snappedY;
+        bestSegment = segment;
+      }
+    }
+  }
+}
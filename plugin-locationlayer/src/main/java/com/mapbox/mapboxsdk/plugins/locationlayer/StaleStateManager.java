@@ -1,66 +1,174 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
 import android.os.Handler;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.STALE_CHECK_INTERVAL_MS;
 
 /**
  * Class controls the location layer stale state when the {@link android.location.Location} hasn't
  * been updated in 'x' amount of time. {@link LocationLayerOptions#staleStateTimeout()} can be used to
  * control the amount of time before the locations considered stale.
  * {@link LocationLayerOptions#enableStaleState()} is available for disabling this behaviour.
+ * <p>
+ * Any number of entities can be tracked by a single manager. Updates only record the time of the update, a single
+ * check is scheduled for the earliest deadline of all entities and it's only re-armed once it ran. Deadlines are
+ * rounded up to {@link LocationLayerConstants#STALE_CHECK_INTERVAL_MS} so entities expiring close to each other
+ * are handled by the same check.
  *
  * @since 0.4.0
  */
 class StaleStateManager {
 
-  private final OnLocationStaleListener innerOnLocationStaleListeners;
+  // Identifies the user location when the manager is used with an OnLocationStaleListener
+  static final String USER_LOCATION_ID = "mapbox-user-location";
+
+  interface OnEntityStaleStateChangeListener {
+    void onEntityStaleStateChange(@NonNull String entityId, boolean isStale);
+  }
+
+  private final OnEntityStaleStateChangeListener listener;
   private final Handler handler;
-  private boolean isStale = true;
+  private final Map<String, Entity> entities = new LinkedHashMap<>();
   private long delayTime;
+  private boolean checkScheduled;
+  private long checkTime;
+
+  StaleStateManager(final OnLocationStaleListener innerListener, long delayTime) {
+    this(new OnEntityStaleStateChangeListener() {
+      @Override
+      public void onEntityStaleStateChange(@NonNull String entityId, boolean isStale) {
+        innerListener.onStaleStateChange(isStale);
+      }
+    }, delayTime, new Handler());
+    entities.put(USER_LOCATION_ID, new Entity());
+    innerListener.onStaleStateChange(true);
+  }
 
-  StaleStateManager(OnLocationStaleListener innerListener, long delayTime) {
-    innerOnLocationStaleListeners = innerListener;
+  StaleStateManager(OnEntityStaleStateChangeListener listener, long delayTime) {
+    this(listener, delayTime, new Handler());
+  }
+
+  StaleStateManager(OnEntityStaleStateChangeListener listener, long delayTime, Handler handler) {
+    this.listener = listener;
     this.delayTime = delayTime;
-    handler = new Handler();
-    innerOnLocationStaleListeners.onStaleStateChange(true);
+    this.handler = handler;
   }
 
   private Runnable staleStateRunnable = new Runnable() {
     @Override
     public void run() {
-      isStale = true;
-      innerOnLocationStaleListeners.onStaleStateChange(true);
+      checkStaleState(SystemClock.uptimeMillis());
     }
   };
 
   boolean isStale() {
-    return isStale;
+    return isStale(USER_LOCATION_ID);
+  }
+
+  boolean isStale(@NonNull String entityId) {
+    Entity entity = entities.get(entityId);
+    return entity == null || entity.stale;
   }
 
   void updateLatestLocationTime() {
-    if (isStale) {
-      isStale = false;
-      innerOnLocationStaleListeners.onStaleStateChange(false);
+    updateLatestLocationTime(USER_LOCATION_ID);
+  }
+
+  void updateLatestLocationTime(@NonNull String entityId) {
+    long now = SystemClock.uptimeMillis();
+    Entity entity = entities.get(entityId);
+    if (entity == null) {
+      entity = new Entity();
+      entities.put(entityId, entity);
+    }
+    entity.lastUpdateTime = now;
+    if (entity.stale) {
+      entity.stale = false;
+      listener.onEntityStaleStateChange(entityId, false);
     }
-    postTheCallback();
+    scheduleCheck(now + delayTime);
+  }
+
+  /**
+   * Stops tracking an entity, no further stale state changes are reported for it.
+   */
+  void remove(@NonNull String entityId) {
+    entities.remove(entityId);
+  }
+
+  void clear() {
+    entities.clear();
+    onStop();
   }
 
   void setDelayTime(long delayTime) {
     this.delayTime = delayTime;
-    postTheCallback();
+    if (checkScheduled) {
+      // the armed check may be too late for a shorter delay, deadlines are evaluated again right away
+      onStop();
+      scheduleCheck(SystemClock.uptimeMillis());
+    }
   }
 
   void onStart() {
-    if (!isStale) {
-      postTheCallback();
-    }
+    scheduleCheck(SystemClock.uptimeMillis());
   }
 
   void onStop() {
-    handler.removeCallbacksAndMessages(null);
+    checkScheduled = false;
+    handler.removeCallbacks(staleStateRunnable);
+  }
+
+  /**
+   * Marks all entities whose deadline passed as stale and arms the check for the earliest remaining deadline.
+   */
+  void checkStaleState(long now) {
+    checkScheduled = false;
+    long nextDeadline = Long.MAX_VALUE;
+    for (Map.Entry<String, Entity> entry : entities.entrySet()) {
+      Entity entity = entry.getValue();
+      if (entity.stale) {
+        continue;
+      }
+      long deadline = entity.lastUpdateTime + delayTime;
+      if (deadline <= now) {
+        entity.stale = true;
+        listener.onEntityStaleStateChange(entry.getKey(), true);
+      } else {
+        nextDeadline = Math.min(nextDeadline, deadline);
+      }
+    }
+    if (nextDeadline != Long.MAX_VALUE) {
+      scheduleCheck(nextDeadline);
+    }
+  }
+
+  private void scheduleCheck(long deadline) {
+    long tick = roundUpToTick(deadline);
+    if (checkScheduled && checkTime <= tick) {
+      // an earlier check is armed, it re-arms itself for the remaining deadlines
+      return;
+    }
+    if (checkScheduled) {
+      handler.removeCallbacks(staleStateRunnable);
+    }
+    checkScheduled = true;
+    checkTime = tick;
+    handler.postAtTime(staleStateRunnable, tick);
+  }
+
+  private static long roundUpToTick(long time) {
+    long remainder = time % STALE_CHECK_INTERVAL_MS;
+    return remainder == 0 ? time : time + STALE_CHECK_INTERVAL_MS - remainder;
   }
 
-  private void postTheCallback() {
-    handler.removeCallbacksAndMessages(null);
-    handler.postDelayed(staleStateRunnable, delayTime);
+  private static final class Entity {
+    private long lastUpdateTime;
+    private boolean stale = true;
   }
 }
@@ -1,6 +1,5 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.ValueAnimator;
 import android.support.annotation.Nullable;
 
 import com.mapbox.mapboxsdk.maps.MapboxMap;
@@ -8,7 +7,7 @@ import com.mapbox.mapboxsdk.maps.MapboxMap;
 import java.util.List;
 
 class TiltAnimator extends MapboxCameraAnimatorAdapter {
-  TiltAnimator(Float previous, Float target, List<OnCameraAnimationsValuesChangeListener> updateListeners,
+  TiltAnimator(float previous, float target, List<OnCameraAnimationsValuesChangeListener> updateListeners,
                @Nullable MapboxMap.CancelableCallback cancelableCallback) {
     super(previous, target, updateListeners, cancelableCallback);
   }
@@ -19,9 +18,9 @@ class TiltAnimator extends MapboxCameraAnimatorAdapter {
   }
 
   @Override
-  public void onAnimationUpdate(ValueAnimator animation) {
+  void onAnimationUpdate(float animatedValue) {
     for (OnCameraAnimationsValuesChangeListener listener : updateListeners) {
-      listener.onNewTiltValue((Float) animation.getAnimatedValue());
+      listener.onNewTiltValue(animatedValue);
     }
   }
 }
@@ -0,0 +1,144 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.support.annotation.IntDef;
+
+import com.mapbox.mapboxsdk.plugins.locationlayer.modes.CameraMode;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Snapshot of the camera tracking metrics collected by the {@link LocationLayerPlugin}.
+ * <p>
+ * Tracking time is the time spent in one of the location tracking {@link CameraMode}s, the part of it during which
+ * the camera was animated to follow the location is reported as animating time and the rest as idle time.
+ * Dropped frames are display frames missed between two consecutive frames of a camera animation while tracking.
+ * A high number of move gesture dismissals shortly after tracking started hints at a
+ * {@link LocationLayerOptions#trackingInitialMoveThreshold()} that is too low for the users of the app.
+ *
+ * @since 0.9.0
+ */
+public final class TrackingMetrics {
+
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef( {DISMISSAL_MOVE, DISMISSAL_ROTATE, DISMISSAL_FLING, DISMISSAL_CAMERA_MODE_CHANGE})
+  public @interface DismissalCause {
+  }
+
+  /**
+   * Tracking was dismissed by a move gesture exceeding the tracking move threshold.
+   *
+   * @since 0.9.0
+   */
+  public static final int DISMISSAL_MOVE = 0;
+
+  /**
+   * Tracking was dismissed by a rotate gesture.
+   *
+   * @since 0.9.0
+   */
+  public static final int DISMISSAL_ROTATE = 1;
+
+  /**
+   * Tracking was dismissed by a fling gesture.
+   *
+   * @since 0.9.0
+   */
+  public static final int DISMISSAL_FLING = 2;
+
+  /**
+   * Tracking was dismissed by setting a camera mode that doesn't track the location.
+   *
+   * @since 0.9.0
+   */
+  public static final int DISMISSAL_CAMERA_MODE_CHANGE = 3;
+
+  static final int DISMISSAL_CAUSE_COUNT = 4;
+
+  private final int[] dismissalCounts;
+  private final long trackingTimeMillis;
+  private final long cameraAnimatingTimeMillis;
+  private final int cameraFrameCount;
+  private final int droppedFrameCount;
+
+  TrackingMetrics(int[] dismissalCounts, long trackingTimeMillis, long cameraAnimatingTimeMillis,
+                  int cameraFrameCount, int droppedFrameCount) {
+    this.dismissalCounts = dismissalCounts;
+    this.trackingTimeMillis = trackingTimeMillis;
+    this.cameraAnimatingTimeMillis = cameraAnimatingTimeMillis;
+    this.cameraFrameCount = cameraFrameCount;
+    this.droppedFrameCount = droppedFrameCount;
+  }
+
+  /**
+   * @return the number of times location tracking was dismissed
+   * @since 0.9.0
+   */
+  public int getDismissalCount() {
+    int count = 0;
+    for (int dismissalCount : dismissalCounts) {
+      count += dismissalCount;
+    }
+    return count;
+  }
+
+  /**
+   * @param cause the cause of the dismissals
+   * @return the number of times location tracking was dismissed for the given cause
+   * @since 0.9.0
+   */
+  public int getDismissalCount(@DismissalCause int cause) {
+    return dismissalCounts[cause];
+  }
+
+  /**
+   * @return the time in milliseconds spent in a location tracking camera mode
+   * @since 0.9.0
+   */
+  public long getTrackingTimeMillis() {
+    return trackingTimeMillis;
+  }
+
+  /**
+   * @return the time in milliseconds the camera was animated while tracking the location
+   * @since 0.9.0
+   */
+  public long getCameraAnimatingTimeMillis() {
+    return cameraAnimatingTimeMillis;
+  }
+
+  /**
+   * @return the time in milliseconds the camera was idle while tracking the location
+   * @since 0.9.0
+   */
+  public long getCameraIdleTimeMillis() {
+    return Math.max(0, trackingTimeMillis - cameraAnimatingTimeMillis);
+  }
+
+  /**
+   * @return the number of camera animation frames while tracking the location
+   * @since 0.9.0
+   */
+  public int getCameraFrameCount() {
+    return cameraFrameCount;
+  }
+
+  /**
+   * @return the number of display frames missed by camera animations while tracking the location
+   * @since 0.9.0
+   */
+  public int getDroppedFrameCount() {
+    return droppedFrameCount;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(Locale.US,
+      "TrackingMetrics{dismissals=%s, trackingTimeMillis=%d, cameraAnimatingTimeMillis=%d, "
+        + "cameraIdleTimeMillis=%d, cameraFrameCount=%d, droppedFrameCount=%d}",
+      Arrays.toString(dismissalCounts), trackingTimeMillis, cameraAnimatingTimeMillis, getCameraIdleTimeMillis(),
+      cameraFrameCount, droppedFrameCount);
+  }
+}
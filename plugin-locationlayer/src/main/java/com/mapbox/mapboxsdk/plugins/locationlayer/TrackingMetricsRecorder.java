@@ -0,0 +1,101 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Collects the {@link TrackingMetrics} of the location tracking camera.
+ * <p>
+ * The camera reports when tracking starts and why it's dismissed, the animator coordinator reports every frame
+ * of a running camera animation. Consecutive frames of an animation are expected one display frame apart, each
+ * additional display frame between them is counted as dropped. Only frames while tracking are recorded.
+ */
+final class TrackingMetricsRecorder {
+
+  @Nullable
+  private final OnTrackingDismissedListener listener;
+
+  private final int[] dismissalCounts = new int[TrackingMetrics.DISMISSAL_CAUSE_COUNT];
+  private long trackingStartTime = -1;
+  private long trackingTimeMillis;
+  private long cameraAnimatingTimeMillis;
+  private int cameraFrameCount;
+  private int droppedFrameCount;
+  private long lastCameraFrameTime = -1;
+
+  TrackingMetricsRecorder(@Nullable OnTrackingDismissedListener listener) {
+    this.listener = listener;
+  }
+
+  boolean isTracking() {
+    return trackingStartTime >= 0;
+  }
+
+  void onTrackingStarted(long now) {
+    if (!isTracking()) {
+      trackingStartTime = now;
+    }
+  }
+
+  void onTrackingDismissed(@TrackingMetrics.DismissalCause int cause, long now) {
+    if (!isTracking()) {
+      return;
+    }
+    long trackingDuration = now - trackingStartTime;
+    trackingTimeMillis += trackingDuration;
+    trackingStartTime = -1;
+    lastCameraFrameTime = -1;
+    dismissalCounts[cause]++;
+    if (listener != null) {
+      listener.onTrackingDismissed(cause, trackingDuration);
+    }
+  }
+
+  /**
+   * Records a frame of a running camera animation.
+   *
+   * @param frameTimeMillis     the time of the frame
+   * @param frameIntervalMillis the expected interval between two frames, longer gaps are dropped frames
+   */
+  void onCameraFrame(long frameTimeMillis, float frameIntervalMillis) {
+    if (!isTracking()) {
+      return;
+    }
+    cameraFrameCount++;
+    if (lastCameraFrameTime >= 0) {
+      long frameGap = frameTimeMillis - lastCameraFrameTime;
+      cameraAnimatingTimeMillis += frameGap;
+      int missedFrames = Math.round(frameGap / frameIntervalMillis) - 1;
+      if (missedFrames > 0) {
+        droppedFrameCount += missedFrames;
+      }
+    }
+    lastCameraFrameTime = frameTimeMillis;
+  }
+
+  /**
+   * Ends the current camera animation, the gap until the next animation starts is idle time.
+   */
+  void onCameraAnimationEnd() {
+    lastCameraFrameTime = -1;
+  }
+
+  TrackingMetrics getMetrics(long now) {
+    long trackingTime = isTracking() ? trackingTimeMillis + now - trackingStartTime : trackingTimeMillis;
+    return new TrackingMetrics(dismissalCounts.clone(), trackingTime, cameraAnimatingTimeMillis,
+      cameraFrameCount, droppedFrameCount);
+  }
+
+  void reset(long now) {
+    for (int i = 0; i < dismissalCounts.length; i++) {
+      dismissalCounts[i] = 0;
+    }
+    if (isTracking()) {
+      trackingStartTime = now;
+    }
+    lastCameraFrameTime = -1;
+    trackingTimeMillis = 0;
+    cameraAnimatingTimeMillis = 0;
+    cameraFrameCount = 0;
+    droppedFrameCount = 0;
+  }
+}
@@ -14,10 +14,14 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
 
+import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 
 public final class Utils {
 
+  private static final double EARTH_RADIUS_METERS = 6378137;
+  private static final double MAX_LATITUDE = 90;
+
   private Utils() {
     // Class should not be initialized
   }
@@ -66,6 +70,30 @@ public final class Utils {
     return bitmap;
   }
 
+  /**
+   * Draws the bitmaps on top of each other, centered in a bitmap large enough to hold the largest of them.
+   * Null bitmaps are skipped.
+   */
+  static Bitmap generateComposite(Bitmap... bitmaps) {
+    int width = 0;
+    int height = 0;
+    for (Bitmap bitmap : bitmaps) {
+      if (bitmap != null) {
+        width = Math.max(width, bitmap.getWidth());
+        height = Math.max(height, bitmap.getHeight());
+      }
+    }
+    Bitmap composite = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    Canvas canvas = new Canvas(composite);
+    for (Bitmap bitmap : bitmaps) {
+      if (bitmap != null) {
+        canvas.drawBitmap(bitmap,
+          (composite.getWidth() - bitmap.getWidth()) / 2f, (composite.getHeight() - bitmap.getHeight()) / 2f, null);
+      }
+    }
+    return composite;
+  }
+
   static Drawable getDrawable(@NonNull Context context, @DrawableRes int drawableRes,
                               @ColorInt Integer tintColor) {
     Drawable drawable = ContextCompat.getDrawable(context, drawableRes);
@@ -90,6 +118,29 @@ public final class Utils {
     return (float) (location.getAccuracy() * (1 / metersPerPixel));
   }
 
+  /**
+   * Moves a position by a distance along a bearing. Uses an equirectangular approximation,
+   * which is accurate for the short distances travelled between two location updates.
+   *
+   * @param latLng   the position to move, updated in place
+   * @param bearing  the direction of travel in degrees
+   * @param distance the distance to travel in meters
+   * @return the moved position
+   */
+  static LatLng extrapolate(@NonNull LatLng latLng, float bearing, double distance) {
+    double bearingRadians = Math.toRadians(bearing);
+    // the longitude scale diverges towards the poles, it's clamped to the latitudes the map displays
+    double scaleLatitude = Math.max(-MercatorLatLngEvaluator.MAX_LATITUDE,
+      Math.min(MercatorLatLngEvaluator.MAX_LATITUDE, latLng.getLatitude()));
+    double latitude = latLng.getLatitude()
+      + Math.toDegrees(distance * Math.cos(bearingRadians) / EARTH_RADIUS_METERS);
+    double longitude = latLng.getLongitude() + Math.toDegrees(
+      distance * Math.sin(bearingRadians) / (EARTH_RADIUS_METERS * Math.cos(Math.toRadians(scaleLatitude))));
+    latLng.setLatitude(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+    latLng.setLongitude(MercatorLatLngEvaluator.wrap(longitude));
+    return latLng;
+  }
+
   /**
    * Casts the value to an even integer.
    */
@@ -1,6 +1,5 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
-import android.animation.ValueAnimator;
 import android.support.annotation.Nullable;
 
 import com.mapbox.mapboxsdk.maps.MapboxMap;
@@ -9,7 +8,7 @@ import java.util.List;
 
 class ZoomAnimator extends MapboxCameraAnimatorAdapter {
 
-  ZoomAnimator(Float previous, Float target, List<OnCameraAnimationsValuesChangeListener> updateListeners,
+  ZoomAnimator(float previous, float target, List<OnCameraAnimationsValuesChangeListener> updateListeners,
                @Nullable MapboxMap.CancelableCallback cancelableCallback) {
     super(previous, target, updateListeners, cancelableCallback);
   }
@@ -20,9 +19,9 @@ class ZoomAnimator extends MapboxCameraAnimatorAdapter {
   }
 
   @Override
-  public void onAnimationUpdate(ValueAnimator animation) {
+  void onAnimationUpdate(float animatedValue) {
     for (OnCameraAnimationsValuesChangeListener listener : updateListeners) {
-      listener.onNewZoomValue((Float) animation.getAnimatedValue());
+      listener.onNewZoomValue(animatedValue);
     }
   }
 
@@ -0,0 +1,152 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.os.Handler;
+
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.style.layers.Layer;
+import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FLEET_SOURCE;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.SHADOW_LAYER;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FleetLayerTest {
+
+  private MapboxMap mapboxMap;
+  private GeoJsonSource fleetSource;
+  private FrameScheduler frameScheduler;
+  private Handler handler;
+  private FleetLayer fleetLayer;
+
+  @Before
+  public void setUp() throws Exception {
+    mapboxMap = mock(MapboxMap.class);
+    fleetSource = mock(GeoJsonSource.class);
+    frameScheduler = mock(FrameScheduler.class);
+    handler = mock(Handler.class);
+    LayerSourceProvider sourceProvider = mock(LayerSourceProvider.class);
+    when(sourceProvider.generateFleetSource()).thenReturn(fleetSource);
+    when(sourceProvider.generateFleetLayer(anyString(), anyString(), anyString())).thenReturn(mock(Layer.class));
+    when(sourceProvider.generateFleetAccuracyLayer(anyFloat(), anyInt())).thenReturn(mock(Layer.class));
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    when(options.enableStaleState()).thenReturn(true);
+    when(options.staleStateTimeout()).thenReturn(1000L);
+
+    fleetLayer = new FleetLayer(mapboxMap, sourceProvider, options, frameScheduler, handler);
+    fleetLayer.onStart();
+  }
+
+  @Test
+  public void update_firstEntityAddsComponents() throws Exception {
+    fleetLayer.update("a", mock(Location.class));
+
+    verify(mapboxMap).addSource(fleetSource);
+    verify(mapboxMap, times(3)).addLayerBelow(any(Layer.class), anyString());
+    verify(mapboxMap).addLayerBelow(any(Layer.class), eq(SHADOW_LAYER));
+  }
+
+  @Test
+  public void update_invalidatedComponentsAreAddedWhenInitialized() throws Exception {
+    // the location layers aren't added yet with lazy initialization
+    fleetLayer.invalidateSource();
+    fleetLayer.update("a", mock(Location.class));
+
+    verify(mapboxMap, times(0)).addSource(any(GeoJsonSource.class));
+
+    fleetLayer.initializeComponents(mock(LocationLayerOptions.class));
+
+    verify(mapboxMap).addSource(fleetSource);
+    verify(mapboxMap).addLayerBelow(any(Layer.class), eq(SHADOW_LAYER));
+  }
+
+  @Test
+  public void update_componentsAreAddedOnce() throws Exception {
+    fleetLayer.update("a", mock(Location.class));
+    fleetLayer.update("b", mock(Location.class));
+
+    verify(mapboxMap, times(1)).addSource(fleetSource);
+  }
+
+  @Test
+  public void onFrame_allEntitiesArePushedWithSingleSourceUpdate() throws Exception {
+    fleetLayer.update("a", mock(Location.class));
+    fleetLayer.update("b", mock(Location.class));
+    fleetLayer.update("c", mock(Location.class));
+
+    fleetLayer.onFrame(0);
+
+    verify(fleetSource, times(1)).setGeoJson(any(FeatureCollection.class));
+  }
+
+  @Test
+  public void onFrame_withoutChangesSourceIsNotUpdated() throws Exception {
+    fleetLayer.update("a", mock(Location.class));
+    fleetLayer.onFrame(0);
+
+    fleetLayer.onFrame(16);
+
+    verify(fleetSource, times(1)).setGeoJson(any(FeatureCollection.class));
+  }
+
+  @Test
+  public void update_staleCheckIsScheduledOnce() throws Exception {
+    fleetLayer.update("a", mock(Location.class));
+    fleetLayer.update("b", mock(Location.class));
+    fleetLayer.update("a", mock(Location.class));
+
+    // the check armed when the layer started re-arms itself, updates don't touch the message queue
+    verify(handler, times(0)).removeCallbacks(any(Runnable.class));
+    verify(handler, times(1)).postAtTime(any(Runnable.class), anyLong());
+  }
+
+  @Test
+  public void checkStaleEntities_expiredEntitiesBecomeStale() throws Exception {
+    fleetLayer.update("a", mock(Location.class));
+
+    fleetLayer.checkStaleEntities(999);
+    assertFalse(fleetLayer.isStale("a"));
+
+    fleetLayer.checkStaleEntities(1000);
+    assertTrue(fleetLayer.isStale("a"));
+  }
+
+  @Test
+  public void update_staleEntityIsNoLongerStale() throws Exception {
+    fleetLayer.update("a", mock(Location.class));
+    fleetLayer.checkStaleEntities(1000);
+
+    fleetLayer.update("a", mock(Location.class));
+
+    assertFalse(fleetLayer.isStale("a"));
+  }
+
+  @Test
+  public void remove_lastEntityRemovesComponents() throws Exception {
+    fleetLayer.update("a", mock(Location.class));
+    fleetLayer.update("b", mock(Location.class));
+
+    fleetLayer.remove("a");
+    verify(mapboxMap, times(0)).removeSource(FLEET_SOURCE);
+
+    fleetLayer.remove("b");
+    verify(mapboxMap).removeSource(FLEET_SOURCE);
+    assertEquals(0, fleetLayer.size());
+  }
+}
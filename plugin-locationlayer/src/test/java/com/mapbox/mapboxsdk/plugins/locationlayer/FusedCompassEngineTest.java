@@ -0,0 +1,237 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.content.Context;
+import android.hardware.Sensor;
+import android.hardware.SensorManager;
+import android.view.Display;
+import android.view.WindowManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPASS_ROTATING_UPDATE_RATE_MS;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPASS_UPDATE_RATE_MS;
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FusedCompassEngineTest {
+
+  @Mock
+  private Context context;
+
+  @Mock
+  private WindowManager windowManager;
+
+  @Mock
+  private SensorManager sensorManager;
+
+  @Mock
+  private Display display;
+
+  private FusedCompassEngine compassEngine;
+
+  @Before
+  public void setUp() throws Exception {
+    when(windowManager.getDefaultDisplay()).thenReturn(display);
+    compassEngine = new FusedCompassEngine(context, windowManager, sensorManager);
+  }
+
+  @Test
+  public void updateRotationVector_displayRotationIsCached() throws Exception {
+    compassEngine.updateRotationVector(new float[4], 0);
+    compassEngine.updateRotationVector(new float[4], 100);
+
+    verify(windowManager, times(1)).getDefaultDisplay();
+  }
+
+  @Test
+  public void onConfigurationChanged_displayRotationIsUpdated() throws Exception {
+    compassEngine.onConfigurationChanged(null);
+
+    verify(windowManager, times(2)).getDefaultDisplay();
+  }
+
+  @Test
+  public void onStart_registersComponentCallbacks() throws Exception {
+    compassEngine.onStart();
+
+    verify(context).registerComponentCallbacks(compassEngine);
+  }
+
+  @Test
+  public void onStop_unregistersComponentCallbacks() throws Exception {
+    compassEngine.onStart();
+    compassEngine.onStop();
+
+    verify(context).unregisterComponentCallbacks(compassEngine);
+    verify(sensorManager).unregisterListener(compassEngine);
+  }
+
+  @Test
+  public void onStart_startedTwiceRegistersOnce() throws Exception {
+    compassEngine.onStart();
+    compassEngine.onStart();
+
+    verify(context, times(1)).registerComponentCallbacks(compassEngine);
+  }
+
+  @Test
+  public void onStop_notStartedIsIgnored() throws Exception {
+    compassEngine.onStop();
+
+    verify(context, times(0)).unregisterComponentCallbacks(compassEngine);
+    verify(sensorManager, times(0)).unregisterListener(compassEngine);
+  }
+
+  @Test
+  public void addCompassListenerWhileStopped_sensorsAreNotRegistered() throws Exception {
+    compassEngine.addCompassListenerWhileStopped(mock(CompassListener.class));
+
+    verify(context, times(0)).registerComponentCallbacks(compassEngine);
+    verify(sensorManager, times(0)).unregisterListener(compassEngine);
+  }
+
+  @Test
+  public void onDisplayChanged_displayRotationIsUpdated() throws Exception {
+    FusedCompassEngine.DisplayRotationListener listener = compassEngine.new DisplayRotationListener();
+
+    listener.onDisplayChanged(display.getDisplayId());
+
+    verify(display, times(2)).getRotation();
+  }
+
+  @Test
+  public void whenRotationVectorIsNull_fallbackToAccelerometerAndMagneticField() throws Exception {
+    verify(sensorManager).getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
+    verify(sensorManager).getDefaultSensor(Sensor.TYPE_MAGNETIC_FIELD);
+  }
+
+  @Test
+  public void whenRotationVectorIsAvailable_noFallback() throws Exception {
+    SensorManager sensorManager = mock(SensorManager.class);
+    when(sensorManager.getDefaultSensor(Sensor.TYPE_ROTATION_VECTOR)).thenReturn(mock(Sensor.class));
+    new FusedCompassEngine(context, windowManager, sensorManager);
+
+    verify(sensorManager, times(0)).getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
+  }
+
+  @Test
+  public void updateHeading_firstHeadingIsDispatched() throws Exception {
+    CompassListener listener = mock(CompassListener.class);
+    compassEngine.addCompassListener(listener);
+
+    compassEngine.updateHeading(90, 0, false);
+
+    verify(listener).onCompassChanged(90f);
+  }
+
+  @Test
+  public void updateHeading_changeBelowMinDeltaIsIgnored() throws Exception {
+    CompassListener listener = mock(CompassListener.class);
+    compassEngine.addCompassListener(listener);
+
+    compassEngine.updateHeading(90, 0, false);
+    compassEngine.updateHeading(90.5f, TimeUnit.SECONDS.toNanos(1), false);
+
+    verify(listener, times(1)).onCompassChanged(anyFloat());
+  }
+
+  @Test
+  public void updateHeading_rotatingIsDispatchedFaster() throws Exception {
+    CompassListener listener = mock(CompassListener.class);
+    compassEngine.addCompassListener(listener);
+
+    compassEngine.updateHeading(0, 0, false);
+    compassEngine.updateHeading(90, TimeUnit.MILLISECONDS.toNanos(150), false);
+
+    verify(listener, times(2)).onCompassChanged(anyFloat());
+  }
+
+  @Test
+  public void updateHeading_dispatchIntervalFollowsRotation() throws Exception {
+    compassEngine.updateHeading(0, 0, false);
+    assertEquals(COMPASS_UPDATE_RATE_MS, compassEngine.getDispatchIntervalMillis());
+
+    compassEngine.updateHeading(90, TimeUnit.MILLISECONDS.toNanos(150), false);
+    assertEquals(COMPASS_ROTATING_UPDATE_RATE_MS, compassEngine.getDispatchIntervalMillis());
+
+    // the filtered heading drifts by about ten degrees within a second
+    compassEngine.updateHeading(56, TimeUnit.MILLISECONDS.toNanos(1150), false);
+    assertEquals(COMPASS_UPDATE_RATE_MS, compassEngine.getDispatchIntervalMillis());
+  }
+
+  @Test
+  public void updateHeading_driftingIsDispatchedSlower() throws Exception {
+    CompassListener listener = mock(CompassListener.class);
+    compassEngine.addCompassListener(listener);
+
+    compassEngine.updateHeading(0, 0, false);
+    compassEngine.updateHeading(5, TimeUnit.MILLISECONDS.toNanos(200), false);
+    verify(listener, times(1)).onCompassChanged(anyFloat());
+
+    compassEngine.updateHeading(5, TimeUnit.MILLISECONDS.toNanos(500), false);
+    verify(listener, times(2)).onCompassChanged(anyFloat());
+  }
+
+  @Test
+  public void updateHeading_batchedIgnoresUpdateRate() throws Exception {
+    CompassListener listener = mock(CompassListener.class);
+    compassEngine.addCompassListener(listener);
+
+    compassEngine.updateHeading(0, 0, false);
+    compassEngine.updateHeading(5, TimeUnit.MILLISECONDS.toNanos(200), true);
+
+    verify(listener, times(2)).onCompassChanged(anyFloat());
+  }
+
+  @Test
+  public void setLowPowerModeEnabled_whileStartedSensorsAreRegisteredAgain() throws Exception {
+    compassEngine.onStart();
+
+    compassEngine.setLowPowerModeEnabled(true);
+
+    verify(sensorManager).unregisterListener(compassEngine);
+    verify(context, times(2)).registerComponentCallbacks(compassEngine);
+  }
+
+  @Test
+  public void setLowPowerModeEnabled_whileStoppedSensorsAreNotRegistered() throws Exception {
+    compassEngine.setLowPowerModeEnabled(true);
+
+    verify(context, times(0)).registerComponentCallbacks(compassEngine);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setMinHeadingDelta_negativeThrows() throws Exception {
+    compassEngine.setMinHeadingDelta(-1);
+  }
+
+  @Test
+  public void filterHeading_movesTowardsHeading() throws Exception {
+    assertEquals(45f, FusedCompassEngine.filterHeading(0, 90, 0.5f), 0.001f);
+    assertEquals(90f, FusedCompassEngine.filterHeading(0, 90, 1f), 0.001f);
+    assertEquals(0f, FusedCompassEngine.filterHeading(0, 90, 0f), 0.001f);
+  }
+
+  @Test
+  public void filterHeading_wrapsAroundNorth() throws Exception {
+    assertEquals(0f, FusedCompassEngine.filterHeading(350, 10, 0.5f), 0.001f);
+    assertEquals(0f, FusedCompassEngine.filterHeading(10, 350, 0.5f), 0.001f);
+    assertEquals(355f, FusedCompassEngine.filterHeading(340, 10, 0.5f), 0.001f);
+  }
+
+  @Test
+  public void filterHeading_negativeHeadingIsNormalized() throws Exception {
+    assertEquals(270f, FusedCompassEngine.filterHeading(270, -90, 0.5f), 0.001f);
+  }
+}
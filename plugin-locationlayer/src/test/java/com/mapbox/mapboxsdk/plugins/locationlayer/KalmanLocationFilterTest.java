@@ -0,0 +1,92 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class KalmanLocationFilterTest {
+
+  @Test
+  public void filter_firstLocationPassesThrough() throws Exception {
+    KalmanLocationFilter filter = new KalmanLocationFilter();
+    Location location = createLocation(52.5, 13.4, 5, 1000);
+
+    Location filtered = filter.filter(location);
+
+    assertEquals(52.5, filtered.getLatitude());
+    assertEquals(13.4, filtered.getLongitude());
+  }
+
+  @Test
+  public void filter_jitterIsSmoothed() throws Exception {
+    KalmanLocationFilter filter = new KalmanLocationFilter();
+    filter.filter(createLocation(0, 0, 10, 0));
+
+    // alternate ~20m north and south of the origin
+    double offset = 0.00018;
+    Location filtered = null;
+    for (int i = 1; i <= 20; i++) {
+      double latitude = i % 2 == 0 ? offset : -offset;
+      filtered = filter.filter(createLocation(latitude, 0, 10, i * 1000));
+    }
+
+    assertTrue(Math.abs(filtered.getLatitude()) < offset / 2);
+    assertTrue(filtered.getAccuracy() < 10);
+  }
+
+  @Test
+  public void filter_inaccurateLocationIsWeightedLess() throws Exception {
+    KalmanLocationFilter accurate = new KalmanLocationFilter();
+    KalmanLocationFilter inaccurate = new KalmanLocationFilter();
+    accurate.filter(createLocation(0, 0, 10, 0));
+    inaccurate.filter(createLocation(0, 0, 10, 0));
+
+    double accurateLatitude = accurate.filter(createLocation(0.001, 0, 5, 1000)).getLatitude();
+    double inaccurateLatitude = inaccurate.filter(createLocation(0.001, 0, 100, 1000)).getLatitude();
+
+    assertTrue(accurateLatitude > inaccurateLatitude);
+  }
+
+  @Test
+  public void filter_outOfOrderLocationIgnored() throws Exception {
+    KalmanLocationFilter filter = new KalmanLocationFilter();
+    filter.filter(createLocation(0, 0, 10, 2000));
+
+    Location filtered = filter.filter(createLocation(1, 1, 10, 1000));
+
+    assertEquals(0, filtered.getLatitude(), 0.000001);
+    assertEquals(0, filtered.getLongitude(), 0.000001);
+  }
+
+  @Test
+  public void reset_nextLocationPassesThrough() throws Exception {
+    KalmanLocationFilter filter = new KalmanLocationFilter();
+    filter.filter(createLocation(0, 0, 10, 0));
+    filter.reset();
+
+    Location filtered = filter.filter(createLocation(10, 10, 10, 1000));
+
+    assertEquals(10.0, filtered.getLatitude());
+    assertEquals(10.0, filtered.getLongitude());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_invalidProcessNoiseThrows() throws Exception {
+    new KalmanLocationFilter(0);
+  }
+
+  private static Location createLocation(double latitude, double longitude, float accuracy, long time) {
+    Location location = new Location("test");
+    location.setLatitude(latitude);
+    location.setLongitude(longitude);
+    location.setAccuracy(accuracy);
+    location.setTime(time);
+    return location;
+  }
+}
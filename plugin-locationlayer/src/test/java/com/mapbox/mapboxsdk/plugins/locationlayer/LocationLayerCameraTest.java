@@ -14,6 +14,8 @@ import com.mapbox.mapboxsdk.plugins.locationlayer.modes.CameraMode;
 import org.junit.Test;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -105,6 +107,7 @@ public class LocationLayerCameraTest {
     LatLng latLng = mock(LatLng.class);
 
     camera.onNewLatLngValue(latLng);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
@@ -120,6 +123,7 @@ public class LocationLayerCameraTest {
     LatLng latLng = mock(LatLng.class);
 
     camera.onNewLatLngValue(latLng);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
@@ -135,6 +139,7 @@ public class LocationLayerCameraTest {
     LatLng latLng = mock(LatLng.class);
 
     camera.onNewLatLngValue(latLng);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
@@ -150,6 +155,7 @@ public class LocationLayerCameraTest {
     LatLng latLng = mock(LatLng.class);
 
     camera.onNewLatLngValue(latLng);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
@@ -165,6 +171,7 @@ public class LocationLayerCameraTest {
     LatLng latLng = mock(LatLng.class);
 
     camera.onNewLatLngValue(latLng);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap, times(0)).moveCamera(any(CameraUpdate.class));
   }
@@ -184,10 +191,42 @@ public class LocationLayerCameraTest {
     LatLng latLng = mock(LatLng.class);
 
     camera.onNewLatLngValue(latLng);
+    camera.onAnimationFrameEnd();
 
     verify(uiSettings).setFocalPoint(pointF);
   }
 
+  @Test
+  public void onNewLatLngValue_focalPointNotAdjustedBeforeFrameEnd() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    UiSettings uiSettings = mock(UiSettings.class);
+    when(mapboxMap.getUiSettings()).thenReturn(uiSettings);
+    Projection projection = mock(Projection.class);
+    when(mapboxMap.getProjection()).thenReturn(projection);
+    LocationLayerCamera camera = buildCamera(mapboxMap);
+    camera.initializeOptions(mock(LocationLayerOptions.class));
+    camera.setCameraMode(CameraMode.TRACKING);
+
+    camera.onNewLatLngValue(mock(LatLng.class));
+
+    verify(uiSettings, times(0)).setFocalPoint(any(PointF.class));
+  }
+
+  @Test
+  public void setCameraMode_pendingValuesAreDropped() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    when(mapboxMap.getUiSettings()).thenReturn(mock(UiSettings.class));
+    LocationLayerCamera camera = buildCamera(mapboxMap);
+    camera.initializeOptions(mock(LocationLayerOptions.class));
+    camera.setCameraMode(CameraMode.TRACKING_COMPASS);
+
+    camera.onNewCompassBearingValue(5f);
+    camera.setCameraMode(CameraMode.NONE);
+    camera.onAnimationFrameEnd();
+
+    verify(mapboxMap, times(0)).moveCamera(any(CameraUpdate.class));
+  }
+
   @Test
   public void onNewGpsBearingValue_cameraModeTrackingGpsUpdatesBearing() {
     MapboxMap mapboxMap = mock(MapboxMap.class);
@@ -197,6 +236,7 @@ public class LocationLayerCameraTest {
     float gpsBearing = 5f;
 
     camera.onNewGpsBearingValue(gpsBearing);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
@@ -210,6 +250,7 @@ public class LocationLayerCameraTest {
     float gpsBearing = 5f;
 
     camera.onNewGpsBearingValue(gpsBearing);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
@@ -225,6 +266,7 @@ public class LocationLayerCameraTest {
     float gpsBearing = 5f;
 
     camera.onNewGpsBearingValue(gpsBearing);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
@@ -240,6 +282,7 @@ public class LocationLayerCameraTest {
     float gpsBearing = 5f;
 
     camera.onNewGpsBearingValue(gpsBearing);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap, times(0)).moveCamera(any(CameraUpdate.class));
   }
@@ -253,6 +296,7 @@ public class LocationLayerCameraTest {
     float gpsBearing = 5f;
 
     camera.onNewGpsBearingValue(gpsBearing);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap, times(0)).moveCamera(any(CameraUpdate.class));
   }
@@ -266,6 +310,7 @@ public class LocationLayerCameraTest {
     float compassBearing = 5f;
 
     camera.onNewCompassBearingValue(compassBearing);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
@@ -279,6 +324,7 @@ public class LocationLayerCameraTest {
     float compassBearing = 5f;
 
     camera.onNewCompassBearingValue(compassBearing);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
@@ -292,6 +338,7 @@ public class LocationLayerCameraTest {
     float compassBearing = 5f;
 
     camera.onNewCompassBearingValue(compassBearing);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap, times(0)).moveCamera(any(CameraUpdate.class));
   }
@@ -305,10 +352,43 @@ public class LocationLayerCameraTest {
     float zoom = 5f;
 
     camera.onNewZoomValue(zoom);
+    camera.onAnimationFrameEnd();
 
     verify(mapboxMap).moveCamera(any(CameraUpdate.class));
   }
 
+  @Test
+  public void onAnimationFrameEnd_singleCameraUpdatePerFrame() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    when(mapboxMap.getUiSettings()).thenReturn(mock(UiSettings.class));
+    when(mapboxMap.getProjection()).thenReturn(mock(Projection.class));
+    OnCameraMoveInvalidateListener invalidateListener = mock(OnCameraMoveInvalidateListener.class);
+    LocationLayerCamera camera = new LocationLayerCamera(mapboxMap, mock(MoveGestureDetector.class),
+      mock(OnCameraTrackingChangedListener.class), invalidateListener);
+    camera.initializeOptions(mock(LocationLayerOptions.class));
+    camera.setCameraMode(CameraMode.TRACKING_GPS);
+
+    camera.onNewLatLngValue(new LatLng(1, 2));
+    camera.onNewGpsBearingValue(5f);
+    camera.onNewZoomValue(12f);
+    camera.onNewTiltValue(30f);
+    camera.onAnimationFrameEnd();
+
+    verify(mapboxMap, times(1)).moveCamera(any(CameraUpdate.class));
+    verify(invalidateListener, times(1)).onInvalidateCameraMove();
+  }
+
+  @Test
+  public void onAnimationFrameEnd_noValuesIgnored() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LocationLayerCamera camera = buildCamera(mapboxMap);
+    camera.initializeOptions(mock(LocationLayerOptions.class));
+    camera.setCameraMode(CameraMode.TRACKING);
+
+    camera.onAnimationFrameEnd();
+
+    verify(mapboxMap, times(0)).moveCamera(any(CameraUpdate.class));
+  }
 
   @Test
   public void onMove_cancellingTransitionWhileNone() {
@@ -366,6 +446,38 @@ public class LocationLayerCameraTest {
     verify(moveGestureDetector, times(1)).interrupt();
   }
 
+  @Test
+  public void onMove_trackingDismissalIsRecorded() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    when(mapboxMap.getUiSettings()).thenReturn(mock(UiSettings.class));
+    MoveGestureDetector moveGestureDetector = mock(MoveGestureDetector.class);
+    TrackingMetricsRecorder recorder = mock(TrackingMetricsRecorder.class);
+    LocationLayerCamera camera = new LocationLayerCamera(mapboxMap, moveGestureDetector,
+      mock(OnCameraTrackingChangedListener.class), mock(OnCameraMoveInvalidateListener.class), recorder);
+    camera.initializeOptions(mock(LocationLayerOptions.class));
+
+    camera.setCameraMode(CameraMode.TRACKING);
+    camera.onMoveListener.onMove(moveGestureDetector);
+
+    verify(recorder).onTrackingStarted(anyLong());
+    verify(recorder).onTrackingDismissed(eq(TrackingMetrics.DISMISSAL_MOVE), anyLong());
+  }
+
+  @Test
+  public void setCameraMode_trackingDismissalByModeChangeIsRecorded() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    when(mapboxMap.getUiSettings()).thenReturn(mock(UiSettings.class));
+    TrackingMetricsRecorder recorder = mock(TrackingMetricsRecorder.class);
+    LocationLayerCamera camera = new LocationLayerCamera(mapboxMap, mock(MoveGestureDetector.class),
+      mock(OnCameraTrackingChangedListener.class), mock(OnCameraMoveInvalidateListener.class), recorder);
+    camera.initializeOptions(mock(LocationLayerOptions.class));
+
+    camera.setCameraMode(CameraMode.TRACKING_GPS);
+    camera.setCameraMode(CameraMode.NONE_GPS);
+
+    verify(recorder).onTrackingDismissed(eq(TrackingMetrics.DISMISSAL_CAMERA_MODE_CHANGE), anyLong());
+  }
+
   private LocationLayerCamera buildCamera(OnCameraTrackingChangedListener onCameraTrackingChangedListener) {
     MapboxMap mapboxMap = mock(MapboxMap.class);
     when(mapboxMap.getUiSettings()).thenReturn(mock(UiSettings.class));
@@ -3,6 +3,7 @@ package com.mapbox.mapboxsdk.plugins.locationlayer;
 import android.graphics.Bitmap;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.mapbox.geojson.Feature;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
@@ -12,11 +13,14 @@ import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
 
 import org.junit.Test;
 
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.ACCURACY_LAYER;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BACKGROUND_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BACKGROUND_LAYER;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BACKGROUND_STALE_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BEARING_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.BEARING_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPOSITE_ICON;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.COMPOSITE_LAYER;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FOREGROUND_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FOREGROUND_LAYER;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.FOREGROUND_STALE_ICON;
@@ -28,11 +32,18 @@ import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.PROPERTY_SHADOW_ICON_OFFSET;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.SHADOW_ICON;
 import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.SHADOW_LAYER;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 public class LocationLayerTest {
@@ -307,14 +318,61 @@ public class LocationLayerTest {
     LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
     LocationLayerOptions options = mock(LocationLayerOptions.class);
     Feature locationFeature = mock(Feature.class);
+    when(locationFeature.properties()).thenReturn(new JsonObject());
     LocationLayer layer = new LocationLayer(
       mapboxMap, sourceProvider, buildFeatureProvider(locationFeature, options), bitmapProvider, options
     );
 
     layer.onNewLatLngValue(new LatLng());
+    layer.onAnimationFrameEnd();
 
     // wanted twice (once for initialization)
-    verify(locationSource, times(2)).setGeoJson(locationFeature);
+    verify(locationSource, times(2)).setGeoJson(any(Feature.class));
+  }
+
+  @Test
+  public void onAnimationFrameEnd_singleSourceUpdatePerFrame() {
+    GeoJsonSource locationSource = mock(GeoJsonSource.class);
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    when(sourceProvider.generateSource(any(Feature.class))).thenReturn(locationSource);
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    Feature locationFeature = mock(Feature.class);
+    when(locationFeature.properties()).thenReturn(new JsonObject());
+    LocationLayer layer = new LocationLayer(
+      mapboxMap, sourceProvider, buildFeatureProvider(locationFeature, options), bitmapProvider, options
+    );
+
+    layer.onNewLatLngValue(new LatLng());
+    layer.onNewAccuracyRadiusValue(2f);
+    layer.updateForegroundOffset(2d);
+    layer.updateForegroundBearing(2f);
+    layer.onAnimationFrameEnd();
+
+    // wanted twice (once for initialization)
+    verify(locationSource, times(2)).setGeoJson(any(Feature.class));
+  }
+
+  @Test
+  public void invalidateSource_updatesIgnoredUntilSourceIsAdded() {
+    GeoJsonSource locationSource = mock(GeoJsonSource.class);
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    when(sourceProvider.generateSource(any(Feature.class))).thenReturn(locationSource);
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    Feature locationFeature = mock(Feature.class);
+    LocationLayer layer = new LocationLayer(
+      mapboxMap, sourceProvider, buildFeatureProvider(locationFeature, options), bitmapProvider, options
+    );
+
+    layer.invalidateSource();
+    layer.updateForegroundOffset(2d);
+    layer.onAnimationFrameEnd();
+
+    // wanted once for initialization
+    verify(locationSource, times(1)).setGeoJson(any(Feature.class));
   }
 
   @Test
@@ -442,6 +500,165 @@ public class LocationLayerTest {
     verify(locationFeature, times(0)).addNumberProperty(PROPERTY_ACCURACY_RADIUS, accuracyRadiusValue);
   }
 
+  @Test
+  public void setRenderMode_registeredImageIsNotAddedAgain() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    when(sourceProvider.generateSource(any(Feature.class))).thenReturn(mock(GeoJsonSource.class));
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    int drawableResId = 123;
+    int tintColor = 456;
+    when(options.foregroundDrawable()).thenReturn(drawableResId);
+    when(options.foregroundTintColor()).thenReturn(tintColor);
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    Bitmap bitmap = mock(Bitmap.class);
+    when(bitmapProvider.generateBitmap(drawableResId, tintColor)).thenReturn(bitmap);
+    LocationLayer layer =
+      new LocationLayer(mapboxMap, sourceProvider, buildFeatureProvider(options), bitmapProvider, options);
+    layer.show();
+
+    layer.setRenderMode(RenderMode.COMPASS);
+    layer.setRenderMode(RenderMode.NORMAL);
+
+    verify(mapboxMap, times(1)).addImage(FOREGROUND_ICON, bitmap);
+  }
+
+  @Test
+  public void initializeComponents_imagesAreAddedAgain() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    when(sourceProvider.generateSource(any(Feature.class))).thenReturn(mock(GeoJsonSource.class));
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    int drawableResId = 123;
+    int tintColor = 456;
+    when(options.foregroundDrawable()).thenReturn(drawableResId);
+    when(options.foregroundTintColor()).thenReturn(tintColor);
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    Bitmap bitmap = mock(Bitmap.class);
+    when(bitmapProvider.generateBitmap(drawableResId, tintColor)).thenReturn(bitmap);
+    LocationLayer layer =
+      new LocationLayer(mapboxMap, sourceProvider, buildFeatureProvider(options), bitmapProvider, options);
+
+    layer.initializeComponents(options);
+
+    verify(mapboxMap, times(2)).addImage(FOREGROUND_ICON, bitmap);
+  }
+
+  @Test
+  public void onInitialization_compositeLayerReplacesIconLayers() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    Layer compositeLayer = mock(Layer.class);
+    when(sourceProvider.generateLayer(COMPOSITE_LAYER)).thenReturn(compositeLayer);
+    when(sourceProvider.generateSource(any(Feature.class))).thenReturn(mock(GeoJsonSource.class));
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    when(options.compositeIcons()).thenReturn(true);
+
+    new LocationLayer(mapboxMap, sourceProvider, buildFeatureProvider(options), bitmapProvider, options);
+
+    verify(mapboxMap).addLayerBelow(compositeLayer, BEARING_LAYER);
+    verify(sourceProvider, times(0)).generateLayer(SHADOW_LAYER);
+    verify(sourceProvider, times(0)).generateLayer(FOREGROUND_LAYER);
+    verify(sourceProvider, times(0)).generateLayer(BACKGROUND_LAYER);
+  }
+
+  @Test
+  public void applyStyle_compositeIconIsAdded() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    when(sourceProvider.generateSource(any(Feature.class))).thenReturn(mock(GeoJsonSource.class));
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    when(options.compositeIcons()).thenReturn(true);
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    Bitmap bitmap = mock(Bitmap.class);
+    when(bitmapProvider.generateCompositeBitmap(
+      anyInt(), nullable(Integer.class), anyInt(), nullable(Integer.class), anyFloat())).thenReturn(bitmap);
+
+    new LocationLayer(mapboxMap, sourceProvider, buildFeatureProvider(options), bitmapProvider, options);
+
+    verify(mapboxMap).addImage(COMPOSITE_ICON, bitmap);
+  }
+
+  @Test
+  public void applyStyle_enablingCompositeIconsSwapsLayers() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    Layer compositeLayer = mock(Layer.class);
+    when(sourceProvider.generateLayer(COMPOSITE_LAYER)).thenReturn(compositeLayer);
+    when(sourceProvider.generateSource(any(Feature.class))).thenReturn(mock(GeoJsonSource.class));
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    LocationLayer layer =
+      new LocationLayer(mapboxMap, sourceProvider, buildFeatureProvider(options), bitmapProvider, options);
+
+    LocationLayerOptions compositeOptions = mock(LocationLayerOptions.class);
+    when(compositeOptions.compositeIcons()).thenReturn(true);
+    layer.applyStyle(compositeOptions);
+
+    verify(mapboxMap).removeLayer(SHADOW_LAYER);
+    verify(mapboxMap).removeLayer(FOREGROUND_LAYER);
+    verify(mapboxMap).removeLayer(BACKGROUND_LAYER);
+    verify(mapboxMap).addLayerBelow(compositeLayer, BEARING_LAYER);
+  }
+
+  @Test
+  public void setRenderMode_layersAreNotLookedUp() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    when(sourceProvider.generateSource(any(Feature.class))).thenReturn(mock(GeoJsonSource.class));
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    LocationLayer layer =
+      new LocationLayer(mapboxMap, sourceProvider, buildFeatureProvider(options), bitmapProvider, options);
+    layer.show();
+
+    layer.setRenderMode(RenderMode.COMPASS);
+    layer.setRenderMode(RenderMode.GPS);
+    layer.hide();
+
+    verify(mapboxMap, times(0)).getLayer(anyString());
+  }
+
+  @Test
+  public void lazyInitialization_componentsAreNotAddedBeforeShown() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    when(options.lazyInitialization()).thenReturn(true);
+
+    LocationLayer layer = new LocationLayer(mapboxMap, sourceProvider, buildFeatureProvider(options),
+      bitmapProvider, options);
+    layer.applyStyle(options);
+    layer.initializeComponents(options);
+
+    verify(mapboxMap, times(0)).addSource(any(GeoJsonSource.class));
+    verify(mapboxMap, times(0)).addLayerBelow(any(Layer.class), anyString());
+    verifyZeroInteractions(bitmapProvider);
+    assertTrue(layer.isComponentsDeferred());
+  }
+
+  @Test
+  public void lazyInitialization_componentsAreAddedWhenShown() {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    LayerSourceProvider sourceProvider = buildLayerProvider();
+    GeoJsonSource locationSource = mock(GeoJsonSource.class);
+    when(sourceProvider.generateSource(any(Feature.class))).thenReturn(locationSource);
+    LayerBitmapProvider bitmapProvider = mock(LayerBitmapProvider.class);
+    LocationLayerOptions options = mock(LocationLayerOptions.class);
+    when(options.lazyInitialization()).thenReturn(true);
+    LocationLayer layer = new LocationLayer(mapboxMap, sourceProvider, buildFeatureProvider(options),
+      bitmapProvider, options);
+
+    layer.show();
+
+    verify(mapboxMap).addSource(locationSource);
+    verify(sourceProvider).generateLayer(FOREGROUND_LAYER);
+    assertFalse(layer.isHidden());
+    assertFalse(layer.isComponentsDeferred());
+  }
+
   private LayerFeatureProvider buildFeatureProvider(LocationLayerOptions options) {
     LayerFeatureProvider provider = mock(LayerFeatureProvider.class);
     when(provider.generateLocationFeature(null, options)).thenReturn(mock(Feature.class));
@@ -456,11 +673,18 @@ public class LocationLayerTest {
 
   private LayerSourceProvider buildLayerProvider() {
     LayerSourceProvider layerSourceProvider = mock(LayerSourceProvider.class);
-    when(layerSourceProvider.generateLayer(SHADOW_LAYER)).thenReturn(mock(Layer.class));
-    when(layerSourceProvider.generateLayer(BACKGROUND_LAYER)).thenReturn(mock(Layer.class));
-    when(layerSourceProvider.generateLayer(FOREGROUND_LAYER)).thenReturn(mock(Layer.class));
-    when(layerSourceProvider.generateLayer(BEARING_LAYER)).thenReturn(mock(Layer.class));
-    when(layerSourceProvider.generateAccuracyLayer()).thenReturn(mock(Layer.class));
+    when(layerSourceProvider.generateLayer(SHADOW_LAYER)).thenReturn(buildLayer(SHADOW_LAYER));
+    when(layerSourceProvider.generateLayer(BACKGROUND_LAYER)).thenReturn(buildLayer(BACKGROUND_LAYER));
+    when(layerSourceProvider.generateLayer(FOREGROUND_LAYER)).thenReturn(buildLayer(FOREGROUND_LAYER));
+    when(layerSourceProvider.generateLayer(BEARING_LAYER)).thenReturn(buildLayer(BEARING_LAYER));
+    when(layerSourceProvider.generateLayer(COMPOSITE_LAYER)).thenReturn(buildLayer(COMPOSITE_LAYER));
+    when(layerSourceProvider.generateAccuracyLayer()).thenReturn(buildLayer(ACCURACY_LAYER));
     return layerSourceProvider;
   }
+
+  private Layer buildLayer(String layerId) {
+    Layer layer = mock(Layer.class);
+    when(layer.getId()).thenReturn(layerId);
+    return layer;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class LocationProcessorTest {
+
+  @Test
+  public void calculateAccuracyRadius_scaledByLatitude() throws Exception {
+    assertEquals(10f, LocationProcessor.calculateAccuracyRadius(10, 0, 1), 0.001f);
+    assertEquals(20f, LocationProcessor.calculateAccuracyRadius(10, 60, 1), 0.001f);
+  }
+
+  @Test
+  public void calculateAccuracyRadius_unknownScale() throws Exception {
+    assertEquals(LocationProcessor.NO_ACCURACY_RADIUS, LocationProcessor.calculateAccuracyRadius(10, 0, 0), 0f);
+  }
+
+  @Test
+  public void process_notStartedLocationIsIgnored() throws Exception {
+    LocationProcessor.OnLocationProcessedListener listener = mock(LocationProcessor.OnLocationProcessedListener.class);
+    LocationProcessor processor = new LocationProcessor(listener);
+
+    processor.process(mock(Location.class));
+
+    assertFalse(processor.isStarted());
+    verify(listener, times(0)).onLocationProcessed(any(Location.class), anyFloat());
+  }
+
+  @Test
+  public void setLocationFilter_notStartedFilterIsResetDirectly() throws Exception {
+    LocationProcessor processor = new LocationProcessor(mock(LocationProcessor.OnLocationProcessedListener.class));
+    LocationFilter filter = mock(LocationFilter.class);
+
+    processor.setLocationFilter(filter);
+
+    verify(filter).reset();
+  }
+
+  @Test
+  public void setLocationFilter_startedFilterIsResetBeforeNextFix() throws Exception {
+    LocationProcessor processor = new LocationProcessor(mock(LocationProcessor.OnLocationProcessedListener.class));
+    LocationFilter filter = mock(LocationFilter.class);
+    processor.start();
+
+    processor.setLocationFilter(filter);
+
+    // the filter may still be in use on the background thread
+    verify(filter, never()).reset();
+    processor.stop();
+  }
+
+  @Test
+  public void stop_processorCanBeRestarted() throws Exception {
+    LocationProcessor processor = new LocationProcessor(mock(LocationProcessor.OnLocationProcessedListener.class));
+
+    processor.start();
+    processor.stop();
+    assertFalse(processor.isStarted());
+
+    processor.start();
+    assertTrue(processor.isStarted());
+    processor.stop();
+  }
+}
@@ -0,0 +1,123 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.style.layers.Layer;
+import com.mapbox.mapboxsdk.style.sources.GeoJsonSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.ACCURACY_LAYER;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_SOURCE;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_TAIL_SIZE;
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.TRAIL_TAIL_SOURCE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LocationTrailLayerTest {
+
+  // roughly 11 meters
+  private static final double STEP = 0.0001;
+  private static final long DURATION = 20 * 1000;
+
+  private MapboxMap mapboxMap;
+  private GeoJsonSource trailSource;
+  private GeoJsonSource tailSource;
+  private LocationTrailLayer trailLayer;
+
+  @Before
+  public void setUp() throws Exception {
+    mapboxMap = mock(MapboxMap.class);
+    trailSource = mock(GeoJsonSource.class);
+    tailSource = mock(GeoJsonSource.class);
+    LayerSourceProvider sourceProvider = mock(LayerSourceProvider.class);
+    when(sourceProvider.generateTrailSource(TRAIL_SOURCE)).thenReturn(trailSource);
+    when(sourceProvider.generateTrailSource(TRAIL_TAIL_SOURCE)).thenReturn(tailSource);
+    when(sourceProvider.generateTrailLayer(anyString(), anyString(), anyInt())).thenReturn(mock(Layer.class));
+
+    trailLayer = new LocationTrailLayer(mapboxMap, sourceProvider, mock(LocationLayerOptions.class));
+    trailLayer.setDuration(DURATION);
+  }
+
+  @Test
+  public void setEnabled_componentsAreAdded() throws Exception {
+    trailLayer.setEnabled(true);
+
+    verify(mapboxMap).addSource(trailSource);
+    verify(mapboxMap, times(2)).addLayerBelow(any(Layer.class), eq(ACCURACY_LAYER));
+  }
+
+  @Test
+  public void setEnabled_invalidatedComponentsAreAddedWhenInitialized() throws Exception {
+    // the location layers aren't added yet with lazy initialization
+    trailLayer.invalidateSources();
+    trailLayer.setEnabled(true);
+    trailLayer.onNewLocation(createLocation(0));
+
+    verify(mapboxMap, never()).addSource(any(GeoJsonSource.class));
+    verify(mapboxMap, never()).addLayerBelow(any(Layer.class), anyString());
+
+    trailLayer.initializeComponents(mock(LocationLayerOptions.class));
+
+    verify(mapboxMap).addSource(trailSource);
+    verify(mapboxMap, times(2)).addLayerBelow(any(Layer.class), eq(ACCURACY_LAYER));
+  }
+
+  @Test
+  public void onNewLocation_saturatedTrailIsCommittedInChunks() throws Exception {
+    trailLayer.setEnabled(true);
+    // one fix per second, the trail saturates after 20 fixes
+    for (int i = 0; i < 100; i++) {
+      trailLayer.onNewLocation(createLocation(i));
+    }
+    clearInvocations(trailSource, tailSource);
+
+    for (int i = 100; i < 100 + 2 * TRAIL_TAIL_SIZE; i++) {
+      trailLayer.onNewLocation(createLocation(i));
+    }
+
+    // every fix updates the tail, the trail is only updated per committed and per expired chunk
+    verify(tailSource, times(2 * TRAIL_TAIL_SIZE)).setGeoJson(any(Feature.class));
+    verify(trailSource, atMost(4)).setGeoJson(any(Feature.class));
+  }
+
+  @Test
+  public void onNewLocation_expiredTrailIsRemovedWhileNotMoving() throws Exception {
+    trailLayer.setEnabled(true);
+    for (int i = 0; i < 5; i++) {
+      trailLayer.onNewLocation(createLocation(i));
+    }
+    clearInvocations(tailSource);
+
+    // the same position again after the whole trail expired
+    Location location = createLocation(4);
+    when(location.getTime()).thenReturn(4 * 1000 + DURATION + 1);
+    trailLayer.onNewLocation(location);
+
+    verify(tailSource).setGeoJson(any(FeatureCollection.class));
+  }
+
+  /**
+   * Creates the fix of the given second, zig-zagging so that no point is simplified away.
+   */
+  private static Location createLocation(int second) {
+    Location location = mock(Location.class);
+    when(location.getLatitude()).thenReturn((second % 2) * STEP);
+    when(location.getLongitude()).thenReturn(second * STEP);
+    when(location.getTime()).thenReturn(second * 1000L);
+    return location;
+  }
+}
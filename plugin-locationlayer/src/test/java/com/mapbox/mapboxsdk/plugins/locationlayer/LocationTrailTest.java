@@ -0,0 +1,127 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class LocationTrailTest {
+
+  // roughly 11 meters
+  private static final double STEP = 0.0001;
+
+  @Test
+  public void append_pointsCloserThanMinDistanceAreDropped() throws Exception {
+    LocationTrail trail = new LocationTrail(10, 1, 0);
+    trail.append(0, 0, 0);
+
+    assertFalse(trail.append(0.000001, 0, 1000));
+    assertEquals(1, trail.size());
+  }
+
+  @Test
+  public void append_straightLineIsSimplified() throws Exception {
+    LocationTrail trail = new LocationTrail(10, 1, 2);
+    for (int i = 0; i < 5; i++) {
+      trail.append(0, i * STEP, i * 1000);
+    }
+
+    assertEquals(2, trail.size());
+    assertEquals(0, trail.getLongitude(0), 0.0000001);
+    assertEquals(4 * STEP, trail.getLongitude(1), 0.0000001);
+  }
+
+  @Test
+  public void append_turnIsKept() throws Exception {
+    LocationTrail trail = new LocationTrail(10, 1, 2);
+    trail.append(0, 0, 0);
+    trail.append(0, STEP, 1000);
+    trail.append(STEP, STEP, 2000);
+
+    assertEquals(3, trail.size());
+  }
+
+  @Test
+  public void append_sealedPointsAreNotSimplified() throws Exception {
+    LocationTrail trail = new LocationTrail(10, 1, 2);
+    trail.append(0, 0, 0);
+    trail.append(0, STEP, 1000);
+    trail.seal();
+
+    trail.append(0, 2 * STEP, 2000);
+
+    assertEquals(3, trail.size());
+    assertEquals(STEP, trail.getLongitude(1), 0.0000001);
+  }
+
+  @Test
+  public void append_fullBufferOverwritesOldest() throws Exception {
+    LocationTrail trail = new LocationTrail(3, 0, 0);
+    for (int i = 0; i < 5; i++) {
+      // alternate latitude so no point is simplified
+      trail.append(i % 2 * STEP, i * STEP, i * 1000);
+    }
+
+    assertEquals(3, trail.size());
+    assertEquals(2000, trail.getTime(0));
+    assertEquals(4000, trail.getTime(2));
+  }
+
+  @Test
+  public void append_fullBufferReducesSealedCount() throws Exception {
+    LocationTrail trail = new LocationTrail(2, 0, 0);
+    trail.append(0, 0, 0);
+    trail.append(STEP, STEP, 1000);
+    trail.seal();
+
+    trail.append(0, 2 * STEP, 2000);
+
+    assertEquals(1, trail.getSealedCount());
+  }
+
+  @Test
+  public void trimBefore_removesExpiredPoints() throws Exception {
+    LocationTrail trail = new LocationTrail(10, 0, 0);
+    trail.append(0, 0, 0);
+    trail.append(STEP, STEP, 1000);
+    trail.append(0, 2 * STEP, 2000);
+    trail.seal();
+
+    assertEquals(2, trail.trimBefore(1500));
+    assertEquals(1, trail.size());
+    assertEquals(1, trail.getSealedCount());
+    assertEquals(2000, trail.getTime(0));
+  }
+
+  @Test
+  public void removeOldest_removesSealedPointsFirst() throws Exception {
+    LocationTrail trail = new LocationTrail(10, 0, 0);
+    trail.append(0, 0, 0);
+    trail.append(STEP, STEP, 1000);
+    trail.seal();
+    trail.append(0, 2 * STEP, 2000);
+
+    trail.removeOldest(2);
+
+    assertEquals(1, trail.size());
+    assertEquals(0, trail.getSealedCount());
+    assertEquals(2000, trail.getTime(0));
+  }
+
+  @Test
+  public void getPoints_returnsOldestFirst() throws Exception {
+    LocationTrail trail = new LocationTrail(10, 0, 0);
+    trail.append(0, 0, 0);
+    trail.append(STEP, STEP, 1000);
+
+    assertEquals(2, trail.getPoints(0, trail.size()).size());
+    assertEquals(STEP, trail.getPoints(0, trail.size()).get(1).latitude(), 0.0000001);
+  }
+
+  @Test
+  public void crossTrackDistance_pointOnSegmentIsZero() throws Exception {
+    assertEquals(0, LocationTrail.crossTrackDistance(0, 0, 0, 2 * STEP, 0, STEP), 0.001);
+    assertTrue(LocationTrail.crossTrackDistance(0, 0, 0, 2 * STEP, STEP, STEP) > 10);
+  }
+}
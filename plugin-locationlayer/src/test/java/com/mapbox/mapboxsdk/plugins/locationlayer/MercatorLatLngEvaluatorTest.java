@@ -0,0 +1,70 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+
+public class MercatorLatLngEvaluatorTest {
+
+  private static final double DELTA = 1e-6;
+
+  private final MercatorLatLngEvaluator evaluator = new MercatorLatLngEvaluator();
+
+  @Test
+  public void evaluate_endpointsAreReturned() throws Exception {
+    LatLng start = new LatLng(10, 20);
+    LatLng end = new LatLng(-30, 40);
+
+    LatLng atStart = evaluator.evaluate(0f, start, end);
+    assertEquals(10, atStart.getLatitude(), DELTA);
+    assertEquals(20, atStart.getLongitude(), DELTA);
+
+    LatLng atEnd = evaluator.evaluate(1f, start, end);
+    assertEquals(-30, atEnd.getLatitude(), DELTA);
+    assertEquals(40, atEnd.getLongitude(), DELTA);
+  }
+
+  @Test
+  public void evaluate_antimeridianIsCrossedTheShortWay() throws Exception {
+    LatLng start = new LatLng(0, 179);
+    LatLng end = new LatLng(0, -179);
+
+    assertEquals(179.5, evaluator.evaluate(0.25f, start, end).getLongitude(), DELTA);
+    assertEquals(-179.5, evaluator.evaluate(0.75f, start, end).getLongitude(), DELTA);
+  }
+
+  @Test
+  public void evaluate_latitudeIsInterpolatedInProjectedSpace() throws Exception {
+    LatLng start = new LatLng(0, 0);
+    LatLng end = new LatLng(60, 0);
+
+    double expected = MercatorLatLngEvaluator.yToLatitude(MercatorLatLngEvaluator.latitudeToY(60) / 2);
+    assertEquals(expected, evaluator.evaluate(0.5f, start, end).getLatitude(), DELTA);
+    assertEquals(35.26, evaluator.evaluate(0.5f, start, end).getLatitude(), 0.01);
+  }
+
+  @Test
+  public void evaluate_valueInstanceIsReused() throws Exception {
+    LatLng start = new LatLng(0, 0);
+    LatLng end = new LatLng(1, 1);
+
+    assertSame(evaluator.evaluate(0.1f, start, end), evaluator.evaluate(0.2f, start, end));
+  }
+
+  @Test
+  public void shortestLongitudeDelta_isWithinHalfCircle() throws Exception {
+    assertEquals(2, MercatorLatLngEvaluator.shortestLongitudeDelta(179, -179), DELTA);
+    assertEquals(-2, MercatorLatLngEvaluator.shortestLongitudeDelta(-179, 179), DELTA);
+    assertEquals(10, MercatorLatLngEvaluator.shortestLongitudeDelta(-5, 5), DELTA);
+  }
+
+  @Test
+  public void wrap_longitudeIsNormalized() throws Exception {
+    assertEquals(-179, MercatorLatLngEvaluator.wrap(181), DELTA);
+    assertEquals(179, MercatorLatLngEvaluator.wrap(-181), DELTA);
+    assertEquals(180, MercatorLatLngEvaluator.wrap(180), DELTA);
+  }
+}
@@ -0,0 +1,63 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.maps.Projection;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetersPerPixelCacheTest {
+
+  private Projection projection;
+  private MetersPerPixelCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    projection = mock(Projection.class);
+    when(mapboxMap.getProjection()).thenReturn(projection);
+    when(projection.getMetersPerPixelAtLatitude(anyDouble())).thenReturn(2d);
+    cache = new MetersPerPixelCache(mapboxMap);
+  }
+
+  @Test
+  public void getMetersPerPixel_sameBucketIsCached() throws Exception {
+    assertEquals(2d, cache.getMetersPerPixel(52.5, 15), 0);
+    assertEquals(2d, cache.getMetersPerPixel(52.51, 15.01), 0);
+
+    verify(projection, times(1)).getMetersPerPixelAtLatitude(anyDouble());
+  }
+
+  @Test
+  public void getMetersPerPixel_differentZoomIsQueried() throws Exception {
+    cache.getMetersPerPixel(52.5, 15);
+    cache.getMetersPerPixel(52.5, 15.5);
+
+    verify(projection, times(2)).getMetersPerPixelAtLatitude(anyDouble());
+  }
+
+  @Test
+  public void getMetersPerPixel_differentLatitudeIsQueried() throws Exception {
+    cache.getMetersPerPixel(52.5, 15);
+    cache.getMetersPerPixel(-52.5, 15);
+
+    verify(projection, times(2)).getMetersPerPixelAtLatitude(anyDouble());
+  }
+
+  @Test
+  public void getMetersPerPixel_invalidProjectionIsNotCached() throws Exception {
+    when(projection.getMetersPerPixelAtLatitude(anyDouble())).thenReturn(0d);
+
+    cache.getMetersPerPixel(52.5, 15);
+    cache.getMetersPerPixel(52.5, 15);
+
+    verify(projection, times(2)).getMetersPerPixelAtLatitude(anyDouble());
+  }
+}
@@ -5,8 +5,10 @@ import com.mapbox.mapboxsdk.camera.CameraPosition
 import com.mapbox.mapboxsdk.geometry.LatLng
 import com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.DEFAULT_TRACKING_TILT_ANIMATION_DURATION
 import com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.DEFAULT_TRACKING_ZOOM_ANIMATION_DURATION
+import com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.MAX_ANIMATION_DURATION_MS
 import com.mapbox.mapboxsdk.plugins.locationlayer.PluginAnimator.*
 import junit.framework.Assert.assertEquals
+import junit.framework.Assert.assertFalse
 import junit.framework.Assert.assertTrue
 import org.junit.Before
 import org.junit.Test
@@ -91,6 +93,34 @@ class PluginAnimatorCoordinatorTest {
     assertEquals(location.bearing, layerBearingTarget)
   }
 
+  @Test
+  fun feedNewLocation_extrapolationMovesTargetAlongBearing() {
+    val location = Location("")
+    location.latitude = 51.0
+    location.longitude = 17.0
+    location.bearing = 0f
+    location.speed = 10f
+    pluginAnimatorCoordinator.setExtrapolationEnabled(true)
+    pluginAnimatorCoordinator.feedNewLocation(location, cameraPosition, false)
+
+    val layerLatLngTarget = pluginAnimatorCoordinator.animatorMap[ANIMATOR_LAYER_LATLNG]?.target as LatLng
+    assertTrue(layerLatLngTarget.latitude > location.latitude)
+    assertEquals(location.longitude, layerLatLngTarget.longitude, 0.000001)
+  }
+
+  @Test
+  fun feedNewLocation_extrapolationIgnoredWithoutSpeed() {
+    val location = Location("")
+    location.latitude = 51.0
+    location.longitude = 17.0
+    location.bearing = 0f
+    pluginAnimatorCoordinator.setExtrapolationEnabled(true)
+    pluginAnimatorCoordinator.feedNewLocation(location, cameraPosition, false)
+
+    val layerLatLngTarget = pluginAnimatorCoordinator.animatorMap[ANIMATOR_LAYER_LATLNG]?.target as LatLng
+    assertEquals(location.latitude, layerLatLngTarget.latitude)
+  }
+
   @Test
   fun feedNewCompassBearing_animatorsAreCreated() {
     pluginAnimatorCoordinator.feedNewCompassBearing(77f, cameraPosition)
@@ -111,6 +141,14 @@ class PluginAnimatorCoordinatorTest {
     assertEquals(bearing, layerBearingTarget)
   }
 
+  @Test
+  fun feedNewCompassBearing_animationDurationMatchesDispatchInterval() {
+    pluginAnimatorCoordinator.feedNewCompassBearing(77f, cameraPosition, 100)
+
+    val animationDuration = pluginAnimatorCoordinator.animatorMap[ANIMATOR_LAYER_COMPASS_BEARING]?.duration as Long
+    assertEquals(100L, animationDuration)
+  }
+
   @Test
   fun feedNewAccuracyRadius_animatorsCreated() {
     pluginAnimatorCoordinator.feedNewAccuracyRadius(150f, false)
@@ -248,6 +286,62 @@ class PluginAnimatorCoordinatorTest {
     assertTrue(pluginAnimatorCoordinator.animatorMap.isEmpty())
   }
 
+  @Test
+  fun onFrame_valuesDispatchedOncePerFrame() {
+    val layerListener = Mockito.mock(OnLayerAnimationsValuesChangeListener::class.java)
+    pluginAnimatorCoordinator.addLayerListener(layerListener)
+    pluginAnimatorCoordinator.feedNewAccuracyRadius(150f, true)
+
+    pluginAnimatorCoordinator.onFrame(0)
+
+    Mockito.verify(layerListener).onNewAccuracyRadiusValue(150f)
+    Mockito.verify(layerListener).onAnimationFrameEnd()
+    assertFalse(pluginAnimatorCoordinator.animatorMap[ANIMATOR_LAYER_ACCURACY]!!.isRunning)
+  }
+
+  @Test
+  fun onFrame_throttledToMaxFps() {
+    val layerListener = Mockito.mock(OnLayerAnimationsValuesChangeListener::class.java)
+    pluginAnimatorCoordinator.addLayerListener(layerListener)
+    pluginAnimatorCoordinator.setMaxAnimationFps(10)
+    pluginAnimatorCoordinator.feedNewAccuracyRadius(150f, false)
+
+    pluginAnimatorCoordinator.onFrame(1000)
+    pluginAnimatorCoordinator.onFrame(1016)
+    Mockito.verify(layerListener, Mockito.times(1)).onAnimationFrameEnd()
+
+    pluginAnimatorCoordinator.onFrame(1100)
+    Mockito.verify(layerListener, Mockito.times(2)).onAnimationFrameEnd()
+  }
+
+  @Test
+  fun onFrame_adaptiveSkipsFramesBelowThreshold() {
+    val layerListener = Mockito.mock(OnLayerAnimationsValuesChangeListener::class.java)
+    pluginAnimatorCoordinator.addLayerListener(layerListener)
+    pluginAnimatorCoordinator.setAdaptiveAnimationsEnabled(true)
+    pluginAnimatorCoordinator.setMetersPerPixel(10.0)
+    pluginAnimatorCoordinator.feedNewLocation(Location(""), cameraPosition, false)
+
+    pluginAnimatorCoordinator.onFrame(0)
+    pluginAnimatorCoordinator.onFrame(16)
+    Mockito.verify(layerListener, Mockito.times(1)).onAnimationFrameEnd()
+
+    // the last frame of an animation is always dispatched
+    pluginAnimatorCoordinator.onFrame(MAX_ANIMATION_DURATION_MS)
+    Mockito.verify(layerListener, Mockito.times(2)).onAnimationFrameEnd()
+  }
+
+  @Test
+  fun feedNewCompassBearing_adaptiveIgnoredWhileStale() {
+    pluginAnimatorCoordinator.setAdaptiveAnimationsEnabled(true)
+    pluginAnimatorCoordinator.setLocationsStale(true)
+
+    pluginAnimatorCoordinator.feedNewCompassBearing(77f, cameraPosition)
+
+    assertTrue(pluginAnimatorCoordinator.animatorMap[ANIMATOR_LAYER_COMPASS_BEARING] == null)
+    assertTrue(pluginAnimatorCoordinator.animatorMap[ANIMATOR_CAMERA_COMPASS_BEARING] == null)
+  }
+
   @Test
   fun addLayerListener() {
     val layerListener = Mockito.mock(OnLayerAnimationsValuesChangeListener::class.java)
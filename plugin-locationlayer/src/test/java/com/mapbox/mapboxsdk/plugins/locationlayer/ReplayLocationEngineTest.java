@@ -0,0 +1,208 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.mapbox.android.core.location.LocationEngineListener;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReplayLocationEngineTest {
+
+  private LocationEngineListener listener;
+
+  @Before
+  public void setUp() throws Exception {
+    listener = mock(LocationEngineListener.class);
+  }
+
+  @Test
+  public void requestLocationUpdates_firstLocationIsDeliveredImmediately() throws Exception {
+    ReplayLocationEngine engine = createEngine(createTrace(3), 0);
+
+    engine.requestLocationUpdates();
+
+    verify(listener, times(1)).onLocationChanged(any(Location.class));
+  }
+
+  @Test
+  public void requestLocationUpdates_locationsAreDeliveredWithRecordedDelays() throws Exception {
+    ReplayLocationEngine engine = createEngine(createTrace(3), 0);
+
+    engine.requestLocationUpdates();
+    advanceBy(999);
+    verify(listener, times(1)).onLocationChanged(any(Location.class));
+
+    advanceBy(1);
+    verify(listener, times(2)).onLocationChanged(any(Location.class));
+  }
+
+  @Test
+  public void setSpeedFactor_recordedDelaysAreScaled() throws Exception {
+    ReplayLocationEngine engine = createEngine(createTrace(3), 0);
+    engine.setSpeedFactor(2);
+
+    engine.requestLocationUpdates();
+    advanceBy(1000);
+
+    verify(listener, times(3)).onLocationChanged(any(Location.class));
+    assertTrue(engine.isFinished());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setSpeedFactor_zeroThrows() throws Exception {
+    createEngine(createTrace(1), 0).setSpeedFactor(0);
+  }
+
+  @Test
+  public void setLooping_traceStartsOver() throws Exception {
+    ReplayLocationEngine engine = createEngine(createTrace(2), 0);
+    engine.setLooping(true);
+
+    engine.requestLocationUpdates();
+    advanceBy(2000);
+
+    assertFalse(engine.isFinished());
+    assertEquals(0, engine.getLastLocation().getLongitude(), 0.0000001);
+  }
+
+  @Test
+  public void setLooping_traceStartsOverAfterFirstRecordedDelay() throws Exception {
+    ReplayLocationEngine engine = createEngine(createTrace(2), 0);
+    engine.setLooping(true);
+
+    engine.requestLocationUpdates();
+    advanceBy(1999);
+    verify(listener, times(2)).onLocationChanged(any(Location.class));
+    assertEquals(0.0001, engine.getLastLocation().getLongitude(), 0.0000001);
+
+    advanceBy(1);
+    verify(listener, times(3)).onLocationChanged(any(Location.class));
+  }
+
+  @Test
+  public void setLooping_singleLocationIsRepeatedWithDefaultInterval() throws Exception {
+    ReplayLocationEngine engine = createEngine(createTrace(1), 0);
+    engine.setLooping(true);
+
+    engine.requestLocationUpdates();
+    advanceBy(LocationTraceParser.DEFAULT_POINT_INTERVAL_MS - 1);
+    verify(listener, times(1)).onLocationChanged(any(Location.class));
+
+    advanceBy(1);
+    verify(listener, times(2)).onLocationChanged(any(Location.class));
+  }
+
+  @Test
+  public void removeLocationUpdates_replayIsPaused() throws Exception {
+    ReplayLocationEngine engine = createEngine(createTrace(3), 0);
+
+    engine.requestLocationUpdates();
+    engine.removeLocationUpdates();
+    advanceBy(5000);
+
+    verify(listener, times(1)).onLocationChanged(any(Location.class));
+  }
+
+  @Test
+  public void setJitter_sameSeedProducesSameLocations() throws Exception {
+    ReplayLocationEngine first = createEngine(createTrace(1), 42);
+    ReplayLocationEngine second = createEngine(createTrace(1), 42);
+    first.setJitter(5);
+    second.setJitter(5);
+
+    first.requestLocationUpdates();
+    second.requestLocationUpdates();
+
+    assertEquals(first.getLastLocation().getLatitude(), second.getLastLocation().getLatitude(), 0);
+    assertEquals(first.getLastLocation().getLongitude(), second.getLastLocation().getLongitude(), 0);
+    assertTrue(first.getLastLocation().getLatitude() != 0);
+  }
+
+  @Test
+  public void replayedLocation_hasCurrentTime() throws Exception {
+    ReplayLocationEngine engine = createEngine(createTrace(1), 0);
+    ArgumentCaptor<Location> captor = ArgumentCaptor.forClass(Location.class);
+
+    engine.requestLocationUpdates();
+
+    verify(listener).onLocationChanged(captor.capture());
+    assertTrue(captor.getValue().getTime() > 0);
+  }
+
+  @Test
+  public void fromGpx_readsTrackPoints() throws Exception {
+    String gpx = "<?xml version=\"1.0\"?><gpx version=\"1.1\"><trk><trkseg>"
+      + "<trkpt lat=\"52.5\" lon=\"13.4\"><ele>34</ele><time>2018-06-01T12:00:00Z</time></trkpt>"
+      + "<trkpt lat=\"52.5001\" lon=\"13.4\"><time>2018-06-01T12:00:02.500Z</time></trkpt>"
+      + "</trkseg></trk></gpx>";
+
+    List<Location> trace = LocationTraceParser.parseGpx(new ByteArrayInputStream(gpx.getBytes("UTF-8")));
+
+    assertEquals(2, trace.size());
+    assertEquals(52.5, trace.get(0).getLatitude(), 0.0000001);
+    assertEquals(34, trace.get(0).getAltitude(), 0.0000001);
+    assertEquals(2500, trace.get(1).getTime() - trace.get(0).getTime());
+    // bearing is derived from the next point
+    assertEquals(0, trace.get(0).getBearing(), 0.1);
+  }
+
+  @Test
+  public void fromJson_missingTimesAreSpacedOneSecondApart() throws Exception {
+    String json = "[{\"latitude\": 52.5, \"longitude\": 13.4}, {\"latitude\": 52.5001, \"longitude\": 13.4}]";
+
+    List<Location> trace = LocationTraceParser.parseJson(json);
+
+    assertEquals(2, trace.size());
+    assertEquals(1000, trace.get(1).getTime() - trace.get(0).getTime());
+  }
+
+  @Test
+  public void parseTime_offsetIsApplied() throws Exception {
+    assertEquals(LocationTraceParser.parseTime("2018-06-01T12:00:00Z"),
+      LocationTraceParser.parseTime("2018-06-01T14:00:00+02:00"));
+  }
+
+  private ReplayLocationEngine createEngine(List<Location> trace, long seed) {
+    ReplayLocationEngine engine = new ReplayLocationEngine(trace, new Handler(Looper.getMainLooper()),
+      new Random(seed));
+    engine.addLocationEngineListener(listener);
+    return engine;
+  }
+
+  private static List<Location> createTrace(int size) {
+    List<Location> trace = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      Location location = new Location("test");
+      location.setLongitude(i * 0.0001);
+      location.setTime(i * 1000);
+      trace.add(location);
+    }
+    return trace;
+  }
+
+  private static void advanceBy(long millis) {
+    Robolectric.getForegroundThreadScheduler().advanceBy(millis, TimeUnit.MILLISECONDS);
+  }
+}
@@ -0,0 +1,108 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.location.Location;
+
+import com.mapbox.geojson.Point;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class RouteSnappingLocationFilterTest {
+
+  private static final double DELTA = 0.000001;
+
+  @Test
+  public void filter_locationIsSnappedToRoute() throws Exception {
+    RouteSnappingLocationFilter filter = new RouteSnappingLocationFilter(
+      Arrays.asList(Point.fromLngLat(0, 0), Point.fromLngLat(0.01, 0)));
+
+    // ~11m north of the route
+    Location snapped = filter.filter(createLocation(0.0001, 0.005));
+
+    assertEquals(0, snapped.getLatitude(), DELTA);
+    assertEquals(0.005, snapped.getLongitude(), DELTA);
+  }
+
+  @Test
+  public void filter_locationIsSnappedToClosestSegment() throws Exception {
+    RouteSnappingLocationFilter filter = new RouteSnappingLocationFilter(Arrays.asList(
+      Point.fromLngLat(0, 0), Point.fromLngLat(0.01, 0), Point.fromLngLat(0.01, 0.01)));
+
+    Location snapped = filter.filter(createLocation(0.005, 0.0099));
+
+    assertEquals(0.005, snapped.getLatitude(), DELTA);
+    assertEquals(0.01, snapped.getLongitude(), DELTA);
+  }
+
+  @Test
+  public void filter_locationOffRouteIsPassedThrough() throws Exception {
+    RouteSnappingLocationFilter filter = new RouteSnappingLocationFilter(
+      Arrays.asList(Point.fromLngLat(0, 0), Point.fromLngLat(0.01, 0)), 10);
+    Location location = createLocation(0.001, 0.005);
+
+    assertSame(location, filter.filter(location));
+  }
+
+  @Test
+  public void filter_bearingIsAlignedWithRoute() throws Exception {
+    RouteSnappingLocationFilter filter = new RouteSnappingLocationFilter(
+      Arrays.asList(Point.fromLngLat(0, 0), Point.fromLngLat(0.01, 0)));
+    Location location = createLocation(0.0001, 0.005);
+    location.setBearing(80);
+
+    assertEquals(90, filter.filter(location).getBearing(), DELTA);
+  }
+
+  @Test
+  public void alignBearing_reversedWhenTravellingAgainstRoute() throws Exception {
+    assertEquals(270, RouteSnappingLocationFilter.alignBearing(250, 90), DELTA);
+    assertEquals(0, RouteSnappingLocationFilter.alignBearing(350, 0), DELTA);
+    assertEquals(180, RouteSnappingLocationFilter.alignBearing(170, 0), DELTA);
+  }
+
+  @Test
+  public void snap_visitsFewSegmentsOfLongRoute() throws Exception {
+    List<Point> route = new ArrayList<>();
+    for (int i = 0; i <= 10000; i++) {
+      route.add(Point.fromLngLat(i * 0.001, (i % 2) * 0.0001));
+    }
+    RouteSnappingLocationFilter.SegmentIndex index = new RouteSnappingLocationFilter.SegmentIndex(route);
+    double x = Math.toRadians(5.0005);
+    double y = MercatorLatLngEvaluator.latitudeToY(0.0002);
+
+    RouteSnappingLocationFilter.Snap snap = index.snap(x, y, 1e-10);
+
+    assertNotNull(snap);
+    assertEquals(5000, snap.segment);
+    assertTrue(index.getVisitedSegments() < 20);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_singlePointRouteThrows() throws Exception {
+    new RouteSnappingLocationFilter(Collections.singletonList(Point.fromLngLat(0, 0)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_invalidMaxSnapDistanceThrows() throws Exception {
+    new RouteSnappingLocationFilter(Arrays.asList(Point.fromLngLat(0, 0), Point.fromLngLat(1, 0)), 0);
+  }
+
+  private static Location createLocation(double latitude, double longitude) {
+    Location location = new Location("test");
+    location.setLatitude(latitude);
+    location.setLongitude(longitude);
+    return location;
+  }
+}
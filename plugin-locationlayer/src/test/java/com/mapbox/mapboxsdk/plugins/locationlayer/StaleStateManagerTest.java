@@ -0,0 +1,112 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import android.os.Handler;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class StaleStateManagerTest {
+
+  private static final long DELAY = 1000;
+
+  private StaleStateManager.OnEntityStaleStateChangeListener listener;
+  private Handler handler;
+  private StaleStateManager staleStateManager;
+
+  @Before
+  public void setUp() throws Exception {
+    listener = mock(StaleStateManager.OnEntityStaleStateChangeListener.class);
+    handler = mock(Handler.class);
+    staleStateManager = new StaleStateManager(listener, DELAY, handler);
+  }
+
+  @Test
+  public void updateLatestLocationTime_entityIsNoLongerStale() throws Exception {
+    staleStateManager.updateLatestLocationTime("a");
+
+    assertFalse(staleStateManager.isStale("a"));
+    verify(listener).onEntityStaleStateChange("a", false);
+  }
+
+  @Test
+  public void updateLatestLocationTime_checkIsArmedOnce() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      staleStateManager.updateLatestLocationTime("a");
+      staleStateManager.updateLatestLocationTime("b");
+    }
+
+    verify(handler, times(1)).postAtTime(any(Runnable.class), anyLong());
+    verify(handler, times(0)).removeCallbacks(any(Runnable.class));
+  }
+
+  @Test
+  public void checkStaleState_entitiesBecomeStaleAfterDelay() throws Exception {
+    staleStateManager.updateLatestLocationTime("a");
+    staleStateManager.updateLatestLocationTime("b");
+
+    staleStateManager.checkStaleState(DELAY - 1);
+    assertFalse(staleStateManager.isStale("a"));
+
+    staleStateManager.checkStaleState(DELAY);
+    assertTrue(staleStateManager.isStale("a"));
+    assertTrue(staleStateManager.isStale("b"));
+    verify(listener).onEntityStaleStateChange("a", true);
+    verify(listener).onEntityStaleStateChange("b", true);
+  }
+
+  @Test
+  public void checkStaleState_checkIsArmedForRemainingDeadline() throws Exception {
+    staleStateManager.updateLatestLocationTime("a");
+
+    staleStateManager.checkStaleState(DELAY - 1);
+
+    verify(handler, times(2)).postAtTime(any(Runnable.class), eq(DELAY));
+  }
+
+  @Test
+  public void checkStaleState_noFreshEntitiesCheckIsNotArmed() throws Exception {
+    staleStateManager.updateLatestLocationTime("a");
+
+    staleStateManager.checkStaleState(DELAY);
+
+    verify(handler, times(1)).postAtTime(any(Runnable.class), anyLong());
+  }
+
+  @Test
+  public void remove_entityIsNotReported() throws Exception {
+    staleStateManager.updateLatestLocationTime("a");
+    staleStateManager.remove("a");
+
+    staleStateManager.checkStaleState(DELAY);
+
+    verify(listener, times(0)).onEntityStaleStateChange("a", true);
+  }
+
+  @Test
+  public void onStop_checkIsRemoved() throws Exception {
+    staleStateManager.updateLatestLocationTime("a");
+
+    staleStateManager.onStop();
+
+    verify(handler).removeCallbacks(any(Runnable.class));
+  }
+
+  @Test
+  public void setDelayTime_armedCheckIsRescheduled() throws Exception {
+    staleStateManager.updateLatestLocationTime("a");
+
+    staleStateManager.setDelayTime(DELAY / 2);
+
+    verify(handler).removeCallbacks(any(Runnable.class));
+    verify(handler, times(2)).postAtTime(any(Runnable.class), anyLong());
+  }
+}
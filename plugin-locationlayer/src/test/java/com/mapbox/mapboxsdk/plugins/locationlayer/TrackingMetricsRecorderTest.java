@@ -0,0 +1,114 @@
+package com.mapbox.mapboxsdk.plugins.locationlayer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.mapbox.mapboxsdk.plugins.locationlayer.LocationLayerConstants.DEFAULT_FRAME_INTERVAL_MS;
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TrackingMetricsRecorderTest {
+
+  private OnTrackingDismissedListener listener;
+  private TrackingMetricsRecorder recorder;
+
+  @Before
+  public void setUp() throws Exception {
+    listener = mock(OnTrackingDismissedListener.class);
+    recorder = new TrackingMetricsRecorder(listener);
+  }
+
+  @Test
+  public void onTrackingDismissed_causeAndDurationAreReported() throws Exception {
+    recorder.onTrackingStarted(1000);
+
+    recorder.onTrackingDismissed(TrackingMetrics.DISMISSAL_MOVE, 1500);
+
+    verify(listener).onTrackingDismissed(TrackingMetrics.DISMISSAL_MOVE, 500);
+    TrackingMetrics metrics = recorder.getMetrics(2000);
+    assertEquals(1, metrics.getDismissalCount(TrackingMetrics.DISMISSAL_MOVE));
+    assertEquals(1, metrics.getDismissalCount());
+    assertEquals(500, metrics.getTrackingTimeMillis());
+  }
+
+  @Test
+  public void onTrackingDismissed_ignoredWhenNotTracking() throws Exception {
+    recorder.onTrackingDismissed(TrackingMetrics.DISMISSAL_FLING, 1000);
+
+    verify(listener, times(0)).onTrackingDismissed(TrackingMetrics.DISMISSAL_FLING, 0);
+    assertEquals(0, recorder.getMetrics(1000).getDismissalCount());
+  }
+
+  @Test
+  public void onCameraFrame_animatingAndIdleTimeAreSplit() throws Exception {
+    recorder.onTrackingStarted(0);
+
+    recorder.onCameraFrame(100, DEFAULT_FRAME_INTERVAL_MS);
+    recorder.onCameraFrame(116, DEFAULT_FRAME_INTERVAL_MS);
+    recorder.onCameraFrame(133, DEFAULT_FRAME_INTERVAL_MS);
+    recorder.onCameraAnimationEnd();
+
+    TrackingMetrics metrics = recorder.getMetrics(1000);
+    assertEquals(3, metrics.getCameraFrameCount());
+    assertEquals(33, metrics.getCameraAnimatingTimeMillis());
+    assertEquals(967, metrics.getCameraIdleTimeMillis());
+    assertEquals(0, metrics.getDroppedFrameCount());
+  }
+
+  @Test
+  public void onCameraFrame_missedDisplayFramesAreDropped() throws Exception {
+    recorder.onTrackingStarted(0);
+
+    recorder.onCameraFrame(100, DEFAULT_FRAME_INTERVAL_MS);
+    recorder.onCameraFrame(150, DEFAULT_FRAME_INTERVAL_MS);
+
+    assertEquals(2, recorder.getMetrics(200).getDroppedFrameCount());
+  }
+
+  @Test
+  public void onCameraFrame_droppedFramesFollowFrameInterval() throws Exception {
+    recorder.onTrackingStarted(0);
+
+    // a 120 Hz display misses two frames where a 60 Hz display doesn't miss any
+    recorder.onCameraFrame(100, 1000f / 120);
+    recorder.onCameraFrame(125, 1000f / 120);
+    recorder.onCameraFrame(150, 25);
+
+    assertEquals(2, recorder.getMetrics(200).getDroppedFrameCount());
+  }
+
+  @Test
+  public void onCameraFrame_gapBetweenAnimationsIsNotDropped() throws Exception {
+    recorder.onTrackingStarted(0);
+
+    recorder.onCameraFrame(100, DEFAULT_FRAME_INTERVAL_MS);
+    recorder.onCameraAnimationEnd();
+    recorder.onCameraFrame(600, DEFAULT_FRAME_INTERVAL_MS);
+
+    TrackingMetrics metrics = recorder.getMetrics(700);
+    assertEquals(0, metrics.getDroppedFrameCount());
+    assertEquals(0, metrics.getCameraAnimatingTimeMillis());
+  }
+
+  @Test
+  public void onCameraFrame_ignoredWhenNotTracking() throws Exception {
+    recorder.onCameraFrame(100, DEFAULT_FRAME_INTERVAL_MS);
+    recorder.onCameraFrame(200, DEFAULT_FRAME_INTERVAL_MS);
+
+    assertEquals(0, recorder.getMetrics(300).getCameraFrameCount());
+  }
+
+  @Test
+  public void reset_ongoingTrackingIsMeasuredFromReset() throws Exception {
+    recorder.onTrackingStarted(0);
+    recorder.onCameraFrame(100, DEFAULT_FRAME_INTERVAL_MS);
+
+    recorder.reset(500);
+
+    TrackingMetrics metrics = recorder.getMetrics(800);
+    assertEquals(300, metrics.getTrackingTimeMillis());
+    assertEquals(0, metrics.getCameraFrameCount());
+  }
+}
@@ -1,8 +1,11 @@
 package com.mapbox.mapboxsdk.plugins.locationlayer;
 
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
 import org.junit.Test;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
 
 public final class UtilsTest {
 
@@ -26,4 +29,38 @@ public final class UtilsTest {
     value = Utils.shortestRotation(50, 180);
     assertEquals(50f, value);
   }
+
+  @Test
+  public void extrapolate_movesAlongBearing() throws Exception {
+    LatLng north = Utils.extrapolate(new LatLng(0, 0), 0, 1000);
+    assertEquals(0.00898, north.getLatitude(), 0.00001);
+    assertEquals(0, north.getLongitude(), 0.00001);
+
+    LatLng east = Utils.extrapolate(new LatLng(0, 0), 90, 1000);
+    assertEquals(0, east.getLatitude(), 0.00001);
+    assertEquals(0.00898, east.getLongitude(), 0.00001);
+  }
+
+  @Test
+  public void extrapolate_poleKeepsLongitudeFinite() throws Exception {
+    LatLng latLng = Utils.extrapolate(new LatLng(90, 10), 90, 1000);
+
+    assertEquals(90, latLng.getLatitude(), 0.000001);
+    assertTrue(latLng.getLongitude() > 10 && latLng.getLongitude() <= 180);
+  }
+
+  @Test
+  public void extrapolate_antimeridianIsWrapped() throws Exception {
+    LatLng latLng = Utils.extrapolate(new LatLng(0, 179.999), 90, 1000);
+
+    assertEquals(0, latLng.getLatitude(), 0.00001);
+    assertEquals(-179.99202, latLng.getLongitude(), 0.00001);
+  }
+
+  @Test
+  public void extrapolate_zeroDistanceKeepsPosition() throws Exception {
+    LatLng latLng = Utils.extrapolate(new LatLng(51, 17), 45, 0);
+    assertEquals(51, latLng.getLatitude(), 0.000001);
+    assertEquals(17, latLng.getLongitude(), 0.000001);
+  }
 }